@@ -39,15 +39,22 @@ public type Client client object {
     remote isolated function execute(@untainted string|ParameterizedQuery sqlQuery) returns ExecutionResult|Error;
 
     # Executes a batch of parameterized DDL or DML sql query provided by the user,
-    # and returns the summary of the execution.
+    # and returns the summary of the execution. Each run of consecutive queries of the same SQL command is executed
+    # as a single batch on the same connection, so that the queries are executed in the order of `sqlQueries`. A
+    # client created with `groupBatchCommands` executes all the queries of the same SQL command as a single batch
+    # instead, in the order in which the SQL commands first appear, so a query may be executed before a query of
+    # another SQL command which precedes it.
+    # Outside of a transaction, a client may split a large batch of a single SQL command into contiguous slices
+    # executed in parallel on separate pooled connections. A batch of different SQL commands is never split.
     #
     # + sqlQueries - The DDL or DML query such as INSERT, DELETE, UPDATE, etc as `ParameterizedQuery` with an array
     #                of values passed in
-    # + return - Summary of the executed SQL queries as `ExecutionResult[]` which includes details such as
-    #            `affectedRowCount` and `lastInsertId`. If one of the commands in the batch fails, this function
-    #            will return `BatchExecuteError`, however the driver may or may not continue to process the
-    #            remaining commands in the batch after a failure. The summary of the executed queries in case of error
-    #            can be accessed as `(<sql:BatchExecuteError> result).detail()?.executionResults`.
+    # + return - Summary of the executed SQL queries as `ExecutionResult[]` in the order of `sqlQueries`, which
+    #            includes details such as `affectedRowCount` and `lastInsertId`. If one of the commands in the
+    #            batch fails, this function will return `BatchExecuteError`, however the driver may or may not
+    #            continue to process the remaining commands of its SQL command after a failure. The summary of the
+    #            executed queries in case of error can be accessed as
+    #            `(<sql:BatchExecuteError> result).detail()?.executionResults`.
     remote isolated function batchExecute(@untainted ParameterizedQuery[] sqlQueries) returns ExecutionResult[]|Error;
 
     # Executes a SQL stored procedure and returns the result as stream and execution summary.
@@ -76,10 +83,157 @@ public isolated function generateApplicationErrorStream(string message) returns
     return errorStream;
 }
 
+# Executes a batch of parameterized DDL or DML queries as `Client.batchExecute` does, but returns only the summary of
+# the execution. The generated keys are not retrieved and no `ExecutionResult` is created per query, which reduces
+# the cost of large batches.
+#
+# + sqlClient - The client used to execute the queries
+# + sqlQueries - The DDL or DML queries such as INSERT, DELETE, UPDATE, etc as `ParameterizedQuery`
+# + return - Summary of the execution, or a `BatchExecuteSummaryError` with the summary of the executed queries and
+#            the indices of the failed queries if one of the queries fails
+public isolated function batchExecuteSummary(Client sqlClient, @untainted ParameterizedQuery[] sqlQueries)
+        returns BatchExecuteSummary|Error {
+    if (sqlQueries.length() == 0) {
+        return error ApplicationError("Parameter 'sqlQueries' cannot be empty array");
+    }
+    return nativeBatchExecuteSummary(sqlClient, sqlQueries);
+}
+
+# Returns the state and the metrics of the connection pool of the client. The metrics are kept in counters, which
+# makes this cheap enough to be called frequently.
+#
+# + sqlClient - The client of which the pool metrics are returned
+# + return - The metrics of the connection pool, or an `Error` if the client is not initialized
+public isolated function getPoolMetrics(Client sqlClient) returns PoolMetrics|Error = @java:Method {
+    'class: "org.ballerinalang.sql.nativeimpl.ClientProcessor"
+} external;
+
+# Returns the metrics of the query result cache of the client.
+#
+# + sqlClient - The client of which the metrics are returned
+# + return - The metrics of the query result cache, or an `ApplicationError` if the cache is not enabled for the client
+public isolated function getQueryResultCacheMetrics(Client sqlClient)
+returns QueryResultCacheMetrics|Error = @java:Method {
+    'class: "org.ballerinalang.sql.utils.QueryResultCache"
+} external;
+
+# Returns the latency metrics of the SQL queries executed through the clients, when the `queryMetricsEnabled`
+# configurable of the module is set.
+#
+# + return - The metrics of each client operation and SQL query
+public isolated function getQueryMetrics() returns QueryMetrics[] = @java:Method {
+    'class: "org.ballerinalang.sql.utils.QueryMetricsRegistry"
+} external;
+
+# Returns the latency metrics of the SQL queries executed through the clients in the Prometheus text exposition
+# format, so that they can be served to a Prometheus server. The latencies are rendered as the
+# `ballerina_sql_query_duration_seconds` histogram labelled with the operation, the query and the phase, and the
+# failed executions as the `ballerina_sql_query_errors_total` counter.
+#
+# + return - The metrics in the Prometheus text format
+public isolated function getQueryMetricsText() returns string = @java:Method {
+    'class: "org.ballerinalang.sql.utils.QueryMetricsRegistry"
+} external;
+
+# Executes the parameterized queries of the stream in batches of `options.chunkSize` queries on a single
+# connection, so that the queries are not held in memory at once. All the queries should have the same SQL command.
+# The stream of the queries is closed if the execution fails.
+#
+# + sqlClient - The client used to execute the queries
+# + sqlQueries - The stream of parameterized queries
+# + options - The options of the batch execution
+# + return - Summary of the execution, or a `StreamBatchExecuteError` with the failed chunk if a chunk fails
+public isolated function batchExecuteStream(Client sqlClient, stream<ParameterizedQuery, error?> sqlQueries,
+        BatchExecuteOptions options = {}) returns BatchExecuteSummary|Error {
+    if (options.chunkSize <= 0) {
+        error? closeErrorIgnored = sqlQueries.close();
+        return error ApplicationError("Parameter 'chunkSize' should be a positive integer");
+    }
+    BatchExecuteSession session = new;
+    Error? startError = startBatchSession(session, sqlClient, options.commitPerChunk);
+    if (startError is Error) {
+        error? closeErrorIgnored = sqlQueries.close();
+        return startError;
+    }
+    BatchExecuteSummary summary = {};
+    ParameterizedQuery[] chunk = [];
+    Error? failure = ();
+    while (true) {
+        record {|ParameterizedQuery value;|}|error? next = sqlQueries.next();
+        if (next is error) {
+            failure = error ApplicationError("Error while reading the parameterized queries: " + next.message(),
+                next);
+            break;
+        } else if (next is ()) {
+            break;
+        }
+        chunk.push(next.value);
+        if (chunk.length() == options.chunkSize) {
+            failure = executeChunk(session, chunk, summary);
+            if (failure is Error) {
+                break;
+            }
+            chunk = [];
+        }
+    }
+    if (failure is () && chunk.length() > 0) {
+        failure = executeChunk(session, chunk, summary);
+    }
+    Error? endError = endBatchSession(session, failure is ());
+    if (failure is Error) {
+        error? closeErrorIgnored = sqlQueries.close();
+        return failure;
+    }
+    if (endError is Error) {
+        return endError;
+    }
+    return summary;
+}
+
+isolated function executeChunk(BatchExecuteSession session, ParameterizedQuery[] chunk,
+        BatchExecuteSummary summary) returns Error? {
+    int|Error affectedRowCount = executeBatchChunk(session, chunk);
+    if (affectedRowCount is Error) {
+        return error StreamBatchExecuteError("Error while executing the chunk " + summary.chunkCount.toString()
+            + " of the batch execution. " + affectedRowCount.message(), affectedRowCount,
+            failedChunk = summary.chunkCount, summary = summary.clone());
+    }
+    summary.affectedRowCount += affectedRowCount;
+    summary.executedQueryCount += chunk.length();
+    summary.chunkCount += 1;
+}
+
+# Holds the connection and the statement of a streaming batch execution.
+class BatchExecuteSession {
+}
+
+isolated function nativeBatchExecuteSummary(Client sqlClient, ParameterizedQuery[] sqlQueries)
+        returns BatchExecuteSummary|Error = @java:Method {
+    'class: "org.ballerinalang.sql.nativeimpl.ExecuteProcessor"
+} external;
+
+isolated function startBatchSession(BatchExecuteSession session, Client sqlClient, boolean commitPerChunk)
+returns Error? = @java:Method {
+    'class: "org.ballerinalang.sql.utils.BatchExecuteSessionUtils"
+} external;
+
+isolated function executeBatchChunk(BatchExecuteSession session, ParameterizedQuery[] sqlQueries)
+returns int|Error = @java:Method {
+    'class: "org.ballerinalang.sql.utils.BatchExecuteSessionUtils"
+} external;
+
+isolated function endBatchSession(BatchExecuteSession session, boolean 'commit) returns Error? = @java:Method {
+    'class: "org.ballerinalang.sql.utils.BatchExecuteSessionUtils"
+} external;
+
 isolated function nextResult(ResultIterator iterator) returns record {}|Error? = @java:Method {
     'class: "org.ballerinalang.sql.utils.RecordIteratorUtils"
 } external;
 
+isolated function nextBatch(ResultIterator iterator, int batchSize) returns record {}[]|Error = @java:Method {
+    'class: "org.ballerinalang.sql.utils.RecordIteratorUtils"
+} external;
+
 isolated function closeResult(ResultIterator iterator) returns Error? = @java:Method {
     'class: "org.ballerinalang.sql.utils.RecordIteratorUtils"
 } external;
@@ -19,6 +19,9 @@ import ballerina/jballerina.java;
 final configurable int maxOpenConnections = 15;
 final configurable decimal maxConnectionLifeTime = 1800.0;
 final configurable int minIdleConnections = 15;
+final configurable int statementCacheSize = 0;
+final configurable decimal lingerTime = 0;
+final configurable boolean lazyInitialization = false;
 
 # Represents the properties which are used to configure DB connection pool.
 # Default values of the fields can be set through the configuration API.
@@ -33,10 +36,24 @@ final configurable int minIdleConnections = 15;
 # + minIdleConnections - The minimum number of idle connections that pool tries to maintain in the pool. Default
 #                        is the same as maxOpenConnections and it can be changed through the configuration
 #                        API with the key `b7a.sql.pool.minIdleConnections`.
+# + statementCacheSize - The maximum number of prepared statements cached for each connection of the pool. The
+#                        statements are reused when the same SQL query is executed again on the connection. Default
+#                        value is 0, which disables the statement cache.
+# + lingerTime - The time (in seconds) for which the pool is kept open after its last client is closed, so that a
+#                client created with the same configuration within that time reuses the pool instead of creating a
+#                new pool. Default value is 0, which shuts down the pool when its last client is closed.
+# + lazyInitialization - Creates the pool without opening a connection, so that the client is created without
+#                        waiting for the database. The connections are opened by the pool in the background, and an
+#                        operation waits for a connection only if none is opened yet. The connection failures, such
+#                        as invalid credentials, are returned by the operations instead of the client creation.
+#                        Default value is false.
 public type ConnectionPool record {|
     int maxOpenConnections = maxOpenConnections;
     decimal maxConnectionLifeTime = maxConnectionLifeTime;
     int minIdleConnections = minIdleConnections;
+    int statementCacheSize = statementCacheSize;
+    decimal lingerTime = lingerTime;
+    boolean lazyInitialization = lazyInitialization;
 |};
 
 // This is a container object that holds the global pool config and initializes the internal map of connection pools
@@ -66,3 +83,12 @@ final GlobalConnectionPoolContainer globalPoolContainer = new;
 public isolated function getGlobalConnectionPool() returns ConnectionPool {
     return globalPoolContainer.getGlobalConnectionPool();
 }
+
+# Returns the number of connection pools created, reused and evicted through all the clients. A pool is reused when
+# a client is created within the linger time of a pool of which the clients are closed, and evicted when the linger
+# time passes without a client.
+#
+# + return - The metrics of the connection pools
+public isolated function getPoolRegistryMetrics() returns PoolRegistryMetrics = @java:Method {
+    'class: "org.ballerinalang.sql.utils.ConnectionPoolUtils"
+} external;
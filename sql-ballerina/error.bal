@@ -25,6 +25,26 @@ public type BatchExecuteErrorDetail record {
     ExecutionResult[] executionResults;
 };
 
+# Represents the properties belonging to a `StreamBatchExecuteError`.
+#
+# + failedChunk - The index of the chunk which failed, starting from 0
+# + summary - Summary of the chunks executed before the failed chunk
+public type StreamBatchExecuteErrorDetail record {
+    int failedChunk;
+    BatchExecuteSummary summary;
+};
+
+# Represents the properties belonging to a `BatchExecuteSummaryError`.
+#
+# + errorCode - SQL error code
+# + sqlState - SQL state
+# + summary - Summary of the executed queries, including the indices of the failed queries
+public type BatchExecuteSummaryErrorDetail record {
+    int errorCode;
+    string? sqlState;
+    BatchExecuteSummary summary;
+};
+
 # Represents the properties belonging to a `DatabaseError`.
 #
 # + errorCode - SQL error code
@@ -46,5 +66,11 @@ public type DatabaseError distinct Error & error<DatabaseErrorDetail>;
 # Represents an error occurred when a batch execution is running.
 public type BatchExecuteError distinct Error & error<BatchExecuteErrorDetail>;
 
+# Represents an error occurred when a batch execution, which returns only the summary, is running.
+public type BatchExecuteSummaryError distinct Error & error<BatchExecuteSummaryErrorDetail>;
+
+# Represents an error occurred when a chunk of a stream of parameterized queries is executed.
+public type StreamBatchExecuteError distinct Error & error<StreamBatchExecuteErrorDetail>;
+
 # Represents an error originating from application-level causes.
 public type ApplicationError distinct Error;
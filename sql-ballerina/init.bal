@@ -16,10 +16,30 @@
 
 import ballerina/jballerina.java;
 
+// The number of worker threads which execute the JDBC calls of the clients, so that the blocking calls do not hold
+// the threads of the Ballerina scheduler. The calls within a transaction block are always executed on the calling
+// strand, and the value 0 executes all the calls on the calling strands. A call fails with an `sql:ApplicationError`
+// when all the worker threads are busy and 64 calls per thread are already waiting for them.
+final configurable int workerThreadPoolSize = 0;
+
+// Records the latencies of the queries executed through the clients, which are returned by `getQueryMetrics` and
+// `getQueryMetricsText`.
+final configurable boolean queryMetricsEnabled = false;
+
 isolated function init() {
     setModule();
+    initWorkerThreadPool(workerThreadPoolSize);
+    initQueryMetrics(queryMetricsEnabled);
 }
 
 isolated function setModule() = @java:Method {
     'class: "org.ballerinalang.sql.utils.ModuleUtils"
 } external;
+
+isolated function initWorkerThreadPool(int poolSize) = @java:Method {
+    'class: "org.ballerinalang.sql.utils.SQLWorkerThreadPool"
+} external;
+
+isolated function initQueryMetrics(boolean enabled) = @java:Method {
+    'class: "org.ballerinalang.sql.utils.QueryMetricsRegistry"
+} external;
@@ -84,6 +84,362 @@ function batchInsertIntoDataTableFailure() {
     }
 }
 
+@test:Config {
+    groups: ["batch-execute"],
+    dependsOn: [batchInsertIntoDataTableFailure]
+}
+function batchExecuteStreamIntoDataTable() returns error? {
+    int[] intValues = [10, 11, 12, 13, 14];
+    stream<ParameterizedQuery, error?> sqlQueries = (from int intVal in intValues
+        select `INSERT INTO DataTable (int_type) VALUES (${intVal})`).toStream();
+    MockClient dbClient = check new (url = batchExecuteDB, user = user, password = password);
+    BatchExecuteSummary summary = check batchExecuteStream(dbClient, sqlQueries, {chunkSize: 2, commitPerChunk: true});
+    check dbClient.close();
+    test:assertEquals(summary, {affectedRowCount: 5, executedQueryCount: 5, chunkCount: 3, failedQueryIndices: []});
+}
+
+@test:Config {
+    groups: ["batch-execute"],
+    dependsOn: [batchExecuteStreamIntoDataTable]
+}
+function batchExecuteStreamIntoDataTableFailure() returns error? {
+    int[] intValues = [20, 21, 22, 1, 23];
+    stream<ParameterizedQuery, error?> sqlQueries = (from int intVal in intValues
+        select `INSERT INTO DataTable (int_type) VALUES (${intVal})`).toStream();
+    MockClient dbClient = check new (url = batchExecuteDB, user = user, password = password);
+    BatchExecuteSummary|Error result = batchExecuteStream(dbClient, sqlQueries, {chunkSize: 2, commitPerChunk: true});
+    if (result is StreamBatchExecuteError) {
+        StreamBatchExecuteErrorDetail errorDetails = result.detail();
+        test:assertEquals(errorDetails.failedChunk, 1);
+        test:assertEquals(errorDetails.summary, {affectedRowCount: 2, executedQueryCount: 2, chunkCount: 1,
+            failedQueryIndices: []});
+    } else {
+        test:assertFail("StreamBatchExecuteError expected.");
+    }
+
+    stream<record{}, error?> streamData = dbClient->query("SELECT count(*) AS countVal FROM DataTable " +
+        "WHERE int_type >= 20");
+    record {|record {} value;|}? data = check streamData.next();
+    check streamData.close();
+    check dbClient.close();
+    test:assertEquals(data?.value, {"COUNTVAL": 2}, "Only the committed chunk should be inserted.");
+}
+
+@test:Config {
+    groups: ["batch-execute"],
+    dependsOn: [batchExecuteStreamIntoDataTableFailure]
+}
+function batchExecuteStreamFailedStart() returns error? {
+    QueryGenerator generator = new;
+    stream<ParameterizedQuery, error?> sqlQueries = new (generator);
+    MockClient dbClient = check new (url = batchExecuteDB, user = user, password = password);
+    BatchExecuteSummary|Error? result = ();
+    transaction {
+        result = batchExecuteStream(dbClient, sqlQueries, {chunkSize: 2, commitPerChunk: true});
+        check commit;
+    }
+    PoolMetrics metrics = check getPoolMetrics(dbClient);
+    check dbClient.close();
+    test:assertTrue(result is ApplicationError, "The session should not be started within a transaction.");
+    test:assertTrue(generator.closed, "The stream of the queries should be closed.");
+    test:assertEquals(generator.count, 0, "No query should be read from the stream.");
+    test:assertEquals(metrics.activeConnections, 0);
+}
+
+class QueryGenerator {
+    boolean closed = false;
+    int count = 0;
+
+    public isolated function next() returns record {|ParameterizedQuery value;|}|error? {
+        self.count += 1;
+        return {value: `INSERT INTO DataTable (int_type) VALUES (${self.count + 30})`};
+    }
+
+    public isolated function close() returns error? {
+        self.closed = true;
+    }
+}
+
+@test:Config {
+    groups: ["batch-execute"],
+    dependsOn: [batchExecuteStreamFailedStart]
+}
+function batchExecuteDifferentCommands() returns error? {
+    int longVal = 1;
+    ParameterizedQuery[] sqlQueries = [
+        `INSERT INTO DataTable (int_type) VALUES (40)`,
+        `UPDATE DataTable SET long_type = ${longVal} WHERE int_type >= 40`,
+        `INSERT INTO DataTable (int_type) VALUES (41)`
+    ];
+    ExecutionResult[] results = check batchExecuteQueryMockClient(sqlQueries);
+    test:assertEquals(results.length(), 3);
+    test:assertEquals(results[0].affectedRowCount, 1);
+    test:assertEquals(results[1].affectedRowCount, 1, "Update should be executed before the second insert.");
+    test:assertEquals(results[2].affectedRowCount, 1);
+}
+
+@test:Config {
+    groups: ["batch-execute"],
+    dependsOn: [batchExecuteDifferentCommands]
+}
+function batchExecuteDeleteAndReinsert() returns error? {
+    ParameterizedQuery[] sqlQueries = [
+        `INSERT INTO DataTable (int_type) VALUES (42)`,
+        `DELETE FROM DataTable WHERE int_type = 42`,
+        `INSERT INTO DataTable (int_type) VALUES (42)`
+    ];
+    ExecutionResult[] results = check batchExecuteQueryMockClient(sqlQueries);
+    test:assertEquals(results.length(), 3);
+    test:assertEquals(results[0].affectedRowCount, 1);
+    test:assertEquals(results[1].affectedRowCount, 1);
+    test:assertEquals(results[2].affectedRowCount, 1, "Insert should be executed after the delete of the same key.");
+
+    MockClient dbClient = check new (url = batchExecuteDB, user = user, password = password);
+    stream<record{}, error?> streamData = dbClient->query("SELECT count(*) AS countVal FROM DataTable " +
+        "WHERE int_type = 42");
+    record {|record {} value;|}? data = check streamData.next();
+    check streamData.close();
+    check dbClient.close();
+    test:assertEquals(data?.value, {"COUNTVAL": 1});
+}
+
+@test:Config {
+    groups: ["batch-execute"],
+    dependsOn: [batchExecuteDeleteAndReinsert]
+}
+function batchExecuteSummaryOfDataTable() returns error? {
+    int[] intValues = [50, 51, 52];
+    ParameterizedQuery[] sqlQueries = from int intVal in intValues
+        select `INSERT INTO DataTable (int_type) VALUES (${intVal})`;
+    MockClient dbClient = check new (url = batchExecuteDB, user = user, password = password);
+    BatchExecuteSummary summary = check batchExecuteSummary(dbClient, sqlQueries);
+    check dbClient.close();
+    test:assertEquals(summary, {affectedRowCount: 3, executedQueryCount: 3, chunkCount: 1, failedQueryIndices: []});
+}
+
+@test:Config {
+    groups: ["batch-execute"],
+    dependsOn: [batchExecuteSummaryOfDataTable]
+}
+function batchExecuteSummaryOfDataTableFailure() returns error? {
+    int[] intValues = [53, 50, 54];
+    ParameterizedQuery[] sqlQueries = from int intVal in intValues
+        select `INSERT INTO DataTable (int_type) VALUES (${intVal})`;
+    MockClient dbClient = check new (url = batchExecuteDB, user = user, password = password);
+    BatchExecuteSummary|Error result = batchExecuteSummary(dbClient, sqlQueries);
+    check dbClient.close();
+    if (result is BatchExecuteSummaryError) {
+        BatchExecuteSummaryErrorDetail errorDetails = result.detail();
+        test:assertEquals(errorDetails.summary.affectedRowCount, 1);
+        test:assertEquals(errorDetails.summary.failedQueryIndices, [1]);
+    } else {
+        test:assertFail("BatchExecuteSummaryError expected.");
+    }
+}
+
+@test:Config {
+    groups: ["batch-execute"],
+    dependsOn: [batchExecuteSummaryOfDataTableFailure]
+}
+function batchExecuteSummaryOfDifferentCommands() returns error? {
+    int longVal = 1;
+    int[] intValues = [57, 58, 59, 50];
+    ParameterizedQuery[] sqlQueries = [
+        `INSERT INTO DataTable (int_type) VALUES (${intValues[0]})`,
+        `UPDATE DataTable SET long_type = ${longVal} WHERE int_type >= ${intValues[0]}`,
+        `INSERT INTO DataTable (int_type) VALUES (${intValues[1]})`,
+        `DELETE FROM DataTable WHERE int_type = ${intValues[0]}`
+    ];
+    MockClient dbClient = check new (url = batchExecuteDB, user = user, password = password);
+    BatchExecuteSummary summary = check batchExecuteSummary(dbClient, sqlQueries);
+    test:assertEquals(summary, {affectedRowCount: 4, executedQueryCount: 4, chunkCount: 4, failedQueryIndices: []});
+
+    sqlQueries = [
+        `INSERT INTO DataTable (int_type) VALUES (${intValues[2]})`,
+        `DELETE FROM DataTable WHERE int_type = ${intValues[2]}`,
+        `INSERT INTO DataTable (int_type) VALUES (${intValues[2]})`,
+        `INSERT INTO DataTable (int_type) VALUES (${intValues[3]})`
+    ];
+    BatchExecuteSummary|Error result = batchExecuteSummary(dbClient, sqlQueries);
+    check dbClient.close();
+    if (result is BatchExecuteSummaryError) {
+        BatchExecuteSummaryErrorDetail errorDetails = result.detail();
+        test:assertEquals(errorDetails.summary.affectedRowCount, 3);
+        test:assertEquals(errorDetails.summary.failedQueryIndices, [3]);
+    } else {
+        test:assertFail("BatchExecuteSummaryError expected.");
+    }
+}
+
+@test:Config {
+    groups: ["batch-execute"],
+    dependsOn: [batchExecuteSummaryOfDifferentCommands]
+}
+function batchExecuteInterleavedCommandsGrouped() returns error? {
+    MockClient dbClient = check new (url = batchExecuteDB, user = user, password = password,
+        groupBatchCommands = true);
+    ExecutionResult[] results = check dbClient->batchExecute(getInterleavedQueries(80));
+    // A batch of 3 SQL commands interleaved twice is executed with a batch per SQL command.
+    BatchExecuteSummary groupedSummary = check batchExecuteSummary(dbClient, getInterleavedQueries(84));
+    stream<record{}, error?> streamData = dbClient->query("SELECT long_type FROM DataTable WHERE int_type = 80");
+    record {|record {} value;|}? data = check streamData.next();
+    check streamData.close();
+    check dbClient.close();
+
+    dbClient = check new (url = batchExecuteDB, user = user, password = password);
+    BatchExecuteSummary summary = check batchExecuteSummary(dbClient, getInterleavedQueries(88));
+    check dbClient.close();
+
+    test:assertEquals(results.length(), 6);
+    foreach ExecutionResult result in results {
+        test:assertEquals(result.affectedRowCount, 1);
+    }
+    test:assertEquals(data?.value, {"LONG_TYPE": 2}, "Update should be executed after the insert of the same key.");
+    test:assertEquals(groupedSummary, {affectedRowCount: 6, executedQueryCount: 6, chunkCount: 3,
+        failedQueryIndices: []});
+    test:assertEquals(summary, {affectedRowCount: 6, executedQueryCount: 6, chunkCount: 6,
+        failedQueryIndices: []});
+}
+
+// Returns the queries of two orders, each of which inserts an order, inserts its line and updates the order.
+function getInterleavedQueries(int firstId) returns ParameterizedQuery[] {
+    ParameterizedQuery[] sqlQueries = [];
+    foreach int orderId in [firstId, firstId + 2] {
+        int lineId = orderId + 1;
+        sqlQueries.push(`INSERT INTO DataTable (int_type, long_type) VALUES (${orderId}, 1)`);
+        sqlQueries.push(`INSERT INTO DataTable (int_type, float_type) VALUES (${lineId}, 1.0)`);
+        sqlQueries.push(`UPDATE DataTable SET long_type = long_type + 1 WHERE int_type = ${orderId}`);
+    }
+    return sqlQueries;
+}
+
+@test:Config {
+    groups: ["batch-execute"],
+    dependsOn: [batchExecuteInterleavedCommandsGrouped]
+}
+function batchInsertIntoDataTableAsMultiRowInserts() returns error? {
+    int[] intValues = [60, 61, 62, 63, 64];
+    ParameterizedQuery[] sqlQueries = from int intVal in intValues
+        select `INSERT INTO DataTable (int_type) VALUES (${intVal})`;
+    MockClient dbClient = check new (url = batchExecuteDB, user = user, password = password, batchInsertRowCount = 2);
+    ExecutionResult[] results = check dbClient->batchExecute(sqlQueries);
+    BatchExecuteSummary summary = check batchExecuteSummary(dbClient, [`INSERT INTO DataTable (int_type) VALUES (65)`,
+        `INSERT INTO DataTable (int_type) VALUES (66)`]);
+
+    stream<record{}, error?> streamData = dbClient->query("SELECT count(*) AS countVal FROM DataTable " +
+        "WHERE int_type >= 60");
+    record {|record {} value;|}? data = check streamData.next();
+    check streamData.close();
+    check dbClient.close();
+    test:assertEquals(results.length(), 5);
+    foreach ExecutionResult result in results {
+        test:assertEquals(result.affectedRowCount, 1);
+    }
+    test:assertEquals(summary.affectedRowCount, 2);
+    test:assertEquals(data?.value, {"COUNTVAL": 7});
+}
+
+@test:Config {
+    groups: ["batch-execute"],
+    dependsOn: [batchInsertIntoDataTableAsMultiRowInserts]
+}
+function batchInsertIntoDataTableAsMultiRowInsertsFailure() returns error? {
+    int[] intValues = [70, 71, 60, 72, 73];
+    ParameterizedQuery[] sqlQueries = from int intVal in intValues
+        select `INSERT INTO DataTable (int_type) VALUES (${intVal})`;
+    MockClient dbClient = check new (url = batchExecuteDB, user = user, password = password, batchInsertRowCount = 2);
+    ExecutionResult[]|Error result = dbClient->batchExecute(sqlQueries);
+    check dbClient.close();
+    if (result is BatchExecuteError) {
+        BatchExecuteErrorDetail errorDetails = result.detail();
+        test:assertEquals(errorDetails.executionResults.length(), 2);
+    } else {
+        test:assertFail("BatchExecuteError expected.");
+    }
+}
+
+@test:Config {
+    groups: ["batch-execute"],
+    dependsOn: [batchInsertIntoDataTableAsMultiRowInsertsFailure]
+}
+function batchExecuteInParallel() returns error? {
+    int[] intValues = [];
+    foreach int i in 1000 ..< 1200 {
+        intValues.push(i);
+    }
+    ParameterizedQuery[] sqlQueries = from int intVal in intValues
+        select `INSERT INTO DataTable (int_type) VALUES (${intVal})`;
+    MockClient dbClient = check new (url = batchExecuteDB, user = user, password = password,
+        batchExecuteParallelism = 4);
+    ExecutionResult[] results = check dbClient->batchExecute(sqlQueries);
+
+    stream<record{}, error?> streamData = dbClient->query("SELECT count(*) AS countVal FROM DataTable " +
+        "WHERE int_type >= 1000 AND int_type < 1200");
+    record {|record {} value;|}? data = check streamData.next();
+    check streamData.close();
+    check dbClient.close();
+    test:assertEquals(results.length(), 200);
+    foreach ExecutionResult result in results {
+        test:assertEquals(result.affectedRowCount, 1);
+    }
+    test:assertEquals(data?.value, {"COUNTVAL": 200});
+}
+
+@test:Config {
+    groups: ["batch-execute"],
+    dependsOn: [batchExecuteInParallel]
+}
+function batchExecuteInParallelFailure() returns error? {
+    int[] intValues = [];
+    foreach int i in 2000 ..< 2200 {
+        intValues.push(i == 2150 ? 1000 : i);
+    }
+    ParameterizedQuery[] sqlQueries = from int intVal in intValues
+        select `INSERT INTO DataTable (int_type) VALUES (${intVal})`;
+    MockClient dbClient = check new (url = batchExecuteDB, user = user, password = password,
+        batchExecuteParallelism = 4);
+    ExecutionResult[]|Error result = dbClient->batchExecute(sqlQueries);
+    check dbClient.close();
+    if (result is BatchExecuteError) {
+        test:assertTrue(result.message().startsWith("1 of 3 batch slices failed."));
+        BatchExecuteErrorDetail errorDetails = result.detail();
+        test:assertEquals(errorDetails.executionResults.length(), 150);
+        test:assertEquals(errorDetails.executionResults[0].affectedRowCount, 1);
+        test:assertEquals(errorDetails.executionResults[149].affectedRowCount, 1);
+    } else {
+        test:assertFail("BatchExecuteError expected.");
+    }
+}
+
+@test:Config {
+    groups: ["batch-execute"],
+    dependsOn: [batchExecuteInParallelFailure]
+}
+function batchExecuteDifferentCommandsNotInParallel() returns error? {
+    ParameterizedQuery[] sqlQueries = [];
+    foreach int i in 3000 ..< 3150 {
+        sqlQueries.push(`INSERT INTO DataTable (int_type) VALUES (${i})`);
+    }
+    int lowerBound = 3000;
+    sqlQueries.push(`DELETE FROM DataTable WHERE int_type >= ${lowerBound}`);
+    foreach int i in 3150 ..< 3200 {
+        sqlQueries.push(`INSERT INTO DataTable (int_type) VALUES (${i})`);
+    }
+    MockClient dbClient = check new (url = batchExecuteDB, user = user, password = password,
+        batchExecuteParallelism = 4);
+    ExecutionResult[] results = check dbClient->batchExecute(sqlQueries);
+
+    stream<record{}, error?> streamData = dbClient->query("SELECT count(*) AS countVal FROM DataTable " +
+        "WHERE int_type >= 3000");
+    record {|record {} value;|}? data = check streamData.next();
+    check streamData.close();
+    check dbClient.close();
+    test:assertEquals(results.length(), 201);
+    test:assertEquals(results[150].affectedRowCount, 150, "The delete should be executed after all the " +
+        "preceding inserts.");
+    test:assertEquals(data?.value, {"COUNTVAL": 50});
+}
+
 isolated function validateBatchExecutionResult(ExecutionResult[] results, int[] rowCount, int[] lastId) {
     test:assertEquals(results.length(), rowCount.length());
 
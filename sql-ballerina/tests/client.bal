@@ -20,10 +20,14 @@ import ballerina/jballerina.java;
 client class MockClient {
     *Client;
     private boolean clientActive = true;
+    private final QueryOptions? queryOptions;
 
     public function init(string url, string? user = (), string? password = (), string? datasourceName = (),
         map<anydata>? options = (), ConnectionPool? connectionPool = (),
-        map<anydata>? connectionPoolOptions = ()) returns Error? {
+        map<anydata>? connectionPoolOptions = (), QueryOptions? queryOptions = (), int batchInsertRowCount = 0,
+        int batchExecuteParallelism = 0, QueryResultCacheOptions? queryResultCache = (),
+        boolean groupBatchCommands = false) returns Error? {
+        self.queryOptions = queryOptions;
         SQLParams sqlParams = {
             url: url,
             user: user,
@@ -31,7 +35,11 @@ client class MockClient {
             datasourceName: datasourceName,
             options: options,
             connectionPool: connectionPool,
-            connectionPoolOptions: connectionPoolOptions
+            connectionPoolOptions: connectionPoolOptions,
+            batchInsertRowCount: batchInsertRowCount,
+            batchExecuteParallelism: batchExecuteParallelism,
+            groupBatchCommands: groupBatchCommands,
+            queryResultCache: queryResultCache
         };
         return createSqlClient(self, sqlParams, getGlobalConnectionPool());
     }
@@ -39,7 +47,7 @@ client class MockClient {
     remote isolated function query(@untainted string|ParameterizedQuery sqlQuery, typedesc<record {}>? rowType = ())
     returns @tainted stream <record {}, Error> {
         if (self.clientActive) {
-            return nativeQuery(self, sqlQuery, rowType);
+            return nativeQuery(self, sqlQuery, rowType, self.queryOptions);
         } else {
             return generateApplicationErrorStream("SQL Client is already closed,"
                 + "hence further operations are not allowed");
@@ -88,6 +96,10 @@ type SQLParams record {|
     map<anydata>? options;
     ConnectionPool? connectionPool;
     map<anydata>? connectionPoolOptions;
+    int batchInsertRowCount = 0;
+    int batchExecuteParallelism = 0;
+    boolean groupBatchCommands = false;
+    QueryResultCacheOptions? queryResultCache = ();
 |};
 
 function createSqlClient(Client sqlClient, SQLParams sqlParams, ConnectionPool globalConnPool)
@@ -95,8 +107,13 @@ returns Error? = @java:Method {
     'class: "org.ballerinalang.sql.testutils.ClientTestUtils"
 } external;
 
-isolated function nativeQuery(Client sqlClient, string|ParameterizedQuery sqlQuery, typedesc<record {}>? rowType)
-returns stream <record {}, Error> = @java:Method {
+function retrieveDatasourcesConcurrently(SQLParams sqlParams, ConnectionPool globalConnPool, int threadCount,
+int iterationCount) returns map<int> = @java:Method {
+    'class: "org.ballerinalang.sql.testutils.ConnectionPoolTestUtils"
+} external;
+
+isolated function nativeQuery(Client sqlClient, string|ParameterizedQuery sqlQuery, typedesc<record {}>? rowType,
+QueryOptions? queryOptions) returns stream <record {}, Error> = @java:Method {
     'class: "org.ballerinalang.sql.testutils.QueryTestUtils"
 } external;
 
@@ -437,3 +437,235 @@ function testQueryRowId() returns error? {
     test:assertEquals(counter, 4);
     check dbClient.close();
 }
+
+@test:Config {
+    groups: ["query", "query-complex-params"]
+}
+function testQueryAfterResultShapeChange() returns error? {
+    MockClient dbClient = check new (url = complexQueryDb, user = user, password = password);
+    _ = check dbClient->execute("CREATE TABLE ShapeChangeTable (row_id INTEGER, string_type VARCHAR(50))");
+    _ = check dbClient->execute("INSERT INTO ShapeChangeTable VALUES (1, 'Hello')");
+    record {}? value = check queryShapeChangeTable(dbClient);
+    test:assertEquals(value, {"ROW_ID": 1, "STRING_TYPE": "Hello"}, "Expected record did not match.");
+
+    _ = check dbClient->execute("ALTER TABLE ShapeChangeTable ADD COLUMN int_type INTEGER DEFAULT 10");
+    value = check queryShapeChangeTable(dbClient);
+    test:assertEquals(value, {"ROW_ID": 1, "STRING_TYPE": "Hello", "INT_TYPE": 10},
+        "Expected record did not match after the table was altered.");
+
+    _ = check dbClient->execute("DROP TABLE ShapeChangeTable");
+    check dbClient.close();
+}
+
+@test:Config {
+    groups: ["query", "query-complex-params"]
+}
+function testQueryWithQueryOptions() returns error? {
+    MockClient dbClient = check new (url = complexQueryDb, user = user, password = password,
+        queryOptions = {fetchSize: 1, maxRows: 3, adaptiveFetchSize: true, maxFetchSize: 4});
+    stream<record{}, error?> streamData = dbClient->query("SELECT row_id FROM ArrayTypes ORDER BY row_id");
+    int counter = 0;
+    error? e = streamData.forEach(function (record {} value) {
+        counter = counter + 1;
+    });
+    if (e is error) {
+        test:assertFail("Error when iterating through records " + e.message());
+    }
+    test:assertEquals(counter, 3, "Expected the rows to be limited by maxRows.");
+    check dbClient.close();
+}
+
+@test:Config {
+    groups: ["query", "query-complex-params"]
+}
+function testQueryWithPrefetch() returns error? {
+    MockClient dbClient = check new (url = complexQueryDb, user = user, password = password,
+        queryOptions = {fetchSize: 1, prefetchSize: 2});
+    stream<record{}, error?> streamData = dbClient->query("SELECT row_id FROM ArrayTypes ORDER BY row_id");
+    int[] rowIds = [];
+    error? e = streamData.forEach(function (record {} value) {
+        rowIds.push(<int>value["ROW_ID"]);
+    });
+    if (e is error) {
+        test:assertFail("Error when iterating through records " + e.message());
+    }
+    test:assertEquals(rowIds, [1, 2, 3, 5], "Expected the prefetched rows in the order of the result.");
+
+    streamData = dbClient->query("SELECT row_id FROM ArrayTypes ORDER BY row_id");
+    record {|record {} value;|}? data = check streamData.next();
+    check streamData.close();
+    test:assertEquals(data?.value, {"ROW_ID": 1});
+    check dbClient.close();
+}
+
+@test:Config {
+    groups: ["query", "query-complex-params"]
+}
+function testCloseQueryWithPrefetchWhileReading() returns error? {
+    MockClient dbClient = check new (url = complexQueryDb, user = user, password = password,
+        queryOptions = {fetchSize: 1, prefetchSize: 2});
+    stream<record{}, error?> streamData = dbClient->query("SELECT a.row_id FROM ArrayTypes a, ArrayTypes b, " +
+        "ArrayTypes c, ArrayTypes d");
+    record {|record {} value;|}? data = check streamData.next();
+    // The stream is closed while the background task is reading ahead.
+    check streamData.close();
+    PoolMetrics metrics = check getPoolMetrics(dbClient);
+    check dbClient.close();
+    test:assertTrue(data is record {|record {} value;|});
+    test:assertEquals(metrics.activeConnections, 0, "Expected the connection to be released once closed.");
+}
+
+@test:Config {
+    groups: ["query", "query-complex-params"]
+}
+function testQueryOverResultBatches() returns error? {
+    MockClient dbClient = check new (url = complexQueryDb, user = user, password = password);
+    // 960 rows, so that the records are read in several full batches and a partial last batch of the default
+    // result batch size.
+    string sqlQuery = "SELECT a.row_id FROM ArrayTypes a, ArrayTypes b, ArrayTypes c, ArrayTypes d, ArrayTypes e " +
+        "WHERE NOT (a.row_id = 5 AND b.row_id = 5)";
+    stream<record{}, error?> streamData = dbClient->query(sqlQuery);
+    int count = 0;
+    error? e = streamData.forEach(function (record {} value) {
+        count += 1;
+    });
+    if (e is error) {
+        test:assertFail("Error when iterating through records " + e.message());
+    }
+
+    // The stream is closed in the middle of a batch.
+    streamData = dbClient->query(sqlQuery);
+    int readCount = 0;
+    while (readCount < 300) {
+        record {|record {} value;|}? data = check streamData.next();
+        if (data is ()) {
+            break;
+        }
+        readCount += 1;
+    }
+    check streamData.close();
+    PoolMetrics metrics = check getPoolMetrics(dbClient);
+    check dbClient.close();
+    test:assertEquals(count, 960);
+    test:assertEquals(readCount, 300);
+    test:assertEquals(metrics.activeConnections, 0, "Expected the connection to be released once closed.");
+}
+
+@test:Config {
+    groups: ["query", "query-complex-params"]
+}
+function testQueryWithResultCache() returns error? {
+    MockClient dbClient = check new (url = complexQueryDb, user = user, password = password,
+        queryResultCache = {maxSize: 65536, timeToLive: 300});
+    int rowId = 1;
+    record {}? firstResult = check queryDataTableIntType(dbClient, rowId);
+    record {}? secondResult = check queryDataTableIntType(dbClient, rowId);
+    QueryResultCacheMetrics metrics = check getQueryResultCacheMetrics(dbClient);
+    test:assertEquals(secondResult, firstResult);
+    test:assertEquals(metrics.missCount, 1);
+    test:assertEquals(metrics.hitCount, 1);
+    test:assertEquals(metrics.entryCount, 1);
+
+    ParameterizedQuery updateQuery = `UPDATE DataTable SET int_type = int_type WHERE row_id = ${rowId}`;
+    _ = check dbClient->execute(updateQuery);
+    record {}? thirdResult = check queryDataTableIntType(dbClient, rowId);
+    metrics = check getQueryResultCacheMetrics(dbClient);
+    check dbClient.close();
+    test:assertEquals(thirdResult, firstResult);
+    test:assertEquals(metrics.invalidationCount, 1);
+    test:assertEquals(metrics.missCount, 2);
+    test:assertEquals(metrics.hitCount, 1);
+}
+
+@test:Config {
+    groups: ["query", "query-complex-params"]
+}
+function testQueryWithResultCacheOfTypedValues() returns error? {
+    MockClient dbClient = check new (url = complexQueryDb, user = user, password = password,
+        queryResultCache = {maxSize: 65536, timeToLive: 300});
+    IntegerValue rowId = new (1);
+    record {}? firstResult = check queryDataTableIntType(dbClient, rowId);
+    record {}? secondResult = check queryDataTableIntType(dbClient, new IntegerValue(1));
+    ArrayValue intArray = new ([1, 2, 3]);
+    ParameterizedQuery arrayQuery = `SELECT row_id FROM ArrayTypes WHERE int_array = ${intArray}`;
+    int|error arrayCount = countRows(dbClient->query(arrayQuery));
+    arrayCount = countRows(dbClient->query(arrayQuery));
+    QueryResultCacheMetrics metrics = check getQueryResultCacheMetrics(dbClient);
+    check dbClient.close();
+    test:assertEquals(secondResult, firstResult);
+    test:assertEquals(arrayCount, 1);
+    // The typed values holding a basic value are cached, while the queries with array values are not.
+    test:assertEquals(metrics.hitCount, 1);
+    test:assertEquals(metrics.entryCount, 1);
+}
+
+function countRows(stream<record{}, error?> streamData) returns int|error {
+    int count = 0;
+    check streamData.forEach(function (record {} value) {
+        count += 1;
+    });
+    return count;
+}
+
+@test:Config {
+    groups: ["query", "query-complex-params"]
+}
+function testQueryWithResultCacheWithinTransaction() returns error? {
+    MockClient dbClient = check new (url = complexQueryDb, user = user, password = password,
+        queryResultCache = {maxSize: 65536, timeToLive: 300});
+    // The queries of the other transactions read the committed rows instead of waiting for the transaction.
+    _ = check dbClient->execute("SET DATABASE TRANSACTION CONTROL MVCC");
+    int rowId = 1;
+    record {}? initialResult = check queryDataTableRepIntType(dbClient, rowId);
+    record {}? uncommittedResult = ();
+    boolean committed = false;
+    transaction {
+        _ = check dbClient->execute(`UPDATE DataTableRep SET int_type = 101 WHERE row_id = ${rowId}`);
+        // The query of another strand is not part of the transaction, hence it reads the row before the update.
+        future<record {}|error?> otherStrandResult = start queryDataTableRepIntType(dbClient, rowId);
+        uncommittedResult = check wait otherStrandResult;
+        var commitResult = commit;
+        committed = commitResult is ();
+    }
+    record {}? committedResult = check queryDataTableRepIntType(dbClient, rowId);
+    _ = check dbClient->execute(`UPDATE DataTableRep SET int_type = 100 WHERE row_id = ${rowId}`);
+    _ = check dbClient->execute("SET DATABASE TRANSACTION CONTROL LOCKS");
+    check dbClient.close();
+    test:assertTrue(committed);
+    test:assertEquals(initialResult, {"INT_TYPE": 100});
+    test:assertEquals(uncommittedResult, {"INT_TYPE": 100});
+    test:assertEquals(committedResult, {"INT_TYPE": 101}, "Expected the committed row instead of the cached row.");
+}
+
+function queryDataTableRepIntType(MockClient dbClient, int rowId) returns record {}|error? {
+    ParameterizedQuery sqlQuery = `SELECT int_type FROM DataTableRep WHERE row_id = ${rowId}`;
+    stream<record{}, error?> streamData = dbClient->query(sqlQuery);
+    record {}? result = ();
+    error? e = streamData.forEach(function (record {} value) {
+        result = value;
+    });
+    if (e is error) {
+        return e;
+    }
+    return result;
+}
+
+function queryDataTableIntType(MockClient dbClient, int|IntegerValue rowId) returns record {}|error? {
+    ParameterizedQuery sqlQuery = `SELECT int_type FROM DataTable WHERE row_id = ${rowId}`;
+    stream<record{}, error?> streamData = dbClient->query(sqlQuery);
+    record {}? result = ();
+    error? e = streamData.forEach(function (record {} value) {
+        result = value;
+    });
+    if (e is error) {
+        return e;
+    }
+    return result;
+}
+
+function queryShapeChangeTable(MockClient dbClient) returns record {}|error? {
+    stream<record{}, error?> streamData = dbClient->query("SELECT * FROM ShapeChangeTable");
+    record {|record {} value;|}? data = check streamData.next();
+    check streamData.close();
+    return data?.value;
+}
@@ -59,6 +59,31 @@ function testConnectionInvalidUrl() returns error? {
     } 
 }
 
+@test:Config {
+    groups: ["connection"]
+}
+function testConnectionLazyInitialization() returns error? {
+    ConnectionPool connectionPool = {lazyInitialization: true};
+    MockClient dbClient = check new (url = connectDB, user = user, password = password,
+        connectionPool = connectionPool);
+    stream<record{}, error?> queryResult = dbClient->query("SELECT count(*) as val from Customers", Result);
+    record {|record {} value;|}? data = check queryResult.next();
+    check queryResult.close();
+    check dbClient.close();
+    test:assertTrue(data is record {|record {} value;|});
+
+    // The operations wait for a connection up to the connection timeout of the pool.
+    MockClient|Error invalidClient = new (url = connectDB, user = user, password = "invalidPassword",
+        connectionPool = {lazyInitialization: true}, connectionPoolOptions = {"connectionTimeout": "1000"});
+    if (invalidClient is Error) {
+        test:assertFail("Lazily initialized client is not created: " + invalidClient.message());
+    } else {
+        ExecutionResult|Error result = invalidClient->execute("DELETE FROM Customers WHERE customerId = -1");
+        check invalidClient.close();
+        test:assertTrue(result is DatabaseError, "Expected the connection failure from the operation.");
+    }
+}
+
 @test:Config {
     groups: ["connection"]
 }
@@ -46,6 +46,36 @@ function cleanPoolContainer() returns error? {
 	check cleanDockerContainer("sql-pool2");
 }
 
+// The query metrics and the worker thread pool are disabled by default, so they are enabled only for the tests
+// of their groups.
+@test:BeforeGroups {
+    value: ["query-metrics"]
+}
+function enableQueryMetrics() {
+    initQueryMetrics(true);
+}
+
+@test:AfterGroups {
+    value: ["query-metrics"]
+}
+function disableQueryMetrics() {
+    initQueryMetrics(false);
+}
+
+@test:BeforeGroups {
+    value: ["worker-pool"]
+}
+function initWorkerPool() {
+    initWorkerThreadPool(4);
+}
+
+@test:AfterGroups {
+    value: ["worker-pool"]
+}
+function shutdownWorkerPool() {
+    shutdownWorkerThreadPool();
+}
+
 @test:Config {
     groups: ["pool"]
 }
@@ -481,6 +511,25 @@ public type Variable record {
     string variable_name;
 };
 
+@test:Config {
+    groups: ["pool"]
+}
+function testConnectionPoolWithStatementCache() returns error? {
+    ConnectionPool pool = {maxOpenConnections: 1, statementCacheSize: 2};
+    MockClient dbClient = check new (url = poolDB_1, user = user, password = password, connectionPool = pool);
+    int registrationId = 1;
+    foreach int i in 1 ... 3 {
+        stream<record{}, error?> queryResult = dbClient->query(
+            `select count(*) as val from Customers where registrationID = ${registrationId}`, Result);
+        test:assertEquals(check getReturnValue(queryResult), 1);
+        registrationId = registrationId == 1 ? 2 : 1;
+    }
+    stream<record{}, error?> queryResult = dbClient->query(
+        `select count(*) as val from Customers where registrationID = ${3}`, Result);
+    test:assertEquals(check getReturnValue(queryResult), 0);
+    check dbClient.close();
+}
+
 function getOpenConnectionCount(string url) returns @tainted (int|error) {
     MockClient dbClient = check new (url = url, user = user, password = password, connectionPool = {maxOpenConnections: 1}, connectionPoolOptions = connectionPoolOptions);
     var dt = dbClient->query("show status where `variable_name` = 'Threads_connected'", Variable);
@@ -526,6 +575,239 @@ isolated function getCombinedReturnValue([stream<record{}, error?>, stream<recor
     }
 }
 
+@test:Config {
+    groups: ["pool"]
+}
+function testPoolMetrics() returns error? {
+    ConnectionPool pool = {maxOpenConnections: 3};
+    MockClient dbClient = check new (url = poolDB_1, user = user, password = password, connectionPool = pool);
+    stream<record{}, error?> queryResult = dbClient->query("select count(*) as val from Customers where " +
+        "registrationID = 1", Result);
+    PoolMetrics metricsInUse = check getPoolMetrics(dbClient);
+    int|error count = getReturnValue(queryResult);
+    PoolMetrics metrics = check getPoolMetrics(dbClient);
+    check dbClient.close();
+
+    test:assertEquals(count, 1);
+    test:assertEquals(metricsInUse.activeConnections, 1);
+    test:assertEquals(metrics.activeConnections, 0);
+    test:assertEquals(metrics.maxConnections, 3);
+    test:assertTrue(metrics.totalConnections >= 1);
+    test:assertTrue(metrics.acquireCount >= 2, "Expected the initial and the query connection acquisitions.");
+    test:assertEquals(metrics.acquireTimeBuckets[metrics.acquireTimeBuckets.length() - 1].count,
+        metrics.acquireCount);
+    test:assertEquals(metrics.timeoutCount, 0);
+}
+
+@test:Config {
+    groups: ["pool"]
+}
+function testSessionStateTracking() returns error? {
+    string sqlQuery = "select count(*) as val from Customers where registrationID = 1";
+    // The pool is configured with the defaults, apart from a single connection used by all the transactions.
+    MockClient dbClient1 = check new (url = poolDB_1, user = user, password = password,
+        connectionPool = {maxOpenConnections: 1});
+    // The connections of the pool are not in the auto commit mode, hence the transaction does not change it.
+    MockClient dbClient2 = check new (url = poolDB_1, user = user, password = password,
+        connectionPool = {maxOpenConnections: 2}, connectionPoolOptions = {"autoCommit": "false"});
+    int|error count1 = -1;
+    int|error count2 = -1;
+    int|error count4 = -1;
+    transaction {
+        count1 = getReturnValue(dbClient1->query(sqlQuery, Result));
+        check commit;
+    }
+    // The connection is left in the manual commit mode by the first transaction.
+    transaction {
+        count2 = getReturnValue(dbClient1->query(sqlQuery, Result));
+        check commit;
+    }
+    PoolMetrics metricsAfterTransactions = check getPoolMetrics(dbClient1);
+    // The auto commit mode is restored before the connection is used outside of a transaction.
+    int|error count3 = getReturnValue(dbClient1->query(sqlQuery, Result));
+    transaction {
+        count4 = getReturnValue(dbClient2->query(sqlQuery, Result));
+        check commit;
+    }
+    PoolMetrics metrics1 = check getPoolMetrics(dbClient1);
+    PoolMetrics metrics2 = check getPoolMetrics(dbClient2);
+    check dbClient1.close();
+    check dbClient2.close();
+
+    test:assertEquals(count1, 1);
+    test:assertEquals(count2, 1);
+    test:assertEquals(count3, 1);
+    test:assertEquals(count4, 1);
+    test:assertEquals(metricsAfterTransactions.sessionStateChangeCount, 1);
+    test:assertEquals(metricsAfterTransactions.avoidedSessionStateChangeCount, 1);
+    test:assertEquals(metrics1.sessionStateChangeCount, 2);
+    test:assertEquals(metrics1.avoidedSessionStateChangeCount, 1);
+    test:assertEquals(metrics2.sessionStateChangeCount, 0);
+    test:assertEquals(metrics2.avoidedSessionStateChangeCount, 1);
+}
+
+@test:Config {
+    groups: ["pool"]
+}
+function testConcurrentClientCreation() returns error? {
+    SQLParams sqlParams = {
+        url: poolDB_1,
+        user: user,
+        password: password,
+        datasourceName: (),
+        options: (),
+        connectionPool: (),
+        connectionPoolOptions: ()
+    };
+    // The pool is shut down and created again whenever all the threads release it at once.
+    map<int> stats = retrieveDatasourcesConcurrently(sqlParams, getGlobalConnectionPool(), 16, 50);
+    test:assertEquals(stats["retrievalCount"], 800);
+    test:assertEquals(stats["failedCount"], 0);
+
+    MockClient dbClient = check new (url = poolDB_1, user = user, password = password);
+    stats = retrieveDatasourcesConcurrently(sqlParams, getGlobalConnectionPool(), 16, 50);
+    check dbClient.close();
+    test:assertEquals(stats["failedCount"], 0);
+    test:assertTrue(<int>stats["averageLatency"] <= <int>stats["maxLatency"]);
+
+    future<int|error>[] clients = [];
+    foreach int i in 0 ..< 8 {
+        clients.push(start createAndCloseClients(poolDB_1, 10));
+    }
+    foreach future<int|error> clientFuture in clients {
+        int|error count = wait clientFuture;
+        test:assertEquals(count, 10);
+    }
+}
+
+function createAndCloseClients(string url, int clientCount) returns int|error {
+    int count = 0;
+    foreach int i in 0 ..< clientCount {
+        MockClient dbClient = check new (url = url, user = user, password = password);
+        int|error result = getReturnValue(dbClient->query("select count(*) as val from Customers where " +
+            "registrationID = 1", Result));
+        check dbClient.close();
+        count += check result;
+    }
+    return count;
+}
+
+@test:Config {
+    groups: ["pool"]
+}
+function testConnectionPoolLinger() returns error? {
+    ConnectionPool pool = {maxOpenConnections: 2, lingerTime: 0.5};
+    PoolRegistryMetrics initialMetrics = getPoolRegistryMetrics();
+    MockClient dbClient1 = check new (url = poolDB_1, user = user, password = password, connectionPool = pool);
+    check dbClient1.close();
+    PoolRegistryMetrics lingeringMetrics = getPoolRegistryMetrics();
+
+    MockClient dbClient2 = check new (url = poolDB_1, user = user, password = password, connectionPool = pool);
+    int|error count = getReturnValue(dbClient2->query("select count(*) as val from Customers where " +
+        "registrationID = 1", Result));
+    PoolMetrics poolMetrics = check getPoolMetrics(dbClient2);
+    check dbClient2.close();
+    PoolRegistryMetrics reusedMetrics = getPoolRegistryMetrics();
+
+    runtime:sleep(2);
+    PoolRegistryMetrics evictedMetrics = getPoolRegistryMetrics();
+
+    test:assertEquals(count, 1);
+    test:assertEquals(poolMetrics.maxConnections, 2);
+    test:assertEquals(lingeringMetrics.createdPoolCount - initialMetrics.createdPoolCount, 1);
+    test:assertEquals(lingeringMetrics.lingeringPoolCount - initialMetrics.lingeringPoolCount, 1);
+    test:assertEquals(reusedMetrics.createdPoolCount, lingeringMetrics.createdPoolCount);
+    test:assertEquals(reusedMetrics.reusedPoolCount - initialMetrics.reusedPoolCount, 1);
+    test:assertEquals(evictedMetrics.evictedPoolCount - initialMetrics.evictedPoolCount, 1);
+    test:assertEquals(evictedMetrics.lingeringPoolCount, initialMetrics.lingeringPoolCount);
+}
+
+@test:Config {
+    groups: ["pool", "query-metrics"]
+}
+function testQueryMetrics() returns error? {
+    string sqlQuery = "select count(*) as val from Customers where registrationID = 2";
+    MockClient dbClient = check new (url = poolDB_1, user = user, password = password);
+    int|error count = getReturnValue(dbClient->query(sqlQuery, Result));
+    int|error failedCount = getReturnValue(dbClient->query(sqlQuery + " and unknownColumn = 1", Result));
+    check dbClient.close();
+
+    test:assertEquals(count, 1);
+    test:assertTrue(failedCount is error);
+    QueryMetrics[] queryMetrics = from QueryMetrics metrics in getQueryMetrics()
+        where metrics.operation == "query" && metrics.sqlQuery == sqlQuery
+        select metrics;
+    test:assertEquals(queryMetrics.length(), 1);
+    QueryMetrics metrics = queryMetrics[0];
+    test:assertEquals(metrics.count, 1);
+    test:assertEquals(metrics.errorCount, 0);
+    test:assertEquals(metrics.acquireTime.count, 1);
+    test:assertEquals(metrics.prepareTime.count, 1);
+    test:assertEquals(metrics.executeTime.count, 1);
+    test:assertEquals(metrics.consumeTime.count, 1);
+    test:assertEquals(metrics.executeTime.buckets[metrics.executeTime.buckets.length() - 1].count, 1);
+
+    QueryMetrics[] failedQueryMetrics = from QueryMetrics failedMetrics in getQueryMetrics()
+        where failedMetrics.sqlQuery == sqlQuery + " and unknownColumn = 1"
+        select failedMetrics;
+    test:assertEquals(failedQueryMetrics.length(), 1);
+    test:assertEquals(failedQueryMetrics[0].errorCount, 1);
+    test:assertEquals(failedQueryMetrics[0].executeTime.count, 0);
+
+    string metricsText = getQueryMetricsText();
+    string labels = "operation=\"query\",query=\"" + sqlQuery + "\",phase=\"execute\"";
+    test:assertTrue(strings:includes(metricsText, "# TYPE ballerina_sql_query_duration_seconds histogram"));
+    test:assertTrue(strings:includes(metricsText, "ballerina_sql_query_duration_seconds_bucket{" + labels +
+        ",le=\"+Inf\"} 1"), metricsText);
+    test:assertTrue(strings:includes(metricsText, "ballerina_sql_query_duration_seconds_count{" + labels + "} 1"));
+}
+
+@test:Config {
+    groups: ["pool", "worker-pool"]
+}
+function testCallsOnWorkerThreadPool() returns error? {
+    MockClient dbClient = check new (url = poolDB_1, user = user, password = password);
+    future<int|error>[] futures = [];
+    foreach int i in 0 ..< 8 {
+        futures.push(start getCustomerCount(dbClient, 1));
+    }
+    ExecutionResult result = check dbClient->execute("Insert into Customers (firstName,lastName,registrationID," +
+        "creditLimit,country) values ('James', 'Clerk', 300, 5000.75, 'USA')");
+    ParameterizedQuery[] sqlQueries = [
+        `Insert into Customers (firstName,lastName,registrationID,creditLimit,country)
+            values ('John', 'Doe', 300, 1000, 'UK')`,
+        `Delete from Customers where registrationID = 300 and firstName = 'James'`
+    ];
+    ExecutionResult[] results = check dbClient->batchExecute(sqlQueries);
+    boolean committed = false;
+    // The calls within a transaction block are executed on the calling strand.
+    transaction {
+        _ = check dbClient->execute("Update Customers set creditLimit = 2000 where registrationID = 300");
+        var commitResult = commit;
+        committed = commitResult is ();
+    }
+    int[] counts = [];
+    foreach future<int|error> countFuture in futures {
+        counts.push(check wait countFuture);
+    }
+    int customerCount = check getCustomerCount(dbClient, 300);
+    PoolMetrics metrics = check getPoolMetrics(dbClient);
+    check dbClient.close();
+
+    test:assertEquals(counts, [1, 1, 1, 1, 1, 1, 1, 1]);
+    test:assertEquals(result.affectedRowCount, 1);
+    test:assertEquals(results[0].affectedRowCount, 1);
+    test:assertEquals(results[1].affectedRowCount, 1);
+    test:assertTrue(committed);
+    test:assertEquals(customerCount, 1);
+    test:assertEquals(metrics.activeConnections, 0);
+}
+
+function getCustomerCount(MockClient dbClient, int registrationID) returns int|error {
+    return getReturnValue(dbClient->query(
+        `select count(*) as val from Customers where registrationID = ${registrationID}`, Result));
+}
+
 isolated function getIntVariableValue(stream<record{}, error?> queryResult) returns int|error {
     int count = -1;
     record {|record {} value;|}? data = check queryResult.next();
@@ -343,6 +343,7 @@ function testUpdateData() returns error? {
     MockClient dbClient = check new (url = executeDb, user = user, password = password);
     ExecutionResult result = check dbClient->execute("Update NumericTypes set int_type = 11 where int_type = 10");
     test:assertExactEquals(result.affectedRowCount, 1, "Affected row count is different.");
+    test:assertExactEquals(result.lastInsertId, (), "Last Insert Id is not nil.");
     
     stream<record{}, error?> queryResult = dbClient->query("SELECT count(*) as countval from NumericTypes"
         + " where int_type = 11", ResultCount);
@@ -353,3 +354,16 @@ function testUpdateData() returns error? {
 
     check dbClient.close();
 }
+
+@test:Config {
+    groups: ["execute", "execute-basic"],
+    dependsOn: [testUpdateData]
+}
+function testInsertWithCommentAndGeneratedKeys() returns error? {
+    MockClient dbClient = check new (url = executeDb, user = user, password = password);
+    ExecutionResult result = check dbClient->execute("/* insert a row */ insert into NumericTypes (int_type) "
+        + "values (32)");
+    check dbClient.close();
+    test:assertExactEquals(result.affectedRowCount, 1, "Affected row count is different.");
+    test:assertTrue(result.lastInsertId is int, "Last Insert Id is nil.");
+}
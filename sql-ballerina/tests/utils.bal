@@ -127,3 +127,7 @@ isolated function setModuleForTest() = @java:Method {
     name: "setModule",
     'class: "org.ballerinalang.sql.testutils.nativeimpl.ModuleUtils"
 } external;
+
+isolated function shutdownWorkerThreadPool() = @java:Method {
+    'class: "org.ballerinalang.sql.utils.SQLWorkerThreadPool"
+} external;
@@ -378,6 +378,26 @@ public type ParameterizedQuery distinct object {
     public Value[] insertions;
 };
 
+# Represents the options which are used to create the statement of a query. The statement is created as a forward
+# only and read only cursor, which lets the drivers that support cursor based fetching stream the result.
+#
+# + fetchSize - The number of rows fetched from the database in a single round trip. The value 0 uses the
+#               default fetch size of the driver
+# + maxRows - The maximum number of rows returned by the query. The value 0 indicates no limit
+# + adaptiveFetchSize - Grows the fetch size while the rows are consumed quickly, bounded by `maxFetchSize` and the
+#                       estimated width of the rows
+# + maxFetchSize - The maximum fetch size used when `adaptiveFetchSize` is enabled
+# + prefetchSize - The maximum number of records read and converted ahead of the consumer on a background thread,
+#                  which overlaps fetching the rows with processing them. The value 0 reads the records only when
+#                  they are consumed. The records are not read ahead within a transaction block
+public type QueryOptions record {|
+    int fetchSize = 0;
+    int maxRows = 0;
+    boolean adaptiveFetchSize = false;
+    int maxFetchSize = 10000;
+    int prefetchSize = 0;
+|};
+
 # Constant indicating that the specific batch statement executed successfully
 # but that no count of the number of rows it affected is available.
 public const SUCCESS_NO_INFO = -2;
@@ -404,6 +424,159 @@ public type ExecutionResult record {
     string|int? lastInsertId;
 };
 
+# Represents the options of the execution of a stream of parameterized queries in batches.
+#
+# + chunkSize - The number of queries executed in a single batch
+# + commitPerChunk - Commits each chunk after it is executed, so that the previously executed chunks are kept
+#                    if a later chunk fails. This cannot be used within a transaction
+public type BatchExecuteOptions record {|
+    int chunkSize = 1000;
+    boolean commitPerChunk = false;
+|};
+
+# Represents the number of operations which took at most a given time, such as the connection acquisitions of a pool.
+#
+# + upperBound - The upper bound of the time in seconds
+# + count - The number of operations which took at most `upperBound` seconds
+public type LatencyBucket record {|
+    decimal upperBound;
+    int count;
+|};
+
+# Represents a cumulative histogram of the times taken by an operation.
+#
+# + count - The number of operations
+# + sum - The total time in seconds taken by the operations
+# + buckets - The number of operations which took at most the upper bound of each bucket
+public type LatencyHistogram record {|
+    int count;
+    decimal sum;
+    LatencyBucket[] buckets;
+|};
+
+# Represents the latencies of the executions of a SQL query through the clients, split into the phases of the
+# execution. The metrics are recorded only when the `queryMetricsEnabled` configurable of the module is set.
+#
+# + operation - The client operation, which is one of `query`, `execute`, `batchExecute` and `call`
+# + sqlQuery - The SQL query compiled from the parameterized query, which is the same for all the parameter values.
+#              The queries executed after the number of distinct queries reaches the limit are recorded as `<other>`
+# + count - The number of executions. A batch executed in parallel slices is recorded once per slice
+# + errorCount - The number of executions which returned an error
+# + acquireTime - The times taken to get a connection
+# + prepareTime - The times taken to prepare the statement and set its parameters
+# + executeTime - The times taken to execute the statement
+# + consumeTime - The times taken to read the records of the results of the `query` operation, excluding the time
+#                 spent by the consumer between the records. This is recorded when the result stream is closed
+public type QueryMetrics record {|
+    string operation;
+    string sqlQuery;
+    int count;
+    int errorCount;
+    LatencyHistogram acquireTime;
+    LatencyHistogram prepareTime;
+    LatencyHistogram executeTime;
+    LatencyHistogram consumeTime;
+|};
+
+# Represents the state of a connection pool and the metrics of its connections. The metrics are of the pool, which
+# may be shared by multiple clients.
+#
+# + activeConnections - The number of connections in use
+# + idleConnections - The number of idle connections in the pool
+# + totalConnections - The number of connections in the pool
+# + threadsAwaitingConnection - The number of threads waiting for a connection. This is not available for the XA
+#                               datasources managed by the transaction manager
+# + maxConnections - The maximum number of connections of the pool
+# + acquireCount - The number of connections acquired from the pool
+# + acquireTime - The total time in seconds spent to acquire the connections
+# + acquireTimeBuckets - The cumulative histogram of the acquire times
+# + timeoutCount - The number of connections which could not be acquired within the connection timeout
+# + createdConnectionCount - The number of connections created by the pool
+# + connectionCreationTime - The total time in seconds spent to create the connections
+# + statementCacheHitCount - The number of statements reused from the statement cache
+# + statementCacheMissCount - The number of statements prepared when the statement cache is enabled
+# + sessionStateChangeCount - The number of changes of the session state, such as the auto commit mode, sent to the
+#                             connections of the pool
+# + avoidedSessionStateChangeCount - The number of changes of the session state which were not sent to the
+#                                    connections, since the connections were already in that state
+public type PoolMetrics record {|
+    int activeConnections;
+    int idleConnections;
+    int totalConnections;
+    int threadsAwaitingConnection;
+    int maxConnections;
+    int acquireCount;
+    decimal acquireTime;
+    LatencyBucket[] acquireTimeBuckets;
+    int timeoutCount;
+    int createdConnectionCount;
+    decimal connectionCreationTime;
+    int statementCacheHitCount;
+    int statementCacheMissCount;
+    int sessionStateChangeCount;
+    int avoidedSessionStateChangeCount;
+|};
+
+# Represents the number of connection pools created, reused and evicted through all the clients.
+#
+# + createdPoolCount - The number of connection pools created
+# + reusedPoolCount - The number of clients which reused a pool lingering after its last client was closed, instead
+#                     of creating a new pool
+# + evictedPoolCount - The number of lingering pools shut down after their linger time
+# + lingeringPoolCount - The number of pools which have no clients and are kept open
+public type PoolRegistryMetrics record {|
+    int createdPoolCount;
+    int reusedPoolCount;
+    int evictedPoolCount;
+    int lingeringPoolCount;
+|};
+
+# Represents the options of the query result cache of a client. The records of the results of the `SELECT` queries
+# executed outside a transaction block are cached once they are read to the end. A cached result is invalidated when
+# a statement executed by the same client refers to one of the tables of its query, and the changes done by the
+# other clients are reflected once the cached results expire.
+#
+# + maxSize - The maximum approximate size in bytes of the cached records. The least recently used results are
+#             evicted once the size exceeds this value
+# + timeToLive - The time in seconds a cached result is served for
+public type QueryResultCacheOptions record {|
+    int maxSize = 16777216;
+    decimal timeToLive = 60;
+|};
+
+# Represents the metrics of the query result cache of a client.
+#
+# + hitCount - The number of queries served from the cache
+# + missCount - The number of cacheable queries which are not found in the cache
+# + evictionCount - The number of results evicted to bound the size of the cache
+# + expirationCount - The number of results removed as their time to live elapsed
+# + invalidationCount - The number of results invalidated by the statements executed by the client
+# + entryCount - The number of cached results
+# + size - The approximate size in bytes of the cached records
+public type QueryResultCacheMetrics record {|
+    int hitCount;
+    int missCount;
+    int evictionCount;
+    int expirationCount;
+    int invalidationCount;
+    int entryCount;
+    int size;
+|};
+
+# Represents the summary of a batch execution of parameterized queries.
+#
+# + affectedRowCount - The total number of rows affected by the executed queries
+# + executedQueryCount - The number of queries executed
+# + chunkCount - The number of chunks executed, or the number of batches executed when the queries of the same SQL
+#                command are grouped
+# + failedQueryIndices - The indices of the queries reported as failed by the driver
+public type BatchExecuteSummary record {|
+    int affectedRowCount = 0;
+    int executedQueryCount = 0;
+    int chunkCount = 0;
+    int[] failedQueryIndices = [];
+|};
+
 # Represents all OUT parameters used in SQL stored procedure call.
 public type OutParameter object {
 
@@ -792,6 +965,10 @@ public type ParameterizedCallQuery distinct object {
     public Parameter[] insertions;
 };
 
+// The number of records fetched from the result set by the result iterator in a single call. The records are
+// returned one at a time from the fetched batch, and the value 1 fetches each record separately.
+final configurable int resultBatchSize = 256;
+
 # The result iterator object that is used to iterate through the results in the event stream.
 # 
 # + customResultIterator - The instance of the custom ballerina class that is structurally equivalent to
@@ -799,10 +976,14 @@ public type ParameterizedCallQuery distinct object {
 #                          of the nextResult method. 
 # + err - Used to hold any error to be returned 
 # + isClosed - The boolean flag used to indicate that the result iterator is closed 
+# + batch - The records fetched from the result set which are not yet returned by the iterator
+# + batchIndex - The index of the next record to be returned from the batch
 public class ResultIterator {
     private boolean isClosed = false;
     private Error? err;
     public CustomResultIterator? customResultIterator;
+    private record {}[] batch = [];
+    private int batchIndex = 0;
 
     public isolated function init(Error? err = (), CustomResultIterator? customResultIterator = ()) {
         self.err = err;
@@ -822,7 +1003,7 @@ public class ResultIterator {
                 result = (<CustomResultIterator>self.customResultIterator).nextResult(self);
             }
             else {
-                result = nextResult(self);
+                result = self.nextBatchedResult();
             }
             if (result is record {}) {
                 record {|
@@ -846,11 +1027,32 @@ public class ResultIterator {
                 Error? e = closeResult(self);
                 if (e is ()) {
                     self.isClosed = true;
+                    self.batch = [];
                 }
                 return e;
             }
         }
     }
+
+    isolated function nextBatchedResult() returns record {}|Error? {
+        if (resultBatchSize <= 1) {
+            return nextResult(self);
+        }
+        if (self.batchIndex >= self.batch.length()) {
+            record {}[]|Error batch = nextBatch(self, resultBatchSize);
+            if (batch is Error) {
+                return batch;
+            }
+            self.batch = batch;
+            self.batchIndex = 0;
+            if (batch.length() == 0) {
+                return ();
+            }
+        }
+        record {} result = self.batch[self.batchIndex];
+        self.batchIndex += 1;
+        return result;
+    }
 }
 
 # Object that is used to return stored procedure call results.
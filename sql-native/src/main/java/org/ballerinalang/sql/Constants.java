@@ -36,6 +36,8 @@ public final class Constants {
     public static final String BATCH_EXECUTE_ERROR_DETAIL = "BatchExecuteErrorDetail";
     public static final String BATCH_EXECUTE_ERROR = "BatchExecuteError";
     public static final String BATCH_EXECUTE_ERROR_MESSAGE = "Error occurred when batch executing commands.";
+    public static final String BATCH_EXECUTE_SUMMARY_ERROR_DETAIL = "BatchExecuteSummaryErrorDetail";
+    public static final String BATCH_EXECUTE_SUMMARY_ERROR = "BatchExecuteSummaryError";
     public static final String DATABASE_ERROR_DETAILS = "DatabaseErrorDetail";
     public static final String DATABASE_ERROR = "DatabaseError";
     public static final String APPLICATION_ERROR = "ApplicationError";
@@ -46,6 +48,17 @@ public final class Constants {
     public static final String CONNECTION_NATIVE_DATA_FIELD = "Connection";
     public static final String STATEMENT_NATIVE_DATA_FIELD = "Statement";
     public static final String COLUMN_DEFINITIONS_DATA_FIELD = "ColumnDefinition";
+    public static final String RESULT_CURSOR_DATA_FIELD = "ResultCursor";
+    public static final String ADAPTIVE_FETCH_SIZE_DATA_FIELD = "AdaptiveFetchSize";
+    public static final String PREFETCH_SIZE_DATA_FIELD = "PrefetchSize";
+    public static final String QUERY_RESULT_CACHE_DATA_FIELD = "QueryResultCache";
+    public static final String QUERY_RESULT_WRITER_DATA_FIELD = "QueryResultWriter";
+    public static final String QUERY_RESULT_READER_DATA_FIELD = "QueryResultReader";
+    public static final String QUERY_TIMER_DATA_FIELD = "QueryTimer";
+    public static final String BATCH_EXECUTE_SESSION_DATA_FIELD = "BatchExecuteSession";
+    public static final String BATCH_INSERT_ROW_COUNT_DATA_FIELD = "BatchInsertRowCount";
+    public static final String BATCH_EXECUTE_PARALLELISM_DATA_FIELD = "BatchExecuteParallelism";
+    public static final String GROUP_BATCH_COMMANDS_DATA_FIELD = "GroupBatchCommands";
     public static final String RECORD_TYPE_DATA_FIELD = "recordType";
 
     public static final String PROCEDURE_CALL_RESULT = "ProcedureCallResult";
@@ -60,6 +73,13 @@ public final class Constants {
     public static final String EXECUTION_RESULT_RECORD = "ExecutionResult";
     public static final String AFFECTED_ROW_COUNT_FIELD = "affectedRowCount";
     public static final String LAST_INSERTED_ID_FIELD = "lastInsertId";
+    public static final String BATCH_EXECUTE_SUMMARY_RECORD = "BatchExecuteSummary";
+    public static final String QUERY_RESULT_CACHE_METRICS_RECORD = "QueryResultCacheMetrics";
+    public static final String POOL_METRICS_RECORD = "PoolMetrics";
+    public static final String POOL_REGISTRY_METRICS_RECORD = "PoolRegistryMetrics";
+    public static final String LATENCY_BUCKET_RECORD = "LatencyBucket";
+    public static final String LATENCY_HISTOGRAM_RECORD = "LatencyHistogram";
+    public static final String QUERY_METRICS_RECORD = "QueryMetrics";
 
     public static final String READ_BYTE_CHANNEL_STRUCT = "ReadableByteChannel";
     public static final String READ_CHAR_CHANNEL_STRUCT = "ReadableCharacterChannel";
@@ -75,6 +95,9 @@ public final class Constants {
         public static final BString MAX_CONNECTION_LIFE_TIME = fromString(
                 "maxConnectionLifeTime");
         public static final BString MIN_IDLE_CONNECTIONS = fromString("minIdleConnections");
+        public static final BString STATEMENT_CACHE_SIZE = fromString("statementCacheSize");
+        public static final BString LINGER_TIME = fromString("lingerTime");
+        public static final BString LAZY_INITIALIZATION = fromString("lazyInitialization");
     }
 
     /**
@@ -91,9 +114,20 @@ public final class Constants {
         public static final String ERROR_CODE = "errorCode";
         public static final String SQL_STATE = "sqlState";
         public static final String EXECUTION_RESULTS = "executionResults";
+        public static final String SUMMARY = "summary";
 
     }
 
+    /**
+     * Constants related to batch execute summary fields.
+     */
+    public static final class BatchExecuteSummaryFields {
+        public static final String AFFECTED_ROW_COUNT = "affectedRowCount";
+        public static final String EXECUTED_QUERY_COUNT = "executedQueryCount";
+        public static final String CHUNK_COUNT = "chunkCount";
+        public static final String FAILED_QUERY_INDICES = "failedQueryIndices";
+    }
+
     /**
      * Constants related to parameterized string fields.
      */
@@ -190,6 +224,97 @@ public final class Constants {
         public static final BString OPTIONS = fromString("options");
         public static final BString CONNECTION_POOL = fromString("connectionPool");
         public static final BString CONNECTION_POOL_OPTIONS = fromString("connectionPoolOptions");
+        public static final BString BATCH_INSERT_ROW_COUNT = fromString("batchInsertRowCount");
+        public static final BString BATCH_EXECUTE_PARALLELISM = fromString("batchExecuteParallelism");
+        public static final BString GROUP_BATCH_COMMANDS = fromString("groupBatchCommands");
+        public static final BString QUERY_RESULT_CACHE = fromString("queryResultCache");
+    }
+
+    /**
+     * Constants for Query Options.
+     */
+    public static final class QueryOptionsFields {
+        public static final BString FETCH_SIZE = fromString("fetchSize");
+        public static final BString MAX_ROWS = fromString("maxRows");
+        public static final BString ADAPTIVE_FETCH_SIZE = fromString("adaptiveFetchSize");
+        public static final BString MAX_FETCH_SIZE = fromString("maxFetchSize");
+        public static final BString PREFETCH_SIZE = fromString("prefetchSize");
+    }
+
+    /**
+     * Constants for Query Result Cache Options.
+     */
+    public static final class QueryResultCacheFields {
+        public static final BString MAX_SIZE = fromString("maxSize");
+        public static final BString TIME_TO_LIVE = fromString("timeToLive");
+    }
+
+    /**
+     * Constants related to query result cache metrics fields.
+     */
+    public static final class QueryResultCacheMetricsFields {
+        public static final String HIT_COUNT = "hitCount";
+        public static final String MISS_COUNT = "missCount";
+        public static final String EVICTION_COUNT = "evictionCount";
+        public static final String EXPIRATION_COUNT = "expirationCount";
+        public static final String INVALIDATION_COUNT = "invalidationCount";
+        public static final String ENTRY_COUNT = "entryCount";
+        public static final String SIZE = "size";
+    }
+
+    /**
+     * Constants related to connection pool metrics fields.
+     */
+    public static final class PoolMetricsFields {
+        public static final String ACTIVE_CONNECTIONS = "activeConnections";
+        public static final String IDLE_CONNECTIONS = "idleConnections";
+        public static final String TOTAL_CONNECTIONS = "totalConnections";
+        public static final String THREADS_AWAITING_CONNECTION = "threadsAwaitingConnection";
+        public static final String MAX_CONNECTIONS = "maxConnections";
+        public static final String ACQUIRE_COUNT = "acquireCount";
+        public static final String ACQUIRE_TIME = "acquireTime";
+        public static final String ACQUIRE_TIME_BUCKETS = "acquireTimeBuckets";
+        public static final String TIMEOUT_COUNT = "timeoutCount";
+        public static final String CREATED_CONNECTION_COUNT = "createdConnectionCount";
+        public static final String CONNECTION_CREATION_TIME = "connectionCreationTime";
+        public static final String STATEMENT_CACHE_HIT_COUNT = "statementCacheHitCount";
+        public static final String STATEMENT_CACHE_MISS_COUNT = "statementCacheMissCount";
+        public static final String SESSION_STATE_CHANGE_COUNT = "sessionStateChangeCount";
+        public static final String AVOIDED_SESSION_STATE_CHANGE_COUNT = "avoidedSessionStateChangeCount";
+    }
+
+    /**
+     * Constants for the fields of the pool registry metrics record.
+     */
+    public static final class PoolRegistryMetricsFields {
+        public static final String CREATED_POOL_COUNT = "createdPoolCount";
+        public static final String REUSED_POOL_COUNT = "reusedPoolCount";
+        public static final String EVICTED_POOL_COUNT = "evictedPoolCount";
+        public static final String LINGERING_POOL_COUNT = "lingeringPoolCount";
+    }
+
+    /**
+     * Constants for the fields of the latency histogram records.
+     */
+    public static final class LatencyHistogramFields {
+        public static final String COUNT = "count";
+        public static final String SUM = "sum";
+        public static final String BUCKETS = "buckets";
+        public static final String UPPER_BOUND = "upperBound";
+    }
+
+    /**
+     * Constants for the fields of the query metrics records.
+     */
+    public static final class QueryMetricsFields {
+        public static final String OPERATION = "operation";
+        public static final String SQL_QUERY = "sqlQuery";
+        public static final String COUNT = "count";
+        public static final String ERROR_COUNT = "errorCount";
+        public static final String ACQUIRE_TIME = "acquireTime";
+        public static final String PREPARE_TIME = "prepareTime";
+        public static final String EXECUTE_TIME = "executeTime";
+        public static final String CONSUME_TIME = "consumeTime";
     }
 
     /**
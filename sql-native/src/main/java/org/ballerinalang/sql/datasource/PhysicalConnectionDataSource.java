@@ -0,0 +1,193 @@
+/*
+ *  Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.ballerinalang.sql.datasource;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.util.DriverDataSource;
+import com.zaxxer.hikari.util.PropertyElf;
+import com.zaxxer.hikari.util.UtilityElf;
+
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+import javax.sql.DataSource;
+
+/**
+ * This class is the data source of the physical connections of a HikariCP pool. It opens the connections through
+ * the data source the pool would open them with, and notifies its listeners when the pool closes a physical
+ * connection, such as when the connection is retired, evicted or found broken. HikariCP has no such notification,
+ * hence the state held for a physical connection, such as its cached statements, is dropped through the listeners.
+ * <p>
+ * The listeners are given the connection handed out to the pool, which is the connection returned by unwrapping a
+ * pooled connection to {@link Connection}.
+ *
+ * @since 0.6.0
+ */
+class PhysicalConnectionDataSource implements DataSource {
+
+    private final DataSource dataSource;
+    private final List<Consumer<Connection>> closeListeners = new CopyOnWriteArrayList<>();
+
+    private PhysicalConnectionDataSource(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * Replaces the data source of the pool configuration with a data source which notifies the close of its
+     * connections. The data source is created as HikariCP creates it from the configuration.
+     *
+     * @param config configuration of the pool
+     * @return the data source of the physical connections, or null if the connections are looked up through JNDI or
+     *         the data source cannot be created
+     */
+    static PhysicalConnectionDataSource configure(HikariConfig config) {
+        DataSource dataSource = config.getDataSource();
+        if (dataSource == null && config.getDataSourceClassName() != null) {
+            try {
+                dataSource = UtilityElf.createInstance(config.getDataSourceClassName(), DataSource.class);
+            } catch (RuntimeException e) {
+                // The pool reports the data source class which cannot be used.
+                return null;
+            }
+            PropertyElf.setTargetFromProperties(dataSource, config.getDataSourceProperties());
+            // The pool uses either the data source or the data source class.
+            config.setDataSourceClassName(null);
+        } else if (dataSource == null && config.getJdbcUrl() != null) {
+            dataSource = new DriverDataSource(config.getJdbcUrl(), config.getDriverClassName(),
+                    config.getDataSourceProperties(), config.getUsername(), config.getPassword());
+        }
+        if (dataSource == null) {
+            return null;
+        }
+        PhysicalConnectionDataSource physicalConnectionDataSource = new PhysicalConnectionDataSource(dataSource);
+        config.setDataSource(physicalConnectionDataSource);
+        return physicalConnectionDataSource;
+    }
+
+    /**
+     * Adds a listener, which is called with each physical connection closed by the pool after it is closed.
+     *
+     * @param listener listener of the closed connections
+     */
+    void addCloseListener(Consumer<Connection> listener) {
+        closeListeners.add(listener);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(dataSource.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(dataSource.getConnection(username, password));
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return dataSource.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        dataSource.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+        dataSource.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return dataSource.getLoginTimeout();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return dataSource.getParentLogger();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(dataSource)) {
+            return iface.cast(dataSource);
+        }
+        return dataSource.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(dataSource) || dataSource.isWrapperFor(iface);
+    }
+
+    private Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(PhysicalConnectionDataSource.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new PhysicalConnectionHandler(connection));
+    }
+
+    private void notifyClosed(Connection connection) {
+        for (Consumer<Connection> listener : closeListeners) {
+            listener.accept(connection);
+        }
+    }
+
+    private class PhysicalConnectionHandler implements InvocationHandler {
+        private final Connection connection;
+
+        PhysicalConnectionHandler(Connection connection) {
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return connection.toString();
+                case "close":
+                    try {
+                        connection.close();
+                    } finally {
+                        notifyClosed((Connection) proxy);
+                    }
+                    return null;
+                default:
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+            }
+        }
+    }
+}
@@ -35,6 +35,8 @@ import java.util.Objects;
 public class PoolKey {
     private final String jdbcUrl;
     private final BMap<BString, ?> options;
+    // The hash code is computed once, as the key is hashed more than once to look up a pool.
+    private int hashCode;
 
     public PoolKey(String jdbcUrl, BMap<BString, ?> options) {
         this.jdbcUrl = jdbcUrl;
@@ -55,10 +57,14 @@ public class PoolKey {
 
     @Override
     public int hashCode() {
-        int hashCode = 17;
-        hashCode = hashCode * 31 + jdbcUrl.hashCode();
-        if (options != null) {
-            hashCode = 31 * hashCode + calculateDbOptionsHashCode();
+        int hashCode = this.hashCode;
+        if (hashCode == 0) {
+            hashCode = 17;
+            hashCode = hashCode * 31 + jdbcUrl.hashCode();
+            if (options != null) {
+                hashCode = 31 * hashCode + calculateDbOptionsHashCode();
+            }
+            this.hashCode = hashCode;
         }
         return hashCode;
     }
@@ -0,0 +1,105 @@
+/*
+ *  Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.ballerinalang.sql.datasource;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import org.ballerinalang.sql.Constants;
+import org.ballerinalang.sql.utils.LatencyHistogram;
+import org.ballerinalang.sql.utils.ModuleUtils;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class records the connection acquisitions, the acquire timeouts and the connection creations of a pool.
+ * The pools of HikariCP report them through the metrics tracker, and the acquisitions of the other pools are
+ * recorded by the datasource. The metrics are kept in counters which are only added to, so that recording them
+ * does not contend the pool, and reading them does not lock the pool.
+ *
+ * @since 0.6.0
+ */
+public class PoolMetrics implements IMetricsTracker {
+
+    // The upper bounds in microseconds of the buckets of the acquire time histogram.
+    static final long[] ACQUIRE_TIME_BUCKET_BOUNDS = {
+            100, 500, 1000, 5000, 10000, 50000, 100000, 500000, 1000000, 5000000};
+
+    private final LatencyHistogram acquireTime = new LatencyHistogram(ACQUIRE_TIME_BUCKET_BOUNDS);
+    private final LongAdder timeoutCount = new LongAdder();
+    private final LongAdder createdConnectionCount = new LongAdder();
+    private final LongAdder connectionCreationMillis = new LongAdder();
+
+    @Override
+    public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+        acquireTime.record(elapsedAcquiredNanos);
+    }
+
+    @Override
+    public void recordConnectionTimeout() {
+        timeoutCount.increment();
+    }
+
+    @Override
+    public void recordConnectionCreatedMillis(long connectionCreatedMillis) {
+        createdConnectionCount.increment();
+        this.connectionCreationMillis.add(connectionCreatedMillis);
+    }
+
+    /**
+     * Creates the `sql:PoolMetrics` record with the state of the pool and the recorded metrics.
+     *
+     * @param activeConnections number of connections in use
+     * @param idleConnections number of idle connections
+     * @param totalConnections number of connections in the pool
+     * @param threadsAwaitingConnection number of threads waiting for a connection
+     * @param maxConnections maximum number of connections of the pool
+     * @param statementCache statement cache of the datasource
+     * @param sessionStateTracker session state tracker of the datasource
+     * @return the pool metrics record
+     */
+    BMap<BString, Object> toRecord(int activeConnections, int idleConnections, int totalConnections,
+                                   int threadsAwaitingConnection, int maxConnections, StatementCache statementCache,
+                                   SessionStateTracker sessionStateTracker) {
+        Map<String, Object> metrics = new HashMap<>();
+        metrics.put(Constants.PoolMetricsFields.ACTIVE_CONNECTIONS, (long) activeConnections);
+        metrics.put(Constants.PoolMetricsFields.IDLE_CONNECTIONS, (long) idleConnections);
+        metrics.put(Constants.PoolMetricsFields.TOTAL_CONNECTIONS, (long) totalConnections);
+        metrics.put(Constants.PoolMetricsFields.THREADS_AWAITING_CONNECTION, (long) threadsAwaitingConnection);
+        metrics.put(Constants.PoolMetricsFields.MAX_CONNECTIONS, (long) maxConnections);
+        metrics.put(Constants.PoolMetricsFields.ACQUIRE_COUNT, acquireTime.getCount());
+        metrics.put(Constants.PoolMetricsFields.ACQUIRE_TIME,
+                LatencyHistogram.toSeconds(acquireTime.getSumNanos(), TimeUnit.NANOSECONDS));
+        metrics.put(Constants.PoolMetricsFields.TIMEOUT_COUNT, timeoutCount.sum());
+        metrics.put(Constants.PoolMetricsFields.CREATED_CONNECTION_COUNT, createdConnectionCount.sum());
+        metrics.put(Constants.PoolMetricsFields.CONNECTION_CREATION_TIME,
+                LatencyHistogram.toSeconds(connectionCreationMillis.sum(), TimeUnit.MILLISECONDS));
+        metrics.put(Constants.PoolMetricsFields.STATEMENT_CACHE_HIT_COUNT, statementCache.getHitCount());
+        metrics.put(Constants.PoolMetricsFields.STATEMENT_CACHE_MISS_COUNT, statementCache.getMissCount());
+        metrics.put(Constants.PoolMetricsFields.SESSION_STATE_CHANGE_COUNT, sessionStateTracker.getChangeCount());
+        metrics.put(Constants.PoolMetricsFields.AVOIDED_SESSION_STATE_CHANGE_COUNT,
+                sessionStateTracker.getAvoidedChangeCount());
+        metrics.put(Constants.PoolMetricsFields.ACQUIRE_TIME_BUCKETS, acquireTime.createBuckets());
+        return ValueCreator.createRecordValue(ModuleUtils.getModule(), Constants.POOL_METRICS_RECORD, metrics);
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ *  Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.ballerinalang.sql.datasource;
+
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import org.ballerinalang.sql.Constants;
+import org.ballerinalang.sql.utils.ModuleUtils;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class records the creations, the reuses and the evictions of the connection pools of all the clients, so that
+ * the effect of the linger time of the pools can be observed.
+ *
+ * @since 0.6.0
+ */
+public class PoolRegistryMetrics {
+
+    private static final LongAdder CREATED_POOL_COUNT = new LongAdder();
+    private static final LongAdder REUSED_POOL_COUNT = new LongAdder();
+    private static final LongAdder EVICTED_POOL_COUNT = new LongAdder();
+    private static final LongAdder LINGERING_POOL_COUNT = new LongAdder();
+
+    private PoolRegistryMetrics() {
+    }
+
+    static void recordPoolCreated() {
+        CREATED_POOL_COUNT.increment();
+    }
+
+    static void recordPoolLingering() {
+        LINGERING_POOL_COUNT.increment();
+    }
+
+    static void recordPoolReused() {
+        LINGERING_POOL_COUNT.decrement();
+        REUSED_POOL_COUNT.increment();
+    }
+
+    static void recordPoolEvicted() {
+        LINGERING_POOL_COUNT.decrement();
+        EVICTED_POOL_COUNT.increment();
+    }
+
+    /**
+     * Creates the `sql:PoolRegistryMetrics` record with the recorded metrics.
+     *
+     * @return the pool registry metrics record
+     */
+    public static BMap<BString, Object> getPoolRegistryMetrics() {
+        Map<String, Object> metrics = new HashMap<>();
+        metrics.put(Constants.PoolRegistryMetricsFields.CREATED_POOL_COUNT, CREATED_POOL_COUNT.sum());
+        metrics.put(Constants.PoolRegistryMetricsFields.REUSED_POOL_COUNT, REUSED_POOL_COUNT.sum());
+        metrics.put(Constants.PoolRegistryMetricsFields.EVICTED_POOL_COUNT, EVICTED_POOL_COUNT.sum());
+        metrics.put(Constants.PoolRegistryMetricsFields.LINGERING_POOL_COUNT,
+                Math.max(LINGERING_POOL_COUNT.sum(), 0));
+        return ValueCreator.createRecordValue(ModuleUtils.getModule(), Constants.POOL_REGISTRY_METRICS_RECORD,
+                metrics);
+    }
+}
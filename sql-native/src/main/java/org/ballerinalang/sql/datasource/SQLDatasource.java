@@ -20,6 +20,7 @@ package org.ballerinalang.sql.datasource;
 import com.atomikos.jdbc.AtomikosDataSourceBean;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
 import io.ballerina.runtime.api.values.BDecimal;
 import io.ballerina.runtime.api.values.BMap;
 import io.ballerina.runtime.api.values.BObject;
@@ -30,6 +31,7 @@ import io.ballerina.runtime.transactions.TransactionResourceManager;
 import org.ballerinalang.sql.Constants;
 import org.ballerinalang.sql.transaction.SQLTransactionContext;
 import org.ballerinalang.sql.utils.ErrorGenerator;
+import org.ballerinalang.sql.utils.SQLWorkerThreadPool;
 
 import java.sql.Connection;
 import java.sql.SQLException;
@@ -37,9 +39,9 @@ import java.util.Map;
 import java.util.Properties;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
 
 import javax.sql.XAConnection;
 import javax.sql.XADataSource;
@@ -52,17 +54,27 @@ import javax.transaction.xa.XAResource;
  */
 public class SQLDatasource {
 
-    private AtomicInteger clientCounter = new AtomicInteger(0);
-    private Lock mutex = new ReentrantLock();
-    private boolean poolShutdown = false;
+    // The number of clients using the pool, which is set to POOL_SHUTDOWN once the pool is shut down. A new pool is
+    // created with the client which creates it, hence a pool without clients is a lingering pool.
+    private final AtomicInteger clientCounter = new AtomicInteger(1);
+    private static final int POOL_SHUTDOWN = -1;
+    private final long lingerNanos;
+    private volatile long lastReleaseTime;
+    private final AtomicBoolean evictionScheduled = new AtomicBoolean(false);
     private boolean xaConn;
     private AtomikosDataSourceBean atomikosDataSourceBean;
     private HikariDataSource hikariDataSource;
+    private PhysicalConnectionDataSource physicalConnectionDataSource;
     private XADataSource xaDataSource;
+    private XAConnectionPool xaConnectionPool;
+    private StatementCache statementCache = new StatementCache(0, null, null);
+    private SessionStateTracker sessionStateTracker = new SessionStateTracker();
+    private final PoolMetrics poolMetrics = new PoolMetrics();
     private static final String POOL_MAP_KEY = UUID.randomUUID().toString();
 
     private SQLDatasource(SQLDatasourceParams sqlDatasourceParams) {
-
+        lingerNanos = getLingerNanos(sqlDatasourceParams);
+        boolean lazyInitialization = isLazyInitialization(sqlDatasourceParams);
         Connection connection = null;
         try {
             if (sqlDatasourceParams.datasourceName != null  && !sqlDatasourceParams.datasourceName.isEmpty() &&
@@ -72,18 +84,35 @@ public class SQLDatasource {
                 if (XADataSource.class.isAssignableFrom(dataSourceClass)) {
                     xaConn = true;
                     atomikosDataSourceBean = buildXAAwareDataSource(sqlDatasourceParams);
+                    if (lazyInitialization) {
+                        // The transaction manager opens the pool with the first connection, hence it is
+                        // opened in the background.
+                        SQLWorkerThreadPool.executeInBackground(this::initializeInBackground);
+                        return;
+                    }
                     connection = getConnection();
                     return;
                 }
             }
-            hikariDataSource = buildNonXADataSource(sqlDatasourceParams);
+            hikariDataSource = buildNonXADataSource(sqlDatasourceParams, lazyInitialization);
+            sessionStateTracker = new SessionStateTracker(hikariDataSource, physicalConnectionDataSource);
             if (hikariDataSource.isWrapperFor(XADataSource.class)) {
                 xaConn = true;
                 xaDataSource = hikariDataSource.unwrap(XADataSource.class);
-                connection = xaDataSource.getXAConnection().getConnection();
+                xaConnectionPool = new XAConnectionPool(xaDataSource, hikariDataSource.getMaximumPoolSize(),
+                        hikariDataSource.getConnectionTimeout(), hikariDataSource.getMaxLifetime(),
+                        hikariDataSource.getValidationTimeout());
+                if (!lazyInitialization) {
+                    // The verified connection is kept in the pool for the first transaction.
+                    xaConnectionPool.acquire().release();
+                }
                 return;
             }
-            connection = getConnection();
+            statementCache = new StatementCache(getStatementCacheSize(sqlDatasourceParams), hikariDataSource,
+                    physicalConnectionDataSource);
+            if (!lazyInitialization) {
+                connection = getConnection();
+            }
 
         } catch (SQLException e) {
             throw ErrorGenerator.getSQLDatabaseError(e,
@@ -101,22 +130,28 @@ public class SQLDatasource {
         }
     }
 
-    public static synchronized Map<PoolKey, SQLDatasource> putDatasourceContainer(
+    public static Map<PoolKey, SQLDatasource> putDatasourceContainer(
             BMap<BString, Object> poolOptions,
             ConcurrentHashMap<PoolKey, SQLDatasource> datasourceMap) {
-        Map<PoolKey, SQLDatasource> existingDataSourceMap =
-                (Map<PoolKey, SQLDatasource>) poolOptions.getNativeData(POOL_MAP_KEY);
-        if (existingDataSourceMap != null) {
-            return existingDataSourceMap;
+        // Only the clients of the same pool options contend for its monitor.
+        synchronized (poolOptions) {
+            Map<PoolKey, SQLDatasource> existingDataSourceMap =
+                    (Map<PoolKey, SQLDatasource>) poolOptions.getNativeData(POOL_MAP_KEY);
+            if (existingDataSourceMap != null) {
+                return existingDataSourceMap;
+            }
+            poolOptions.addNativeData(POOL_MAP_KEY, datasourceMap);
+            return datasourceMap;
         }
-        poolOptions.addNativeData(POOL_MAP_KEY, datasourceMap);
-        return datasourceMap;
     }
 
     /**
      * Retrieve the {@link SQLDatasource}} object corresponding to the provided  URL in
      * {@link SQLDatasource.SQLDatasourceParams}.
-     * Creates a datasource if it doesn't exist.
+     * Creates a datasource if it doesn't exist. A live datasource is looked up and referenced without locking,
+     * and a datasource is created while holding the lock of its entry in the map, so that the concurrent clients of
+     * the same pool do not create duplicate pools. A pool which is lingering after its last client is closed is
+     * reused by the next client.
      *
      * @param sqlDatasourceParams datasource parameters required to retrieve the JDBC URL for datasource lookup and
      *                            initialization of the newly created datasource if it doesn't exists
@@ -130,26 +165,23 @@ public class SQLDatasource {
         if (hikariDatasourceMap == null) {
             hikariDatasourceMap = putDatasourceContainer(sqlDatasourceParams.connectionPool, new ConcurrentHashMap<>());
         }
-        SQLDatasource existingSqlDatasource = hikariDatasourceMap.get(poolKey);
-        SQLDatasource sqlDatasourceToBeReturned = existingSqlDatasource;
-        if (existingSqlDatasource != null) {
-            existingSqlDatasource.acquireMutex();
-            try {
-                if (!existingSqlDatasource.isPoolShutdown()) {
-                    existingSqlDatasource.incrementClientCounter();
-                } else {
-                    sqlDatasourceToBeReturned = hikariDatasourceMap.compute(poolKey,
-                            (key, value) -> createAndInitDatasource(sqlDatasourceParams));
+        while (true) {
+            SQLDatasource sqlDatasource = hikariDatasourceMap.get(poolKey);
+            if (sqlDatasource == null) {
+                SQLDatasource[] createdSqlDatasource = new SQLDatasource[1];
+                sqlDatasource = hikariDatasourceMap.computeIfAbsent(poolKey,
+                        key -> createdSqlDatasource[0] = new SQLDatasource(sqlDatasourceParams));
+                if (sqlDatasource == createdSqlDatasource[0]) {
+                    PoolRegistryMetrics.recordPoolCreated();
+                    return sqlDatasource;
                 }
-            } finally {
-                existingSqlDatasource.releaseMutex();
             }
-        } else {
-            sqlDatasourceToBeReturned = hikariDatasourceMap.computeIfAbsent(poolKey,
-                    key -> createAndInitDatasource(sqlDatasourceParams));
-
+            if (sqlDatasource.tryIncrementClientCounter()) {
+                return sqlDatasource;
+            }
+            // The pool is shut down by its last client, hence it is replaced with a new pool.
+            hikariDatasourceMap.remove(poolKey, sqlDatasource);
         }
-        return sqlDatasourceToBeReturned;
     }
 
     public static Connection getConnection(TransactionResourceManager trxResourceManager, BObject client,
@@ -157,13 +189,13 @@ public class SQLDatasource {
             throws SQLException {
         Connection conn;
         try {
-            if (!trxResourceManager.isInTransaction()) {
-                return datasource.getConnection();
+            if (trxResourceManager == null || !trxResourceManager.isInTransaction()) {
+                return datasource.getNonTransactionalConnection();
             } else {
                 //This is when there is an infected transaction block. But this is not participated to the transaction
                 //since the action call is outside of the transaction block.
                 if (!trxResourceManager.getCurrentTransactionContext().hasTransactionBlock()) {
-                    return datasource.getConnection();
+                    return datasource.getNonTransactionalConnection();
                 }
             }
             String connectorId = (String) client.getNativeData(Constants.SQL_CONNECTOR_TRANSACTION_ID);
@@ -174,22 +206,30 @@ public class SQLDatasource {
             BallerinaTransactionContext txContext = transactionLocalContext.getTransactionContext(connectorId);
             if (txContext == null) {
                 if (isXAConnection && !trxResourceManager.getTransactionManagerEnabled()) {
-                    XAConnection xaConn = datasource.getXAConnection();
-                    XAResource xaResource = xaConn.getXAResource();
-                    TransactionResourceManager.getInstance()
-                            .beginXATransaction(globalTxId, currentTxBlockId, xaResource);
-                    conn = xaConn.getConnection();
-                    txContext = new SQLTransactionContext(conn, xaResource);
+                    XAConnectionPool.PooledXAConnection pooledXAConnection = datasource.getXAConnection();
+                    XAConnection xaConn = pooledXAConnection.getXAConnection();
+                    XAResource xaResource;
+                    try {
+                        xaResource = pooledXAConnection.getXAResource();
+                        TransactionResourceManager.getInstance()
+                                .beginXATransaction(globalTxId, currentTxBlockId, xaResource);
+                        conn = xaConn.getConnection();
+                    } catch (SQLException | RuntimeException e) {
+                        pooledXAConnection.release();
+                        throw e;
+                    }
+                    txContext = new SQLTransactionContext(conn, xaResource, pooledXAConnection);
                 } else if (isXAConnection) {
                     TransactionResourceManager.getInstance()
                             .beginXATransaction(globalTxId, currentTxBlockId, null);
                     conn = datasource.getConnection();
-                    conn.setAutoCommit(false);
+                    datasource.sessionStateTracker.track(conn).setAutoCommit(false);
                     txContext = new SQLTransactionContext(conn);
                 } else {
                     conn = datasource.getConnection();
-                    conn.setAutoCommit(false);
-                    txContext = new SQLTransactionContext(conn);
+                    datasource.sessionStateTracker.track(conn).setAutoCommit(false);
+                    // The connection is left in the manual commit mode, hence the pool does not roll it back.
+                    txContext = new SQLTransactionContext(conn, true);
                 }
                 transactionLocalContext.registerTransactionContext(connectorId, txContext);
                 TransactionResourceManager.getInstance().register(globalTxId, currentTxBlockId, txContext);
@@ -203,6 +243,26 @@ public class SQLDatasource {
         return conn;
     }
 
+    /**
+     * Returns the transaction context of the client in the current transaction block.
+     *
+     * @param trxResourceManager transaction resource manager, or null if the call is not part of a transaction
+     * @param client client object
+     * @return the transaction context, or null if the call is not within a transaction block or the client has not
+     *         joined the transaction
+     */
+    public static SQLTransactionContext getTransactionContext(TransactionResourceManager trxResourceManager,
+                                                              BObject client) {
+        if (trxResourceManager == null || !trxResourceManager.isInTransaction() ||
+                !trxResourceManager.getCurrentTransactionContext().hasTransactionBlock()) {
+            return null;
+        }
+        String connectorId = (String) client.getNativeData(Constants.SQL_CONNECTOR_TRANSACTION_ID);
+        BallerinaTransactionContext txContext = trxResourceManager.getCurrentTransactionContext()
+                .getTransactionContext(connectorId);
+        return txContext instanceof SQLTransactionContext ? (SQLTransactionContext) txContext : null;
+    }
+
     public static SQLDatasourceParams createSQLDatasourceParams(BMap<BString, Object> sqlDatasourceParams,
             BMap<BString, Object> globalConnectionPool) {
         BMap<BString, Object> connPoolProps = (BMap<BString, Object>) sqlDatasourceParams
@@ -228,25 +288,67 @@ public class SQLDatasource {
                 .setOptions(sqlDatasourceParams.getMapValue(Constants.SQLParamsFields.OPTIONS))
                 .setConnectionPool(sqlDatasourceParams.getMapValue(Constants.SQLParamsFields.CONNECTION_POOL),
                         globalConnectionPool)
-                .setPoolProperties(poolProperties);
+                .setPoolProperties(poolProperties)
+                .setBatchInsertRowCount(getIntParam(sqlDatasourceParams,
+                        Constants.SQLParamsFields.BATCH_INSERT_ROW_COUNT))
+                .setBatchExecuteParallelism(getIntParam(sqlDatasourceParams,
+                        Constants.SQLParamsFields.BATCH_EXECUTE_PARALLELISM))
+                .setGroupBatchCommands(Boolean.TRUE.equals(sqlDatasourceParams.get(
+                        Constants.SQLParamsFields.GROUP_BATCH_COMMANDS)))
+                .setQueryResultCacheOptions(getMapParam(sqlDatasourceParams,
+                        Constants.SQLParamsFields.QUERY_RESULT_CACHE));
     }
 
-    private static SQLDatasource createAndInitDatasource(SQLDatasource.SQLDatasourceParams sqlDatasourceParams) {
-        SQLDatasource newSqlDatasource = new SQLDatasource(sqlDatasourceParams);
-        newSqlDatasource.incrementClientCounter();
-        return newSqlDatasource;
+    private static int getIntParam(BMap<BString, Object> sqlDatasourceParams, BString field) {
+        Object value = sqlDatasourceParams.get(field);
+        if (value instanceof Long) {
+            return Math.max(Math.toIntExact((Long) value), 0);
+        }
+        return 0;
+    }
+
+    private static BMap<BString, Object> getMapParam(BMap<BString, Object> sqlDatasourceParams, BString field) {
+        Object value = sqlDatasourceParams.get(field);
+        if (value instanceof BMap) {
+            return (BMap<BString, Object>) value;
+        }
+        return null;
     }
 
     private Connection getConnection() throws SQLException {
       if (atomikosDataSourceBean != null) {
-          return atomikosDataSourceBean.getConnection();
+          // The acquisitions of the HikariCP pools are recorded by the pool itself.
+          long startTime = System.nanoTime();
+          try {
+              Connection connection = atomikosDataSourceBean.getConnection();
+              poolMetrics.recordConnectionAcquiredNanos(System.nanoTime() - startTime);
+              return connection;
+          } catch (SQLException e) {
+              poolMetrics.recordConnectionTimeout();
+              throw e;
+          }
       }
       return hikariDataSource.getConnection();
     }
 
-    private XAConnection getXAConnection() throws SQLException {
+    /**
+     * Returns a connection in the session state configured for the pool, since the connections are left in the
+     * session state of their last transaction.
+     */
+    private Connection getNonTransactionalConnection() throws SQLException {
+        Connection connection = getConnection();
+        try {
+            sessionStateTracker.restoreDefaults(connection);
+        } catch (SQLException e) {
+            connection.close();
+            throw e;
+        }
+        return connection;
+    }
+
+    private XAConnectionPool.PooledXAConnection getXAConnection() throws SQLException {
         if (isXADataSource()) {
-            return xaDataSource.getXAConnection();
+            return xaConnectionPool.acquire();
         }
         return null;
     }
@@ -255,7 +357,92 @@ public class SQLDatasource {
         return xaConn;
     }
 
+    /**
+     * Returns the maximum number of connections which can be acquired from the datasource at once. The connections
+     * of the datasources pooled by the transaction manager are considered unavailable for concurrent use.
+     *
+     * @return maximum number of pooled connections
+     */
+    public int getMaximumPoolSize() {
+        if (hikariDataSource != null) {
+            return hikariDataSource.getMaximumPoolSize();
+        }
+        return 1;
+    }
+
+    /**
+     * Returns the state of the connection pool and the metrics of the connection acquisitions. The number of
+     * threads waiting for a connection is not available for the pools of the transaction manager.
+     *
+     * @return `sql:PoolMetrics` record
+     */
+    public BMap<BString, Object> getPoolMetrics() {
+        if (isPoolShutdown()) {
+            return poolMetrics.toRecord(0, 0, 0, 0, 0, statementCache, sessionStateTracker);
+        }
+        if (atomikosDataSourceBean != null) {
+            int totalConnections = atomikosDataSourceBean.poolTotalSize();
+            int idleConnections = atomikosDataSourceBean.poolAvailableSize();
+            return poolMetrics.toRecord(totalConnections - idleConnections, idleConnections, totalConnections, 0,
+                    atomikosDataSourceBean.getMaxPoolSize(), statementCache, sessionStateTracker);
+        }
+        HikariPoolMXBean poolMXBean = hikariDataSource.getHikariPoolMXBean();
+        if (poolMXBean == null) {
+            return poolMetrics.toRecord(0, 0, 0, 0, hikariDataSource.getMaximumPoolSize(), statementCache,
+                    sessionStateTracker);
+        }
+        return poolMetrics.toRecord(poolMXBean.getActiveConnections(), poolMXBean.getIdleConnections(),
+                poolMXBean.getTotalConnections(), poolMXBean.getThreadsAwaitingConnection(),
+                hikariDataSource.getMaximumPoolSize(), statementCache, sessionStateTracker);
+    }
+
+    public StatementCache getStatementCache() {
+        return statementCache;
+    }
+
+    public SessionStateTracker getSessionStateTracker() {
+        return sessionStateTracker;
+    }
+
+    private static boolean isLazyInitialization(SQLDatasourceParams sqlDatasourceParams) {
+        return sqlDatasourceParams.connectionPool != null && Boolean.TRUE.equals(
+                sqlDatasourceParams.connectionPool.get(Constants.ConnectionPool.LAZY_INITIALIZATION));
+    }
+
+    private void initializeInBackground() {
+        try (Connection ignored = getConnection()) {
+            // The connection is only opened to initialize the pool.
+        } catch (SQLException | RuntimeException ignored) {
+            // The failure is returned to the first operation which gets a connection.
+        }
+    }
+
+    private static long getLingerNanos(SQLDatasourceParams sqlDatasourceParams) {
+        if (sqlDatasourceParams.connectionPool != null) {
+            Object lingerTime = sqlDatasourceParams.connectionPool.get(Constants.ConnectionPool.LINGER_TIME);
+            if (lingerTime instanceof BDecimal && ((BDecimal) lingerTime).floatValue() > 0) {
+                return (long) (((BDecimal) lingerTime).floatValue() * TimeUnit.SECONDS.toNanos(1));
+            }
+        }
+        return 0;
+    }
+
+    private static int getStatementCacheSize(SQLDatasourceParams sqlDatasourceParams) {
+        if (sqlDatasourceParams.connectionPool != null) {
+            Object statementCacheSize = sqlDatasourceParams.connectionPool
+                    .get(Constants.ConnectionPool.STATEMENT_CACHE_SIZE);
+            if (statementCacheSize instanceof Long) {
+                return Math.max(Math.toIntExact((Long) statementCacheSize), 0);
+            }
+        }
+        return 0;
+    }
+
     private void closeConnectionPool() {
+        statementCache.clear();
+        if (xaConnectionPool != null) {
+            xaConnectionPool.close();
+        }
         if (hikariDataSource != null) {
             hikariDataSource.close();
         }
@@ -263,36 +450,86 @@ public class SQLDatasource {
         if (atomikosDataSourceBean != null) {
             atomikosDataSourceBean.close();
         }
-        poolShutdown = true;
     }
 
     private boolean isPoolShutdown() {
-        return poolShutdown;
+        return clientCounter.get() == POOL_SHUTDOWN;
     }
 
-    private void incrementClientCounter() {
-        clientCounter.incrementAndGet();
+    /**
+     * Adds a client to the pool, unless the pool is already shut down.
+     *
+     * @return true if the client is added to the pool
+     */
+    private boolean tryIncrementClientCounter() {
+        while (true) {
+            int count = clientCounter.get();
+            if (count == POOL_SHUTDOWN) {
+                return false;
+            }
+            if (clientCounter.compareAndSet(count, count + 1)) {
+                if (count == 0) {
+                    PoolRegistryMetrics.recordPoolReused();
+                }
+                return true;
+            }
+        }
     }
 
     public void decrementClientCounterAndAttemptPoolShutdown() {
-        acquireMutex();
-        if (!poolShutdown) {
-            if (clientCounter.decrementAndGet() == 0) {
-                closeConnectionPool();
+        while (true) {
+            int count = clientCounter.get();
+            if (count <= 0) {
+                return;
+            }
+            if (count == 1 && lingerNanos > 0) {
+                lastReleaseTime = System.nanoTime();
+            }
+            if (clientCounter.compareAndSet(count, count - 1)) {
+                if (count > 1) {
+                    return;
+                }
+                if (lingerNanos > 0) {
+                    PoolRegistryMetrics.recordPoolLingering();
+                    scheduleEviction(lingerNanos);
+                } else if (clientCounter.compareAndSet(0, POOL_SHUTDOWN)) {
+                    // A client which is added after the count reaches zero keeps the pool open, as the pool is
+                    // shut down only if the count is still zero.
+                    closeConnectionPool();
+                }
+                return;
             }
         }
-        releaseMutex();
     }
 
-    private void releaseMutex() {
-        mutex.unlock();
+    private void scheduleEviction(long delayNanos) {
+        if (evictionScheduled.compareAndSet(false, true)) {
+            SQLWorkerThreadPool.schedule(this::evictIfIdle, delayNanos);
+        }
     }
 
-    private void acquireMutex() {
-        mutex.lock();
+    /**
+     * Shuts down the pool if it has no clients since the linger time, or schedules the next check if it has no
+     * clients for a shorter time. The pool is checked again when its last client is closed, if it has clients.
+     */
+    private void evictIfIdle() {
+        // The flag is cleared before the count is read, so that a client closed after the count is read schedules
+        // the next check.
+        evictionScheduled.set(false);
+        if (clientCounter.get() != 0) {
+            return;
+        }
+        long idleNanos = System.nanoTime() - lastReleaseTime;
+        if (idleNanos < lingerNanos) {
+            scheduleEviction(lingerNanos - idleNanos);
+        } else if (clientCounter.compareAndSet(0, POOL_SHUTDOWN)) {
+            PoolRegistryMetrics.recordPoolEvicted();
+            closeConnectionPool();
+        }
     }
 
-    private HikariDataSource buildNonXADataSource(SQLDatasourceParams sqlDatasourceParams) {
+    private HikariDataSource buildNonXADataSource(SQLDatasourceParams sqlDatasourceParams,
+                                                  boolean lazyInitialization) {
         try {
             HikariDataSource hikariDataSource;
             HikariConfig config;
@@ -348,6 +585,16 @@ public class SQLDatasource {
                     config.addDataSourceProperty(entry.getKey().getValue(), entry.getValue());
                 });
             }
+            // HikariCP does not allow a metrics tracker together with a metric registry set in the pool options.
+            if (config.getMetricRegistry() == null) {
+                config.setMetricsTrackerFactory((poolName, poolStats) -> poolMetrics);
+            }
+            if (lazyInitialization) {
+                // The pool is created without opening a connection, and its connections are opened by the pool in
+                // the background.
+                config.setInitializationFailTimeout(-1);
+            }
+            physicalConnectionDataSource = PhysicalConnectionDataSource.configure(config);
             hikariDataSource = new HikariDataSource(config);
             Runtime.getRuntime().addShutdownHook(new Thread(this::closeConnectionPool));
             return hikariDataSource;
@@ -434,6 +681,10 @@ public class SQLDatasource {
         private BMap connectionPool = null;
         private BMap options;
         private Properties poolProperties;
+        private int batchInsertRowCount = 0;
+        private int batchExecuteParallelism = 0;
+        private boolean groupBatchCommands = false;
+        private BMap<BString, Object> queryResultCacheOptions = null;
 
         public SQLDatasourceParams() {
         }
@@ -476,5 +727,72 @@ public class SQLDatasource {
             this.poolProperties = properties;
             return this;
         }
+
+        /**
+         * Sets the maximum number of rows inserted by a single statement when a batch of single row inserts is
+         * rewritten into multi row inserts. The batches are not rewritten when the row count is less than 2.
+         *
+         * @param batchInsertRowCount maximum number of rows of a rewritten insert
+         * @return the datasource parameters
+         */
+        public SQLDatasourceParams setBatchInsertRowCount(int batchInsertRowCount) {
+            this.batchInsertRowCount = batchInsertRowCount;
+            return this;
+        }
+
+        public int getBatchInsertRowCount() {
+            return batchInsertRowCount;
+        }
+
+        /**
+         * Sets the maximum number of connections used to execute the slices of a non transactional batch in
+         * parallel. The batches are executed on a single connection when the parallelism is less than 2, and the
+         * batches of more than one SQL command are always executed on a single connection.
+         *
+         * @param batchExecuteParallelism maximum number of slices of a batch
+         * @return the datasource parameters
+         */
+        public SQLDatasourceParams setBatchExecuteParallelism(int batchExecuteParallelism) {
+            this.batchExecuteParallelism = batchExecuteParallelism;
+            return this;
+        }
+
+        public int getBatchExecuteParallelism() {
+            return batchExecuteParallelism;
+        }
+
+        /**
+         * Sets whether the statements of a batch are grouped by their SQL command, so that each command is executed
+         * once as a JDBC batch in the order in which the commands first appear in the batch. Otherwise each run of
+         * consecutive statements of the same command is executed as a JDBC batch, which keeps the statements in the
+         * order of the batch.
+         *
+         * @param groupBatchCommands whether the statements of a batch are grouped by their SQL command
+         * @return the datasource parameters
+         */
+        public SQLDatasourceParams setGroupBatchCommands(boolean groupBatchCommands) {
+            this.groupBatchCommands = groupBatchCommands;
+            return this;
+        }
+
+        public boolean isGroupBatchCommands() {
+            return groupBatchCommands;
+        }
+
+        /**
+         * Sets the options of the query result cache of the client. The query results are not cached when the
+         * options are not provided.
+         *
+         * @param queryResultCacheOptions `sql:QueryResultCacheOptions` record, or null
+         * @return the datasource parameters
+         */
+        public SQLDatasourceParams setQueryResultCacheOptions(BMap<BString, Object> queryResultCacheOptions) {
+            this.queryResultCacheOptions = queryResultCacheOptions;
+            return this;
+        }
+
+        public BMap<BString, Object> getQueryResultCacheOptions() {
+            return queryResultCacheOptions;
+        }
     }
 }
@@ -0,0 +1,137 @@
+/*
+ *  Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.ballerinalang.sql.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class tracks the auto commit mode of the connections of a datasource. The mode is changed on the physical
+ * connection instead of the pooled connection, so that a HikariCP pool does not restore it when the connection is
+ * returned. Hence the mode is kept across the borrows of a physical connection, and a transaction started on a
+ * connection left in the manual commit mode by the previous transaction neither changes the mode nor restores it.
+ * The mode configured for the pool is restored through {@link #restoreDefaults(Connection)}, before a connection is
+ * used outside of a transaction.
+ * <p>
+ * The state of a physical connection is dropped when the pool closes the connection. The connections pooled by the
+ * transaction manager are not tracked across their borrows, since their mode is not known.
+ *
+ * @since 0.6.0
+ */
+public class SessionStateTracker {
+
+    private final Boolean defaultAutoCommit;
+    private final Map<Connection, SessionState> sessionStates = new ConcurrentHashMap<>();
+    private final LongAdder changeCount = new LongAdder();
+    private final LongAdder avoidedChangeCount = new LongAdder();
+
+    /**
+     * Creates a tracker of the connections of which the session state is not known, such as the connections pooled
+     * by the transaction manager.
+     */
+    SessionStateTracker() {
+        this.defaultAutoCommit = null;
+    }
+
+    /**
+     * Creates a tracker of the physical connections of a HikariCP pool, of which the initial auto commit mode is the
+     * mode configured for the pool.
+     *
+     * @param hikariDataSource HikariCP pool of the connections
+     * @param physicalConnectionDataSource data source of the physical connections of the pool
+     */
+    SessionStateTracker(HikariDataSource hikariDataSource, PhysicalConnectionDataSource physicalConnectionDataSource) {
+        this.defaultAutoCommit = physicalConnectionDataSource != null ? hikariDataSource.isAutoCommit() : null;
+        if (physicalConnectionDataSource != null) {
+            physicalConnectionDataSource.addCloseListener(sessionStates::remove);
+        }
+    }
+
+    /**
+     * Returns the session state of a connection borrowed from the datasource. The returned state should only be used
+     * by the holder of the connection, until the connection is closed.
+     *
+     * @param connection borrowed connection
+     * @return the session state of the connection
+     */
+    public SessionState track(Connection connection) throws SQLException {
+        if (defaultAutoCommit == null) {
+            return new SessionState(connection, null);
+        }
+        Connection physicalConnection = connection.unwrap(Connection.class);
+        return sessionStates.computeIfAbsent(physicalConnection,
+                key -> new SessionState(physicalConnection, defaultAutoCommit));
+    }
+
+    /**
+     * Restores the auto commit mode configured for the pool on a borrowed connection, if the connection was left in
+     * another mode by a transaction.
+     *
+     * @param connection borrowed connection
+     * @throws SQLException if the auto commit mode cannot be set
+     */
+    void restoreDefaults(Connection connection) throws SQLException {
+        if (defaultAutoCommit == null) {
+            return;
+        }
+        SessionState sessionState = sessionStates.get(connection.unwrap(Connection.class));
+        if (sessionState != null && !defaultAutoCommit.equals(sessionState.autoCommit)) {
+            sessionState.setAutoCommit(defaultAutoCommit);
+        }
+    }
+
+    long getChangeCount() {
+        return changeCount.sum();
+    }
+
+    long getAvoidedChangeCount() {
+        return avoidedChangeCount.sum();
+    }
+
+    /**
+     * The session state of a physical connection. A state which is not known is set on the connection on its first
+     * change and tracked afterwards. The state is handed over with the connection by the pool.
+     */
+    public class SessionState {
+        private final Connection connection;
+        private Boolean autoCommit;
+
+        private SessionState(Connection connection, Boolean autoCommit) {
+            this.connection = connection;
+            this.autoCommit = autoCommit;
+        }
+
+        public void setAutoCommit(boolean autoCommit) throws SQLException {
+            if (this.autoCommit != null && this.autoCommit == autoCommit) {
+                avoidedChangeCount.increment();
+                return;
+            }
+            changeCount.increment();
+            // The mode is not known if it cannot be changed.
+            this.autoCommit = null;
+            connection.setAutoCommit(autoCommit);
+            this.autoCommit = autoCommit;
+        }
+    }
+}
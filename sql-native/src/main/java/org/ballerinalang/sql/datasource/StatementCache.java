@@ -0,0 +1,415 @@
+/*
+ *  Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.ballerinalang.sql.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class caches the prepared statements of the pooled connections of a datasource. Each physical connection
+ * has its own LRU cache of the statements, keyed by the SQL query and the statement type. A statement is removed
+ * from the cache while it is in use and returned to the cache with its parameters cleared when it is closed
+ * through {@link #closeStatement(Statement)}, so that a statement is never shared by two concurrent executions.
+ * The cached statements are closed when they are evicted, when the pool closes their connection or when the
+ * datasource is closed. The statements are only cached when the pool notifies the close of its connections.
+ * <p>
+ * The statements are prepared on the physical connection, as the pool closes the statements prepared through its
+ * proxy once the connection is returned. Hence the pool does not see the failures of the statements. A statement
+ * which fails with an error the pool considers fatal for the connection, as passed to
+ * {@link #checkException(Statement, SQLException)}, or of which the connection is found closed, evicts the pooled
+ * connection from the pool when it is released. The statements checked out on a connection which is closed are
+ * discarded, so that they are not held by the cache.
+ *
+ * @since 0.6.0
+ */
+public class StatementCache {
+
+    private static final int PLAIN_STATEMENT = 0;
+    private static final int GENERATED_KEYS_STATEMENT = 1;
+    private static final int READ_ONLY_CURSOR_STATEMENT = 2;
+    private static final int CALLABLE_STATEMENT = 3;
+
+    // The SQL states and the error codes which HikariCP evicts a connection for, apart from the connection
+    // exceptions of which the SQL state starts with 08 and the timeouts.
+    private static final Set<String> FATAL_SQL_STATES = Set.of("0A000", "57P01", "57P02", "57P03", "01002",
+            "JZ0C0", "JZ0C1");
+    private static final Set<Integer> FATAL_ERROR_CODES = Set.of(500150, 2399);
+    private static final int MAX_CHAINED_EXCEPTIONS = 10;
+
+    private static final Map<Statement, CachedStatement> checkedOutStatements = new ConcurrentHashMap<>();
+
+    private final int cacheSize;
+    private final HikariDataSource hikariDataSource;
+    private final Map<Connection, ConnectionStatements> connectionStatements = new ConcurrentHashMap<>();
+    private final AtomicLong hitCount = new AtomicLong(0);
+    private final AtomicLong missCount = new AtomicLong(0);
+
+    StatementCache(int cacheSize, HikariDataSource hikariDataSource,
+                   PhysicalConnectionDataSource physicalConnectionDataSource) {
+        // The caches of the connections which are closed by the pool would not be discarded otherwise.
+        this.cacheSize = physicalConnectionDataSource != null ? cacheSize : 0;
+        this.hikariDataSource = hikariDataSource;
+        if (physicalConnectionDataSource != null) {
+            physicalConnectionDataSource.addCloseListener(this::discardConnectionStatements);
+        }
+    }
+
+    public boolean isEnabled() {
+        return cacheSize > 0;
+    }
+
+    public PreparedStatement prepareStatement(Connection connection, String sqlQuery) throws SQLException {
+        if (!isEnabled()) {
+            return connection.prepareStatement(sqlQuery);
+        }
+        return (PreparedStatement) getStatement(connection, sqlQuery, PLAIN_STATEMENT);
+    }
+
+    public PreparedStatement prepareStatement(Connection connection, String sqlQuery, int autoGeneratedKeys)
+            throws SQLException {
+        if (!isEnabled()) {
+            return connection.prepareStatement(sqlQuery, autoGeneratedKeys);
+        }
+        int statementType = autoGeneratedKeys == Statement.RETURN_GENERATED_KEYS ? GENERATED_KEYS_STATEMENT :
+                PLAIN_STATEMENT;
+        return (PreparedStatement) getStatement(connection, sqlQuery, statementType);
+    }
+
+    /**
+     * Prepares a forward only and read only statement of the query.
+     *
+     * @param connection connection used to execute the query
+     * @param sqlQuery SQL query
+     * @return the prepared statement
+     */
+    public PreparedStatement prepareReadOnlyStatement(Connection connection, String sqlQuery) throws SQLException {
+        if (!isEnabled()) {
+            return connection.prepareStatement(sqlQuery, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        }
+        return (PreparedStatement) getStatement(connection, sqlQuery, READ_ONLY_CURSOR_STATEMENT);
+    }
+
+    public CallableStatement prepareCall(Connection connection, String sqlQuery) throws SQLException {
+        if (!isEnabled()) {
+            return connection.prepareCall(sqlQuery);
+        }
+        return (CallableStatement) getStatement(connection, sqlQuery, CALLABLE_STATEMENT);
+    }
+
+    /**
+     * Closes the statement. If the statement is taken from a statement cache, its parameters are cleared and it is
+     * returned to the cache instead.
+     *
+     * @param statement statement to be closed
+     */
+    public static void closeStatement(Statement statement) throws SQLException {
+        CachedStatement cachedStatement = checkedOutStatements.remove(statement);
+        if (cachedStatement == null) {
+            statement.close();
+        } else {
+            cachedStatement.release();
+        }
+    }
+
+    /**
+     * Checks the failure of a statement. If the statement is taken from a statement cache and the failure is fatal
+     * for its connection, the connection is evicted from the pool when the statement is released, as the pool
+     * does for the failures of the statements prepared through it.
+     *
+     * @param statement statement which failed, or null if it is not prepared
+     * @param e failure of the statement
+     */
+    public static void checkException(Statement statement, SQLException e) {
+        if (statement == null) {
+            return;
+        }
+        CachedStatement cachedStatement = checkedOutStatements.get(statement);
+        if (cachedStatement != null && isFatal(e)) {
+            cachedStatement.broken = true;
+        }
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * Returns the ratio of the statement requests which are served from the cache.
+     *
+     * @return hit ratio between 0 and 1
+     */
+    public double getHitRatio() {
+        long hits = hitCount.get();
+        long total = hits + missCount.get();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    /**
+     * Closes all the cached statements. The statements which are in use are closed when they are released.
+     */
+    void clear() {
+        List<Connection> connections = new ArrayList<>(connectionStatements.keySet());
+        for (Connection connection : connections) {
+            ConnectionStatements cache = connectionStatements.remove(connection);
+            if (cache != null) {
+                cache.close();
+            }
+        }
+        checkedOutStatements.values().removeIf(CachedStatement::discardIfClosed);
+    }
+
+    private Statement getStatement(Connection connection, String sqlQuery, int statementType) throws SQLException {
+        Connection physicalConnection = connection.isWrapperFor(Connection.class) ?
+                connection.unwrap(Connection.class) : connection;
+        ConnectionStatements cache = getConnectionStatements(physicalConnection);
+        StatementKey key = new StatementKey(sqlQuery, statementType);
+        Statement statement = cache.take(key);
+        if (statement != null) {
+            hitCount.incrementAndGet();
+        } else {
+            missCount.incrementAndGet();
+            statement = createStatement(physicalConnection, sqlQuery, statementType);
+        }
+        checkedOutStatements.put(statement, new CachedStatement(this, connection, physicalConnection, cache, key,
+                statement));
+        return statement;
+    }
+
+    private ConnectionStatements getConnectionStatements(Connection physicalConnection) {
+        return connectionStatements.computeIfAbsent(physicalConnection, key -> new ConnectionStatements(cacheSize));
+    }
+
+    /**
+     * Discards the cached statements of a physical connection closed by the pool, and the statements checked out on
+     * the connection.
+     */
+    private void discardConnectionStatements(Connection physicalConnection) {
+        ConnectionStatements cache = connectionStatements.remove(physicalConnection);
+        if (cache != null) {
+            cache.close();
+        }
+        // The statements checked out on the closed connections are not released, when the result which holds them
+        // is not closed.
+        checkedOutStatements.values().removeIf(cachedStatement -> cachedStatement.discardIf(physicalConnection));
+    }
+
+    /**
+     * Evicts the pooled connection of a statement which failed with a fatal error, or of which the physical
+     * connection is found closed, so that it is not handed out again. The cached statements of the connection are
+     * discarded once the pool closes it.
+     */
+    private void evictConnection(Connection connection) {
+        if (hikariDataSource != null && !hikariDataSource.isClosed()) {
+            hikariDataSource.evictConnection(connection);
+        }
+    }
+
+    private static boolean isFatal(SQLException e) {
+        SQLException exception = e;
+        for (int depth = 0; exception != null && depth < MAX_CHAINED_EXCEPTIONS; depth++) {
+            String sqlState = exception.getSQLState();
+            if ((sqlState != null && sqlState.startsWith("08")) || exception instanceof SQLTimeoutException ||
+                    FATAL_SQL_STATES.contains(sqlState) || FATAL_ERROR_CODES.contains(exception.getErrorCode())) {
+                return true;
+            }
+            exception = exception.getNextException();
+        }
+        return false;
+    }
+
+    private static Statement createStatement(Connection connection, String sqlQuery, int statementType)
+            throws SQLException {
+        switch (statementType) {
+            case GENERATED_KEYS_STATEMENT:
+                return connection.prepareStatement(sqlQuery, Statement.RETURN_GENERATED_KEYS);
+            case READ_ONLY_CURSOR_STATEMENT:
+                return connection.prepareStatement(sqlQuery, ResultSet.TYPE_FORWARD_ONLY,
+                        ResultSet.CONCUR_READ_ONLY);
+            case CALLABLE_STATEMENT:
+                return connection.prepareCall(sqlQuery);
+            default:
+                return connection.prepareStatement(sqlQuery);
+        }
+    }
+
+    private static void closeQuietly(Statement statement) {
+        try {
+            statement.close();
+        } catch (SQLException ignored) {
+        }
+    }
+
+    private static class ConnectionStatements {
+        private final LinkedHashMap<StatementKey, Statement> statements;
+        private volatile boolean closed = false;
+
+        ConnectionStatements(int cacheSize) {
+            this.statements = new LinkedHashMap<StatementKey, Statement>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<StatementKey, Statement> eldest) {
+                    if (size() > cacheSize) {
+                        closeQuietly(eldest.getValue());
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+
+        synchronized Statement take(StatementKey key) throws SQLException {
+            Statement statement = statements.remove(key);
+            if (statement != null && statement.isClosed()) {
+                return null;
+            }
+            return statement;
+        }
+
+        synchronized void put(StatementKey key, Statement statement) {
+            if (closed) {
+                closeQuietly(statement);
+                return;
+            }
+            Statement existingStatement = statements.put(key, statement);
+            if (existingStatement != null && existingStatement != statement) {
+                closeQuietly(existingStatement);
+            }
+        }
+
+        boolean isClosed() {
+            return closed;
+        }
+
+        synchronized void close() {
+            closed = true;
+            for (Statement statement : statements.values()) {
+                closeQuietly(statement);
+            }
+            statements.clear();
+        }
+    }
+
+    private static class CachedStatement {
+        private final StatementCache statementCache;
+        private final Connection connection;
+        private final Connection physicalConnection;
+        private final ConnectionStatements cache;
+        private final StatementKey key;
+        private final Statement statement;
+        private volatile boolean broken = false;
+
+        CachedStatement(StatementCache statementCache, Connection connection, Connection physicalConnection,
+                        ConnectionStatements cache, StatementKey key, Statement statement) {
+            this.statementCache = statementCache;
+            this.connection = connection;
+            this.physicalConnection = physicalConnection;
+            this.cache = cache;
+            this.key = key;
+            this.statement = statement;
+        }
+
+        void release() throws SQLException {
+            if (broken || physicalConnection.isClosed()) {
+                // The connection is broken by a failure of the statement, which is not seen by the pool.
+                closeQuietly(statement);
+                statementCache.evictConnection(connection);
+                return;
+            }
+            if (statement.isClosed()) {
+                return;
+            }
+            try {
+                PreparedStatement preparedStatement = (PreparedStatement) statement;
+                preparedStatement.clearParameters();
+                preparedStatement.clearBatch();
+                preparedStatement.clearWarnings();
+            } catch (SQLException e) {
+                statement.close();
+                return;
+            }
+            cache.put(key, statement);
+        }
+
+        boolean discardIf(Connection closedConnection) {
+            if (physicalConnection != closedConnection) {
+                return false;
+            }
+            closeQuietly(statement);
+            return true;
+        }
+
+        boolean discardIfClosed() {
+            boolean closed;
+            try {
+                closed = cache.isClosed() || physicalConnection.isClosed();
+            } catch (SQLException e) {
+                closed = true;
+            }
+            if (closed) {
+                closeQuietly(statement);
+            }
+            return closed;
+        }
+    }
+
+    private static class StatementKey {
+        private final String sqlQuery;
+        private final int statementType;
+
+        StatementKey(String sqlQuery, int statementType) {
+            this.sqlQuery = sqlQuery;
+            this.statementType = statementType;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == this) {
+                return true;
+            }
+            if (!(obj instanceof StatementKey)) {
+                return false;
+            }
+            StatementKey other = (StatementKey) obj;
+            return statementType == other.statementType && sqlQuery.equals(other.sqlQuery);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(sqlQuery, statementType);
+        }
+    }
+}
@@ -0,0 +1,343 @@
+/*
+ *  Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.ballerinalang.sql.datasource;
+
+import org.ballerinalang.sql.utils.SQLWorkerThreadPool;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Deque;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.sql.ConnectionEvent;
+import javax.sql.ConnectionEventListener;
+import javax.sql.XAConnection;
+import javax.sql.XADataSource;
+import javax.transaction.xa.XAException;
+import javax.transaction.xa.XAResource;
+import javax.transaction.xa.Xid;
+
+/**
+ * This class pools the XA connections of an XA datasource, which are used for the transactions when the transaction
+ * manager is not enabled. The physical connections are reused by the transactions instead of connecting for each
+ * transaction. The number of connections, the time to wait for a connection and the lifetime of the connections
+ * are bounded as configured for the connection pool of the datasource. An idle connection is retired in the
+ * background once it outlives its lifetime. A connection idle for longer than {@link #VALIDATION_BYPASS_NANOS} is
+ * validated before it is reused, and a connection which reported an error or of which a transaction failed through
+ * its XA resource is not reused.
+ * <p>
+ * Each acquisition is given its own {@link PooledXAConnection}, so that a late release of an earlier acquisition
+ * does not return a connection which is used by another transaction.
+ *
+ * @since 0.6.0
+ */
+public class XAConnectionPool {
+
+    static final long VALIDATION_BYPASS_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
+
+    private final XADataSource xaDataSource;
+    private final int maximumPoolSize;
+    private final Semaphore permits;
+    private final Deque<PoolEntry> idleConnections = new ConcurrentLinkedDeque<>();
+    private final long connectionTimeoutMillis;
+    private final long maxLifetimeNanos;
+    private final int validationTimeoutSeconds;
+    private volatile boolean closed = false;
+
+    /**
+     * Creates a pool of the XA connections of the datasource.
+     *
+     * @param xaDataSource datasource of the XA connections
+     * @param maximumPoolSize maximum number of XA connections
+     * @param connectionTimeoutMillis maximum time in milliseconds to wait for a connection
+     * @param maxLifetimeMillis maximum lifetime in milliseconds of a connection, or 0 for an infinite lifetime
+     * @param validationTimeoutMillis maximum time in milliseconds to wait for a connection to be validated
+     */
+    XAConnectionPool(XADataSource xaDataSource, int maximumPoolSize, long connectionTimeoutMillis,
+                     long maxLifetimeMillis, long validationTimeoutMillis) {
+        this.xaDataSource = xaDataSource;
+        this.maximumPoolSize = maximumPoolSize;
+        this.permits = new Semaphore(maximumPoolSize, true);
+        this.connectionTimeoutMillis = connectionTimeoutMillis;
+        this.maxLifetimeNanos = TimeUnit.MILLISECONDS.toNanos(maxLifetimeMillis);
+        this.validationTimeoutSeconds = (int) Math.max(TimeUnit.MILLISECONDS.toSeconds(validationTimeoutMillis), 1);
+    }
+
+    /**
+     * Returns an idle XA connection of the pool, or a new XA connection if there is no valid idle connection. The
+     * connection should be released to the pool once the transaction ends.
+     *
+     * @return pooled XA connection
+     * @throws SQLException if a connection is not available within the connection timeout or cannot be created
+     */
+    public PooledXAConnection acquire() throws SQLException {
+        try {
+            if (!permits.tryAcquire(connectionTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new SQLException("XA connection is not available, request timed out after " +
+                        connectionTimeoutMillis + "ms. The maximum number of XA connections is " + maximumPoolSize +
+                        ".", "08001");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("interrupted while waiting for an XA connection", "08001", e);
+        }
+        try {
+            if (closed) {
+                throw new SQLException("XA connection pool is closed", "08003");
+            }
+            PoolEntry poolEntry;
+            while ((poolEntry = idleConnections.pollFirst()) != null) {
+                if (isReusable(poolEntry) && isValid(poolEntry)) {
+                    return new PooledXAConnection(poolEntry);
+                }
+                poolEntry.closePhysicalConnection();
+            }
+            poolEntry = new PoolEntry(xaDataSource.getXAConnection());
+            scheduleRetirement(poolEntry);
+            return new PooledXAConnection(poolEntry);
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private void release(PoolEntry poolEntry) {
+        if (!closed && isReusable(poolEntry)) {
+            poolEntry.lastReleaseTime = System.nanoTime();
+            idleConnections.offerFirst(poolEntry);
+            // The pool may be closed while the connection is added.
+            if (closed && idleConnections.remove(poolEntry)) {
+                poolEntry.closePhysicalConnection();
+            }
+        } else {
+            poolEntry.closePhysicalConnection();
+        }
+        permits.release();
+    }
+
+    private void scheduleRetirement(PoolEntry poolEntry) {
+        if (maxLifetimeNanos > 0) {
+            SQLWorkerThreadPool.schedule(() -> retire(poolEntry), maxLifetimeNanos);
+        }
+    }
+
+    private void retire(PoolEntry poolEntry) {
+        // A connection in use is retired when it is released, and a connection taken from the idle connections
+        // meanwhile is retired when it is found expired.
+        if (idleConnections.remove(poolEntry)) {
+            poolEntry.closePhysicalConnection();
+        }
+    }
+
+    private boolean isReusable(PoolEntry poolEntry) {
+        return !poolEntry.broken && (maxLifetimeNanos <= 0 ||
+                System.nanoTime() - poolEntry.creationTime < maxLifetimeNanos);
+    }
+
+    private boolean isValid(PoolEntry poolEntry) {
+        if (System.nanoTime() - poolEntry.lastReleaseTime < VALIDATION_BYPASS_NANOS) {
+            return true;
+        }
+        try (Connection connection = poolEntry.xaConnection.getConnection()) {
+            return connection.isValid(validationTimeoutSeconds);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Closes the idle XA connections, and the connections in use once they are released.
+     */
+    void close() {
+        closed = true;
+        PoolEntry poolEntry;
+        while ((poolEntry = idleConnections.pollFirst()) != null) {
+            poolEntry.closePhysicalConnection();
+        }
+    }
+
+    /**
+     * This class is an acquisition of an XA connection of the pool. The connection is returned to the pool by the
+     * first release of the acquisition, and the later releases are ignored.
+     */
+    public class PooledXAConnection {
+        private final PoolEntry poolEntry;
+        private final AtomicBoolean released = new AtomicBoolean(false);
+
+        private PooledXAConnection(PoolEntry poolEntry) {
+            this.poolEntry = poolEntry;
+        }
+
+        public XAConnection getXAConnection() {
+            return poolEntry.xaConnection;
+        }
+
+        /**
+         * Returns the XA resource of the connection. The connection is not reused if an operation of the resource
+         * fails, such as ending, preparing or committing the transaction.
+         *
+         * @return the XA resource
+         * @throws SQLException if the XA resource cannot be retrieved
+         */
+        public XAResource getXAResource() throws SQLException {
+            XAResource xaResource = poolEntry.xaConnection.getXAResource();
+            return xaResource == null ? null : new PooledXAResource(xaResource);
+        }
+
+        /**
+         * Returns the XA connection to the pool. The logical connection of the transaction should be closed before
+         * the XA connection is released. A connection which is already released is not released again.
+         */
+        public void release() {
+            if (released.compareAndSet(false, true)) {
+                XAConnectionPool.this.release(poolEntry);
+            }
+        }
+
+        private void markBroken() {
+            // The connection may be used by another acquisition once released.
+            if (!released.get()) {
+                poolEntry.broken = true;
+            }
+        }
+
+        private <T> T call(XAOperation<T> operation) throws XAException {
+            try {
+                return operation.call();
+            } catch (XAException e) {
+                markBroken();
+                throw e;
+            }
+        }
+
+        private class PooledXAResource implements XAResource {
+            private final XAResource xaResource;
+
+            PooledXAResource(XAResource xaResource) {
+                this.xaResource = xaResource;
+            }
+
+            @Override
+            public void start(Xid xid, int flags) throws XAException {
+                call(() -> {
+                    xaResource.start(xid, flags);
+                    return null;
+                });
+            }
+
+            @Override
+            public void end(Xid xid, int flags) throws XAException {
+                call(() -> {
+                    xaResource.end(xid, flags);
+                    return null;
+                });
+            }
+
+            @Override
+            public int prepare(Xid xid) throws XAException {
+                return call(() -> xaResource.prepare(xid));
+            }
+
+            @Override
+            public void commit(Xid xid, boolean onePhase) throws XAException {
+                call(() -> {
+                    xaResource.commit(xid, onePhase);
+                    return null;
+                });
+            }
+
+            @Override
+            public void rollback(Xid xid) throws XAException {
+                call(() -> {
+                    xaResource.rollback(xid);
+                    return null;
+                });
+            }
+
+            @Override
+            public void forget(Xid xid) throws XAException {
+                call(() -> {
+                    xaResource.forget(xid);
+                    return null;
+                });
+            }
+
+            @Override
+            public Xid[] recover(int flag) throws XAException {
+                return call(() -> xaResource.recover(flag));
+            }
+
+            @Override
+            public boolean isSameRM(XAResource other) throws XAException {
+                XAResource otherResource = other instanceof PooledXAResource ?
+                        ((PooledXAResource) other).xaResource : other;
+                return call(() -> xaResource.isSameRM(otherResource));
+            }
+
+            @Override
+            public int getTransactionTimeout() throws XAException {
+                return call(xaResource::getTransactionTimeout);
+            }
+
+            @Override
+            public boolean setTransactionTimeout(int seconds) throws XAException {
+                return call(() -> xaResource.setTransactionTimeout(seconds));
+            }
+        }
+    }
+
+    private interface XAOperation<T> {
+        T call() throws XAException;
+    }
+
+    /**
+     * This class holds an XA connection of the pool.
+     */
+    private static class PoolEntry implements ConnectionEventListener {
+        private final XAConnection xaConnection;
+        private final long creationTime = System.nanoTime();
+        private long lastReleaseTime = creationTime;
+        private volatile boolean broken = false;
+
+        private PoolEntry(XAConnection xaConnection) {
+            this.xaConnection = xaConnection;
+            xaConnection.addConnectionEventListener(this);
+        }
+
+        private void closePhysicalConnection() {
+            try {
+                xaConnection.removeConnectionEventListener(this);
+                xaConnection.close();
+            } catch (SQLException ignored) {
+            }
+        }
+
+        @Override
+        public void connectionClosed(ConnectionEvent event) {
+        }
+
+        @Override
+        public void connectionErrorOccurred(ConnectionEvent event) {
+            broken = true;
+        }
+    }
+}
@@ -18,6 +18,7 @@
 
 package org.ballerinalang.sql.nativeimpl;
 
+import io.ballerina.runtime.api.Environment;
 import io.ballerina.runtime.api.TypeTags;
 import io.ballerina.runtime.api.creators.TypeCreator;
 import io.ballerina.runtime.api.creators.ValueCreator;
@@ -30,12 +31,17 @@ import io.ballerina.runtime.api.values.BTypedesc;
 import io.ballerina.runtime.transactions.TransactionResourceManager;
 import org.ballerinalang.sql.Constants;
 import org.ballerinalang.sql.datasource.SQLDatasource;
+import org.ballerinalang.sql.datasource.StatementCache;
 import org.ballerinalang.sql.exception.ApplicationError;
 import org.ballerinalang.sql.parameterprocessor.DefaultResultParameterProcessor;
 import org.ballerinalang.sql.parameterprocessor.DefaultStatementParameterProcessor;
 import org.ballerinalang.sql.utils.ColumnDefinition;
 import org.ballerinalang.sql.utils.ErrorGenerator;
 import org.ballerinalang.sql.utils.ModuleUtils;
+import org.ballerinalang.sql.utils.QueryMetricsRegistry;
+import org.ballerinalang.sql.utils.QueryResultCache;
+import org.ballerinalang.sql.utils.QueryTimer;
+import org.ballerinalang.sql.utils.SQLWorkerThreadPool;
 
 import java.io.IOException;
 import java.sql.CallableStatement;
@@ -82,28 +88,55 @@ public class CallProcessor {
     public static Object nativeCall(BObject client, Object paramSQLString, BArray recordTypes, 
             DefaultStatementParameterProcessor statementParameterProcessor, 
             DefaultResultParameterProcessor resultParameterProcessor) {
+        return call(TransactionResourceManager.getInstance(), client, paramSQLString, recordTypes,
+                statementParameterProcessor, resultParameterProcessor);
+    }
+
+    /**
+     * Execute a call query on the SQL worker thread pool, without blocking the calling strand.
+     * @param env environment of the calling strand
+     * @param client client object
+     * @param paramSQLString SQL string for the call statement
+     * @param recordTypes type description of the result record
+     * @param statementParameterProcessor pre-processor of the statement
+     * @param resultParameterProcessor post-processor of the result
+     * @return procedure call result or error, or null if the call is executed asynchronously
+     */
+    public static Object nativeCall(Environment env, BObject client, Object paramSQLString, BArray recordTypes,
+                                    DefaultStatementParameterProcessor statementParameterProcessor,
+                                    DefaultResultParameterProcessor resultParameterProcessor) {
+        return SQLWorkerThreadPool.execute(env, trxResourceManager -> call(trxResourceManager, client,
+                paramSQLString, recordTypes, statementParameterProcessor, resultParameterProcessor));
+    }
+
+    private static Object call(TransactionResourceManager trxResourceManager, BObject client, Object paramSQLString,
+                               BArray recordTypes, DefaultStatementParameterProcessor statementParameterProcessor,
+                               DefaultResultParameterProcessor resultParameterProcessor) {
         Object dbClient = client.getNativeData(DATABASE_CLIENT);
-        TransactionResourceManager trxResourceManager = TransactionResourceManager.getInstance();
         if (dbClient != null) {
             SQLDatasource sqlDatasource = (SQLDatasource) dbClient;
             Connection connection;
-            CallableStatement statement;
+            CallableStatement statement = null;
             ResultSet resultSet;
             String sqlQuery = null;
+            QueryTimer queryTimer = null;
             try {
                 if (paramSQLString instanceof BString) {
                     sqlQuery = ((BString) paramSQLString).getValue();
                 } else {
                     sqlQuery = getSqlQuery((BObject) paramSQLString);
                 }
+                queryTimer = QueryTimer.start();
                 connection = SQLDatasource.getConnection(trxResourceManager, client, sqlDatasource);
-                statement = connection.prepareCall(sqlQuery);
+                queryTimer.mark(QueryMetricsRegistry.Phase.ACQUIRE);
+                statement = sqlDatasource.getStatementCache().prepareCall(connection, sqlQuery);
 
                 HashMap<Integer, Integer> outputParamTypes = new HashMap<>();
                 if (paramSQLString instanceof BObject) {
                     setCallParameters(connection, statement, (BObject) paramSQLString, outputParamTypes, 
                                 statementParameterProcessor);
                 }
+                queryTimer.mark(QueryMetricsRegistry.Phase.PREPARE);
 
                 boolean resultType = statement.execute();
 
@@ -142,12 +175,22 @@ public class CallProcessor {
                 procedureCallResult.addNativeData(TYPE_DESCRIPTIONS_NATIVE_DATA_FIELD, recordDescriptions);
                 procedureCallResult.addNativeData(RESULT_SET_TOTAL_NATIVE_DATA_FIELD, recordTypes.size());
                 procedureCallResult.addNativeData(RESULT_SET_COUNT_NATIVE_DATA_FIELD, resultSetCount);
+                queryTimer.mark(QueryMetricsRegistry.Phase.EXECUTE);
+                queryTimer.record(QueryMetricsRegistry.Operation.CALL, sqlQuery, false);
                 return procedureCallResult;
             } catch (SQLException e) {
+                StatementCache.checkException(statement, e);
                 return ErrorGenerator.getSQLDatabaseError(e, "Error while executing SQL query: " + sqlQuery + ". ");
             } catch (ApplicationError | IOException e) {
                 return ErrorGenerator.getSQLApplicationError("Error while executing SQL query: "
                         + sqlQuery + ". " + e.getMessage());
+            } finally {
+                // The tables changed by a procedure are not known, hence all the cached results are invalidated.
+                QueryResultCache.invalidate(trxResourceManager, client, null);
+                // Records the call as failed, unless it is already recorded as completed.
+                if (queryTimer != null) {
+                    queryTimer.record(QueryMetricsRegistry.Operation.CALL, sqlQuery, true);
+                }
             }
         } else {
             return ErrorGenerator.getSQLApplicationError("Client is not properly initialized!");
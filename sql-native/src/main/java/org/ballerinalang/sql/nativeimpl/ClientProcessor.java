@@ -22,6 +22,8 @@ import io.ballerina.runtime.api.values.BError;
 import io.ballerina.runtime.api.values.BObject;
 import org.ballerinalang.sql.Constants;
 import org.ballerinalang.sql.datasource.SQLDatasource;
+import org.ballerinalang.sql.utils.ErrorGenerator;
+import org.ballerinalang.sql.utils.QueryResultCache;
 
 import java.util.UUID;
 
@@ -45,6 +47,20 @@ public class ClientProcessor {
         }
         return null;
     }
+
+    /**
+     * Returns the state and the metrics of the connection pool of the client. The metrics are of the pool, which
+     * may be shared with the other clients.
+     * @param client client object
+     * @return `sql:PoolMetrics` record or error
+     */
+    public static Object getPoolMetrics(BObject client) {
+        Object datasourceObj = client.getNativeData(Constants.DATABASE_CLIENT);
+        if (datasourceObj == null) {
+            return ErrorGenerator.getSQLApplicationError("Client is not properly initialized!");
+        }
+        return ((SQLDatasource) datasourceObj).getPoolMetrics();
+    }
     
     /**
      * Create the client used to connect with the database.
@@ -58,6 +74,21 @@ public class ClientProcessor {
             SQLDatasource sqlDatasource = SQLDatasource.retrieveDatasource(sqlDatasourceParams);
             client.addNativeData(Constants.DATABASE_CLIENT, sqlDatasource);
             client.addNativeData(Constants.SQL_CONNECTOR_TRANSACTION_ID, UUID.randomUUID().toString());
+            if (sqlDatasourceParams.getBatchInsertRowCount() > 1) {
+                client.addNativeData(Constants.BATCH_INSERT_ROW_COUNT_DATA_FIELD,
+                        sqlDatasourceParams.getBatchInsertRowCount());
+            }
+            if (sqlDatasourceParams.getBatchExecuteParallelism() > 1) {
+                client.addNativeData(Constants.BATCH_EXECUTE_PARALLELISM_DATA_FIELD,
+                        sqlDatasourceParams.getBatchExecuteParallelism());
+            }
+            if (sqlDatasourceParams.isGroupBatchCommands()) {
+                client.addNativeData(Constants.GROUP_BATCH_COMMANDS_DATA_FIELD, true);
+            }
+            if (sqlDatasourceParams.getQueryResultCacheOptions() != null) {
+                client.addNativeData(Constants.QUERY_RESULT_CACHE_DATA_FIELD,
+                        QueryResultCache.fromRecord(sqlDatasourceParams.getQueryResultCacheOptions()));
+            }
             return null;
         } catch (BError errorValue) {
             return errorValue;
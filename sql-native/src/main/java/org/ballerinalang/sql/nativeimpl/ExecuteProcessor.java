@@ -18,21 +18,35 @@
 
 package org.ballerinalang.sql.nativeimpl;
 
+import io.ballerina.runtime.api.Environment;
 import io.ballerina.runtime.api.creators.TypeCreator;
 import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.ArrayType;
 import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BError;
 import io.ballerina.runtime.api.values.BMap;
 import io.ballerina.runtime.api.values.BObject;
 import io.ballerina.runtime.api.values.BString;
 import io.ballerina.runtime.transactions.TransactionResourceManager;
 import org.ballerinalang.sql.Constants;
 import org.ballerinalang.sql.datasource.SQLDatasource;
+import org.ballerinalang.sql.datasource.StatementCache;
 import org.ballerinalang.sql.exception.ApplicationError;
 import org.ballerinalang.sql.parameterprocessor.DefaultStatementParameterProcessor;
+import org.ballerinalang.sql.transaction.SQLTransactionContext;
 import org.ballerinalang.sql.utils.ErrorGenerator;
 import org.ballerinalang.sql.utils.ModuleUtils;
+import org.ballerinalang.sql.utils.MultiRowInsert;
+import org.ballerinalang.sql.utils.QueryMetricsRegistry;
+import org.ballerinalang.sql.utils.QueryResultCache;
+import org.ballerinalang.sql.utils.QueryTimer;
+import org.ballerinalang.sql.utils.SQLWorkerThreadPool;
+import org.ballerinalang.sql.utils.SqlQueryCache;
+import org.ballerinalang.sql.utils.SqlStatementClassifier;
+import org.ballerinalang.sql.utils.Utils;
 
 import java.io.IOException;
+import java.lang.reflect.Method;
 import java.sql.BatchUpdateException;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
@@ -43,11 +57,12 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
-import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static org.ballerinalang.sql.utils.Utils.closeResources;
 import static org.ballerinalang.sql.utils.Utils.getGeneratedKeys;
+import static org.ballerinalang.sql.utils.Utils.getCompiledQuery;
 import static org.ballerinalang.sql.utils.Utils.getSqlQuery;
 
 
@@ -57,6 +72,12 @@ import static org.ballerinalang.sql.utils.Utils.getSqlQuery;
  * @since 0.5.6
  */
 public class ExecuteProcessor {
+    // The minimum number of statements of a slice of a batch which is executed in parallel.
+    static final int MIN_BATCH_SLICE_SIZE = 64;
+    private static final Map<Class<?>, Boolean> SET_PARAMS_OVERRIDES = new ConcurrentHashMap<>();
+
+    private static volatile ArrayType executionResultArrayType;
+
     private ExecuteProcessor() {
     }
 
@@ -69,28 +90,68 @@ public class ExecuteProcessor {
      */
     public static Object nativeExecute(BObject client, Object paramSQLString,
                      DefaultStatementParameterProcessor statementParameterProcessor) {
+        return nativeExecute(client, paramSQLString, statementParameterProcessor, false);
+    }
+
+    /**
+     * Execute an SQL statement. The generated keys are requested for the inserts and the statements which cannot
+     * be classified, or for any statement when they are requested by the caller.
+     * @param client client object
+     * @param paramSQLString array of SQL string for the execute statement
+     * @param statementParameterProcessor pre-processor of the statement
+     * @param requestGeneratedKeys whether the generated keys are requested regardless of the statement kind
+     * @return execution result or error
+     */
+    public static Object nativeExecute(BObject client, Object paramSQLString,
+                     DefaultStatementParameterProcessor statementParameterProcessor, boolean requestGeneratedKeys) {
+        return execute(TransactionResourceManager.getInstance(), client, paramSQLString, statementParameterProcessor,
+                requestGeneratedKeys);
+    }
+
+    /**
+     * Execute an SQL statement on the SQL worker thread pool, without blocking the calling strand.
+     * @param env environment of the calling strand
+     * @param client client object
+     * @param paramSQLString array of SQL string for the execute statement
+     * @param statementParameterProcessor pre-processor of the statement
+     * @return execution result or error, or null if the statement is executed asynchronously
+     */
+    public static Object nativeExecute(Environment env, BObject client, Object paramSQLString,
+                                       DefaultStatementParameterProcessor statementParameterProcessor) {
+        return SQLWorkerThreadPool.execute(env, trxResourceManager -> execute(trxResourceManager, client,
+                paramSQLString, statementParameterProcessor, false));
+    }
+
+    private static Object execute(TransactionResourceManager trxResourceManager, BObject client,
+                                  Object paramSQLString, DefaultStatementParameterProcessor statementParameterProcessor,
+                                  boolean requestGeneratedKeys) {
         Object dbClient = client.getNativeData(Constants.DATABASE_CLIENT);
-        TransactionResourceManager trxResourceManager = TransactionResourceManager.getInstance();
         if (dbClient != null) {
             SQLDatasource sqlDatasource = (SQLDatasource) dbClient;
             Connection connection = null;
             PreparedStatement statement = null;
             ResultSet resultSet = null;
             String sqlQuery = null;
+            QueryTimer queryTimer = null;
             try {
                 if (paramSQLString instanceof BString) {
                     sqlQuery = ((BString) paramSQLString).getValue();
                 } else {
                     sqlQuery = getSqlQuery((BObject) paramSQLString);
                 }
+                boolean returnGeneratedKeys = requestGeneratedKeys ||
+                        SqlStatementClassifier.classify(sqlQuery).returnsGeneratedKeys();
+                queryTimer = QueryTimer.start();
                 connection = SQLDatasource.getConnection(trxResourceManager, client, sqlDatasource);
-                statement = connection.prepareStatement(sqlQuery, Statement.RETURN_GENERATED_KEYS);
+                queryTimer.mark(QueryMetricsRegistry.Phase.ACQUIRE);
+                statement = prepareStatement(sqlDatasource, connection, sqlQuery, returnGeneratedKeys);
                 if (paramSQLString instanceof BObject) {
                     statementParameterProcessor.setParams(connection, statement, (BObject) paramSQLString);
                 }
+                queryTimer.mark(QueryMetricsRegistry.Phase.PREPARE);
                 int count = statement.executeUpdate();
                 Object lastInsertedId = null;
-                if (!isDdlStatement(sqlQuery)) {
+                if (returnGeneratedKeys) {
                     resultSet = statement.getGeneratedKeys();
                     if (resultSet.next()) {
                         lastInsertedId = getGeneratedKeys(resultSet);
@@ -99,9 +160,12 @@ public class ExecuteProcessor {
                 Map<String, Object> resultFields = new HashMap<>();
                 resultFields.put(Constants.AFFECTED_ROW_COUNT_FIELD, count);
                 resultFields.put(Constants.LAST_INSERTED_ID_FIELD, lastInsertedId);
+                queryTimer.mark(QueryMetricsRegistry.Phase.EXECUTE);
+                queryTimer.record(QueryMetricsRegistry.Operation.EXECUTE, sqlQuery, false);
                 return ValueCreator.createRecordValue(ModuleUtils.getModule(),
                         Constants.EXECUTION_RESULT_RECORD, resultFields);
             } catch (SQLException e) {
+                StatementCache.checkException(statement, e);
                 return ErrorGenerator.getSQLDatabaseError(e,
                         "Error while executing SQL query: " + sqlQuery + ". ");
             } catch (ApplicationError | IOException e) {
@@ -109,6 +173,8 @@ public class ExecuteProcessor {
                         + sqlQuery + ". " + e.getMessage());
             } finally {
                 closeResources(trxResourceManager, resultSet, statement, connection);
+                QueryResultCache.invalidate(trxResourceManager, client, sqlQuery);
+                recordFailure(queryTimer, QueryMetricsRegistry.Operation.EXECUTE, sqlQuery);
             }
         } else {
             return ErrorGenerator.getSQLApplicationError(
@@ -117,7 +183,11 @@ public class ExecuteProcessor {
     }
 
     /**
-     * Execute a batch of SQL statements.
+     * Execute a batch of SQL statements. Each run of consecutive statements of the same SQL command is executed
+     * as a single JDBC batch on the same connection, so that the statements are executed in their order in the
+     * batch. A client which groups the batch commands executes all the statements of the same SQL command as a
+     * single JDBC batch instead, in the order in which the SQL commands first appear in the batch. The results are
+     * returned in the order of the statements in the batch.
      * @param client client object
      * @param paramSQLStrings array of SQL string for the execute statement
      * @param statementParameterProcessor pre-processor of the statement
@@ -125,76 +195,224 @@ public class ExecuteProcessor {
      */
     public static Object nativeBatchExecute(BObject client, BArray paramSQLStrings,
                              DefaultStatementParameterProcessor statementParameterProcessor) {
+        return batchExecute(TransactionResourceManager.getInstance(), client, paramSQLStrings,
+                statementParameterProcessor);
+    }
+
+    /**
+     * Execute a batch of SQL statements on the SQL worker thread pool, without blocking the calling strand.
+     * @param env environment of the calling strand
+     * @param client client object
+     * @param paramSQLStrings array of SQL string for the execute statement
+     * @param statementParameterProcessor pre-processor of the statement
+     * @return execution result or error, or null if the batch is executed asynchronously
+     */
+    public static Object nativeBatchExecute(Environment env, BObject client, BArray paramSQLStrings,
+                                            DefaultStatementParameterProcessor statementParameterProcessor) {
+        return SQLWorkerThreadPool.execute(env, trxResourceManager -> batchExecute(trxResourceManager, client,
+                paramSQLStrings, statementParameterProcessor));
+    }
+
+    private static Object batchExecute(TransactionResourceManager trxResourceManager, BObject client,
+                                       BArray paramSQLStrings,
+                                       DefaultStatementParameterProcessor statementParameterProcessor) {
+        Object dbClient = client.getNativeData(Constants.DATABASE_CLIENT);
+        if (dbClient != null) {
+            SQLDatasource sqlDatasource = (SQLDatasource) dbClient;
+            BMap<BString, Object>[] executionResults = createExecutionResults(paramSQLStrings.size());
+            int sliceCount = getBatchSliceCount(trxResourceManager, client, sqlDatasource, paramSQLStrings);
+            if (sliceCount > 1) {
+                return parallelBatchExecute(client, sqlDatasource, paramSQLStrings, sliceCount,
+                        statementParameterProcessor, executionResults);
+            }
+            BatchSlice batchSlice = new BatchSlice(0, paramSQLStrings.size());
+            batchSlice.execute(trxResourceManager, client, sqlDatasource, paramSQLStrings,
+                    statementParameterProcessor, executionResults);
+            if (batchSlice.failure != null) {
+                return batchSlice.getError(executionResults);
+            }
+            return ValueCreator.createArrayValue(executionResults, getExecutionResultArrayType());
+        } else {
+            return ErrorGenerator.getSQLApplicationError(
+                    "Client is not properly initialized!");
+        }
+    }
+
+    /**
+     * Executes the slices of a batch of a single SQL query concurrently, each on a separate connection of the pool.
+     * The results of the slices are merged in the order of the statements in the batch.
+     */
+    private static Object parallelBatchExecute(BObject client, SQLDatasource sqlDatasource, BArray paramSQLStrings,
+                                               int sliceCount,
+                                               DefaultStatementParameterProcessor statementParameterProcessor,
+                                               BMap<BString, Object>[] executionResults) {
+        List<BatchSlice> batchSlices = new ArrayList<>(sliceCount);
+        List<Runnable> tasks = new ArrayList<>(sliceCount);
+        int size = paramSQLStrings.size();
+        for (int i = 0; i < sliceCount; i++) {
+            BatchSlice batchSlice = new BatchSlice((int) ((long) size * i / sliceCount),
+                    (int) ((long) size * (i + 1) / sliceCount));
+            batchSlices.add(batchSlice);
+            tasks.add(() -> batchSlice.execute(null, client, sqlDatasource, paramSQLStrings,
+                    statementParameterProcessor, executionResults));
+        }
+        SQLWorkerThreadPool.invokeAll(tasks);
+
+        BatchSlice firstFailedSlice = null;
+        StringBuilder failedSlices = new StringBuilder();
+        int failedSliceCount = 0;
+        for (int i = 0; i < sliceCount; i++) {
+            BatchSlice batchSlice = batchSlices.get(i);
+            if (batchSlice.failure != null) {
+                failedSliceCount++;
+                if (firstFailedSlice == null) {
+                    firstFailedSlice = batchSlice;
+                } else {
+                    failedSlices.append(" Batch slice ").append(i).append(" of the statements ")
+                            .append(batchSlice.from).append(" to ").append(batchSlice.to - 1).append(" failed: ")
+                            .append(batchSlice.failure.getMessage()).append(".");
+                }
+            }
+        }
+        if (firstFailedSlice == null) {
+            return ValueCreator.createArrayValue(executionResults, getExecutionResultArrayType());
+        }
+        if (!(firstFailedSlice.failure instanceof SQLException)) {
+            return firstFailedSlice.getError(executionResults);
+        }
+        return ErrorGenerator.getSQLBatchExecuteError((SQLException) firstFailedSlice.failure,
+                getExecutedResults(executionResults), failedSliceCount + " of " + sliceCount +
+                        " batch slices failed." + failedSlices + " Error while executing batch slice of the " +
+                        "statements " + firstFailedSlice.from + " to " + (firstFailedSlice.to - 1) +
+                        " starting with: '" + firstFailedSlice.sqlQuery + "'. ");
+    }
+
+    private static int getBatchSliceCount(TransactionResourceManager trxResourceManager, BObject client,
+                                          SQLDatasource sqlDatasource, BArray paramSQLStrings) {
+        Object parallelism = client.getNativeData(Constants.BATCH_EXECUTE_PARALLELISM_DATA_FIELD);
+        if (parallelism == null || (trxResourceManager != null && Utils.isWithinTrxBlock(trxResourceManager))) {
+            return 1;
+        }
+        // The slices are bounded by the pool size, as each slice holds a connection until it completes.
+        int sliceCount = Math.min((int) parallelism, sqlDatasource.getMaximumPoolSize());
+        sliceCount = Math.min(sliceCount, paramSQLStrings.size() / MIN_BATCH_SLICE_SIZE);
+        if (sliceCount < 2 || !isSingleSqlQuery(paramSQLStrings)) {
+            return 1;
+        }
+        return sliceCount;
+    }
+
+    /**
+     * Returns whether all the statements of the batch are of the same SQL query. The slices of a batch are executed
+     * concurrently and committed independently, hence a batch of which a statement may depend on the effect of a
+     * statement of another SQL query is not split into slices.
+     */
+    private static boolean isSingleSqlQuery(BArray paramSQLStrings) {
+        Object[] paramSQLObjects = paramSQLStrings.getValues();
+        SqlQueryCache.CompiledQuery firstCompiledQuery = null;
+        for (int i = 0; i < paramSQLStrings.size(); i++) {
+            SqlQueryCache.CompiledQuery compiledQuery = getCompiledQuery((BObject) paramSQLObjects[i]);
+            if (firstCompiledQuery == null) {
+                firstCompiledQuery = compiledQuery;
+            } else if (compiledQuery != firstCompiledQuery &&
+                    !compiledQuery.getSqlQuery().equals(firstCompiledQuery.getSqlQuery())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Execute a batch of SQL statements and return only the summary of the execution, on the SQL worker thread
+     * pool. The generated keys are not requested and the execution results of the statements are not created.
+     * @param env environment of the calling strand
+     * @param client client object
+     * @param paramSQLStrings array of SQL string for the execute statement
+     * @return execution summary or error, or null if the batch is executed asynchronously
+     */
+    public static Object nativeBatchExecuteSummary(Environment env, BObject client, BArray paramSQLStrings) {
+        DefaultStatementParameterProcessor statementParameterProcessor =
+                DefaultStatementParameterProcessor.getInstance();
+        return SQLWorkerThreadPool.execute(env, trxResourceManager -> batchExecuteSummary(trxResourceManager,
+                client, paramSQLStrings, statementParameterProcessor));
+    }
+
+    /**
+     * Execute a batch of SQL statements and return only the summary of the execution. The statements are grouped
+     * by the SQL command as in {@link #nativeBatchExecute}.
+     * @param client client object
+     * @param paramSQLStrings array of SQL string for the execute statement
+     * @param statementParameterProcessor pre-processor of the statement
+     * @return execution summary or error
+     */
+    public static Object nativeBatchExecuteSummary(BObject client, BArray paramSQLStrings,
+                                                   DefaultStatementParameterProcessor statementParameterProcessor) {
+        return batchExecuteSummary(TransactionResourceManager.getInstance(), client, paramSQLStrings,
+                statementParameterProcessor);
+    }
+
+    private static Object batchExecuteSummary(TransactionResourceManager trxResourceManager, BObject client,
+                                              BArray paramSQLStrings,
+                                              DefaultStatementParameterProcessor statementParameterProcessor) {
         Object dbClient = client.getNativeData(Constants.DATABASE_CLIENT);
         if (dbClient != null) {
             SQLDatasource sqlDatasource = (SQLDatasource) dbClient;
             Connection connection = null;
             PreparedStatement statement = null;
-            ResultSet resultSet = null;
-            TransactionResourceManager trxResourceManager = TransactionResourceManager.getInstance();
             String sqlQuery = null;
-            List<BObject> parameters = new ArrayList<>();
-            List<BMap<BString, Object>> executionResults = new ArrayList<>();
+            BatchSummary summary = new BatchSummary();
+            BatchGroup batchGroup = null;
+            List<BatchGroup> batchGroups = null;
+            QueryTimer queryTimer = null;
             try {
-                Object[] paramSQLObjects = paramSQLStrings.getValues();
-                BObject parameterizedQuery = (BObject) paramSQLObjects[0];
-                sqlQuery = getSqlQuery(parameterizedQuery);
-                parameters.add(parameterizedQuery);
-                for (int i = 1; i < paramSQLStrings.size(); i++) {
-                    parameterizedQuery = (BObject) paramSQLObjects[i];
-                    String paramSQLQuery = getSqlQuery(parameterizedQuery);
-
-                    if (sqlQuery.equals(paramSQLQuery)) {
-                        parameters.add(parameterizedQuery);
-                    } else {
-                        return ErrorGenerator.getSQLApplicationError("Batch Execute cannot contain different SQL " +
-                                "commands. These has to be executed in different function calls");
-                    }
-                }
+                batchGroups = groupBySqlQuery(client, paramSQLStrings);
+                queryTimer = QueryTimer.start();
                 connection = SQLDatasource.getConnection(trxResourceManager, client, sqlDatasource);
-                statement = connection.prepareStatement(sqlQuery, Statement.RETURN_GENERATED_KEYS);
-                for (BObject param : parameters) {
-                    statementParameterProcessor.setParams(connection, statement, param);
-                    statement.addBatch();
-                }
-                int[] counts = statement.executeBatch();
-
-                if (!isDdlStatement(sqlQuery)) {
-                    resultSet = statement.getGeneratedKeys();
-                }
-                for (int count : counts) {
-                    Map<String, Object> resultField = new HashMap<>();
-                    resultField.put(Constants.AFFECTED_ROW_COUNT_FIELD, count);
-                    Object lastInsertedId = null;
-                    if (resultSet != null && resultSet.next()) {
-                        lastInsertedId = getGeneratedKeys(resultSet);
+                queryTimer.mark(QueryMetricsRegistry.Phase.ACQUIRE);
+                for (int i = 0; i < batchGroups.size(); i++) {
+                    batchGroup = batchGroups.get(i);
+                    sqlQuery = batchGroup.compiledQuery.getSqlQuery();
+                    MultiRowInsert multiRowInsert = getMultiRowInsert(client, statementParameterProcessor, batchGroup);
+                    if (multiRowInsert != null) {
+                        summary.addCounts(batchGroup, executeMultiRowInsert(sqlDatasource, connection,
+                                statementParameterProcessor, batchGroup, multiRowInsert,
+                                getBatchInsertRowCount(client), null));
+                        queryTimer.mark(QueryMetricsRegistry.Phase.EXECUTE);
+                        continue;
+                    }
+                    statement = sqlDatasource.getStatementCache().prepareStatement(connection, sqlQuery);
+                    for (BObject param : batchGroup.parameters) {
+                        statementParameterProcessor.setParams(connection, statement, param);
+                        statement.addBatch();
+                    }
+                    queryTimer.mark(QueryMetricsRegistry.Phase.PREPARE);
+                    summary.addCounts(batchGroup, statement.executeBatch());
+                    queryTimer.mark(QueryMetricsRegistry.Phase.EXECUTE);
+                    if (i < batchGroups.size() - 1) {
+                        closeResources(null, null, statement, null);
+                        statement = null;
                     }
-                    resultField.put(Constants.LAST_INSERTED_ID_FIELD, lastInsertedId);
-                    executionResults.add(ValueCreator.createRecordValue(ModuleUtils.getModule(),
-                            Constants.EXECUTION_RESULT_RECORD, resultField));
                 }
-                return ValueCreator.createArrayValue(executionResults.toArray(), TypeCreator.createArrayType(
-                        TypeCreator.createRecordType(
-                                Constants.EXECUTION_RESULT_RECORD, ModuleUtils.getModule(), 0, false, 0)));
+                queryTimer.record(QueryMetricsRegistry.Operation.BATCH_EXECUTE, getBatchSqlQuery(batchGroups),
+                        false);
+                return summary.toRecord();
             } catch (BatchUpdateException e) {
-                int[] updateCounts = e.getUpdateCounts();
-                for (int count : updateCounts) {
-                    Map<String, Object> resultField = new HashMap<>();
-                    resultField.put(Constants.AFFECTED_ROW_COUNT_FIELD, count);
-                    resultField.put(Constants.LAST_INSERTED_ID_FIELD, null);
-                    executionResults.add(ValueCreator.createRecordValue(ModuleUtils.getModule(),
-                            Constants.EXECUTION_RESULT_RECORD, resultField));
-                }
-                return ErrorGenerator.getSQLBatchExecuteError(e, executionResults,
+                StatementCache.checkException(statement, e);
+                summary.addCounts(batchGroup, e.getUpdateCounts());
+                return ErrorGenerator.getSQLBatchExecuteSummaryError(e, summary.toRecord(),
                         "Error while executing batch command starting with: '" + sqlQuery + "'.");
             } catch (SQLException e) {
+                StatementCache.checkException(statement, e);
                 return ErrorGenerator.getSQLDatabaseError(e, "Error while executing SQL batch " +
                         "command starting with : " + sqlQuery + ". ");
             } catch (ApplicationError | IOException e) {
                 return ErrorGenerator.getSQLApplicationError("Error while executing SQL query: "
                         + e.getMessage());
             } finally {
-                closeResources(trxResourceManager, resultSet, statement, connection);
+                closeResources(trxResourceManager, null, statement, connection);
+                invalidateQueryResultCache(trxResourceManager, client, batchGroups);
+                recordFailure(queryTimer, QueryMetricsRegistry.Operation.BATCH_EXECUTE,
+                        getBatchSqlQuery(batchGroups));
             }
         } else {
             return ErrorGenerator.getSQLApplicationError(
@@ -202,12 +420,384 @@ public class ExecuteProcessor {
         }
     }
 
-    private static boolean isDdlStatement(String query) {
-        String upperCaseQuery = query.trim().toUpperCase(Locale.ENGLISH);
-        return Arrays.stream(DdlKeyword.values()).anyMatch(ddlKeyword -> upperCaseQuery.startsWith(ddlKeyword.name()));
+    private static int getBatchInsertRowCount(BObject client) {
+        Object batchInsertRowCount = client.getNativeData(Constants.BATCH_INSERT_ROW_COUNT_DATA_FIELD);
+        return batchInsertRowCount == null ? 0 : (int) batchInsertRowCount;
     }
 
-    private enum DdlKeyword {
-        CREATE, ALTER, DROP, TRUNCATE, COMMENT, RENAME
+    /**
+     * Returns the multi row insert of a group of single row inserts, or null if the group is executed as a JDBC
+     * batch. The rows of a multi row insert are bound with the offset variant of the parameter setter, so a
+     * statement parameter processor which overrides the parameter setter of a single statement has its groups
+     * executed as JDBC batches through that setter.
+     */
+    private static MultiRowInsert getMultiRowInsert(BObject client,
+                                                    DefaultStatementParameterProcessor statementParameterProcessor,
+                                                    BatchGroup batchGroup) {
+        if (getBatchInsertRowCount(client) < 2 || batchGroup.parameters.size() < 2 ||
+                overridesSetParams(statementParameterProcessor.getClass())) {
+            return null;
+        }
+        String sqlQuery = batchGroup.compiledQuery.getSqlQuery();
+        if (SqlStatementClassifier.classify(sqlQuery) != SqlStatementClassifier.StatementKind.INSERT) {
+            return null;
+        }
+        return MultiRowInsert.getMultiRowInsert(sqlQuery, batchGroup.compiledQuery.getPlaceholderCount());
+    }
+
+    private static boolean overridesSetParams(Class<?> processorClass) {
+        if (processorClass == DefaultStatementParameterProcessor.class) {
+            return false;
+        }
+        return SET_PARAMS_OVERRIDES.computeIfAbsent(processorClass, key -> {
+            try {
+                Method setParams = key.getMethod("setParams", Connection.class, PreparedStatement.class,
+                        BObject.class);
+                Method setOffsetParams = key.getMethod("setParams", Connection.class, PreparedStatement.class,
+                        BObject.class, int.class);
+                return setParams.getDeclaringClass() != DefaultStatementParameterProcessor.class &&
+                        setParams.getDeclaringClass() != setOffsetParams.getDeclaringClass();
+            } catch (NoSuchMethodException e) {
+                return true;
+            }
+        });
+    }
+
+    /**
+     * Executes a group of single row inserts as multi row inserts. The returned counts are per row, so that they
+     * can be mapped to the statements of the batch. A failure is reported as a {@link BatchUpdateException} with
+     * the counts of the rows of the statements executed before the failed one.
+     */
+    private static int[] executeMultiRowInsert(SQLDatasource sqlDatasource, Connection connection,
+                                               DefaultStatementParameterProcessor statementParameterProcessor,
+                                               BatchGroup batchGroup, MultiRowInsert multiRowInsert,
+                                               int batchInsertRowCount, Object[] lastInsertedIds)
+            throws SQLException, ApplicationError, IOException {
+        List<BObject> parameters = batchGroup.parameters;
+        int[] counts = new int[parameters.size()];
+        int rowsPerStatement = multiRowInsert.getRowsPerStatement(batchInsertRowCount);
+        int executedRows = 0;
+        PreparedStatement statement = null;
+        int statementRows = 0;
+        ResultSet resultSet = null;
+        try {
+            while (executedRows < parameters.size()) {
+                int rows = Math.min(rowsPerStatement, parameters.size() - executedRows);
+                if (statement == null || rows != statementRows) {
+                    closeResources(null, null, statement, null);
+                    statement = null;
+                    statement = prepareStatement(sqlDatasource, connection, multiRowInsert.getSqlQuery(rows),
+                            lastInsertedIds != null);
+                    statementRows = rows;
+                }
+                for (int i = 0; i < rows; i++) {
+                    statementParameterProcessor.setParams(connection, statement, parameters.get(executedRows + i),
+                            i * multiRowInsert.getPlaceholderCount());
+                }
+                int count = statement.executeUpdate();
+                Arrays.fill(counts, executedRows, executedRows + rows, count == rows ? 1 : Statement.SUCCESS_NO_INFO);
+                if (lastInsertedIds != null) {
+                    resultSet = statement.getGeneratedKeys();
+                    for (int i = 0; i < rows && resultSet.next(); i++) {
+                        lastInsertedIds[executedRows + i] = getGeneratedKeys(resultSet);
+                    }
+                    resultSet.close();
+                    resultSet = null;
+                }
+                executedRows += rows;
+            }
+            return counts;
+        } catch (SQLException e) {
+            StatementCache.checkException(statement, e);
+            throw new BatchUpdateException(e.getMessage(), e.getSQLState(), e.getErrorCode(),
+                    Arrays.copyOf(counts, executedRows), e);
+        } finally {
+            closeResources(null, resultSet, statement, null);
+        }
+    }
+
+    private static ArrayType getExecutionResultArrayType() {
+        if (executionResultArrayType == null) {
+            executionResultArrayType = TypeCreator.createArrayType(TypeCreator.createRecordType(
+                    Constants.EXECUTION_RESULT_RECORD, ModuleUtils.getModule(), 0, false, 0));
+        }
+        return executionResultArrayType;
+    }
+
+    /**
+     * Invalidates the cached query results of the client which refer to the tables of the executed groups.
+     */
+    private static void invalidateQueryResultCache(TransactionResourceManager trxResourceManager, BObject client,
+                                                   List<BatchGroup> batchGroups) {
+        QueryResultCache resultCache = QueryResultCache.getCache(client);
+        if (resultCache != null) {
+            SQLTransactionContext transactionContext = SQLDatasource.getTransactionContext(trxResourceManager,
+                    client);
+            if (batchGroups == null) {
+                resultCache.invalidate(transactionContext, null);
+                return;
+            }
+            for (BatchGroup batchGroup : batchGroups) {
+                resultCache.invalidate(transactionContext, batchGroup.compiledQuery.getSqlQuery());
+            }
+        }
+    }
+
+    // Records the execution as failed, unless it is already recorded as completed.
+    private static void recordFailure(QueryTimer queryTimer, String operation, String sqlQuery) {
+        if (queryTimer != null) {
+            queryTimer.record(operation, sqlQuery, true);
+        }
+    }
+
+    // The batches are recorded under the SQL query of their first group.
+    private static String getBatchSqlQuery(List<BatchGroup> batchGroups) {
+        if (batchGroups == null || batchGroups.isEmpty()) {
+            return null;
+        }
+        return batchGroups.get(0).compiledQuery.getSqlQuery();
+    }
+
+    private static List<BatchGroup> groupBySqlQuery(BObject client, BArray paramSQLStrings) {
+        return groupBySqlQuery(client, paramSQLStrings, 0, paramSQLStrings.size());
+    }
+
+    /**
+     * Groups each run of consecutive statements of the same SQL query, so that the groups executed one after
+     * another keep the statements in the order of the batch. A statement is never moved ahead of a statement of
+     * another SQL query which precedes it, as it may depend on its effect. When the client groups the batch
+     * commands, all the statements of the same SQL query are grouped instead, in the order in which the SQL
+     * queries first appear, so that an interleaved batch is executed with one JDBC batch per SQL query.
+     */
+    private static List<BatchGroup> groupBySqlQuery(BObject client, BArray paramSQLStrings, int from, int to) {
+        Object[] paramSQLObjects = paramSQLStrings.getValues();
+        boolean groupCommands = client.getNativeData(Constants.GROUP_BATCH_COMMANDS_DATA_FIELD) != null;
+        Map<String, BatchGroup> batchGroupsBySqlQuery = groupCommands ? new HashMap<>() : null;
+        List<BatchGroup> batchGroups = new ArrayList<>();
+        BatchGroup lastBatchGroup = null;
+        for (int i = from; i < to; i++) {
+            BObject parameterizedQuery = (BObject) paramSQLObjects[i];
+            SqlQueryCache.CompiledQuery compiledQuery = getCompiledQuery(parameterizedQuery);
+            if (lastBatchGroup == null || (lastBatchGroup.compiledQuery != compiledQuery &&
+                    !lastBatchGroup.compiledQuery.getSqlQuery().equals(compiledQuery.getSqlQuery()))) {
+                lastBatchGroup = groupCommands ? batchGroupsBySqlQuery.get(compiledQuery.getSqlQuery()) : null;
+                if (lastBatchGroup == null) {
+                    lastBatchGroup = new BatchGroup(compiledQuery);
+                    batchGroups.add(lastBatchGroup);
+                    if (groupCommands) {
+                        batchGroupsBySqlQuery.put(compiledQuery.getSqlQuery(), lastBatchGroup);
+                    }
+                }
+            }
+            lastBatchGroup.add(i, parameterizedQuery);
+        }
+        return batchGroups;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static BMap<BString, Object>[] createExecutionResults(int size) {
+        return new BMap[size];
+    }
+
+    private static BMap<BString, Object> createExecutionResult(int count, Object lastInsertedId) {
+        Map<String, Object> resultField = new HashMap<>();
+        resultField.put(Constants.AFFECTED_ROW_COUNT_FIELD, count);
+        resultField.put(Constants.LAST_INSERTED_ID_FIELD, lastInsertedId);
+        return ValueCreator.createRecordValue(ModuleUtils.getModule(), Constants.EXECUTION_RESULT_RECORD,
+                resultField);
+    }
+
+    /**
+     * Returns the results of a failed batch up to the last executed statement, in the order of the statements in
+     * the batch. The statements before it which were not executed are reported as failed.
+     */
+    private static List<BMap<BString, Object>> getExecutedResults(BMap<BString, Object>[] executionResults) {
+        int executedCount = executionResults.length;
+        while (executedCount > 0 && executionResults[executedCount - 1] == null) {
+            executedCount--;
+        }
+        List<BMap<BString, Object>> executedResults = new ArrayList<>(executedCount);
+        for (int i = 0; i < executedCount; i++) {
+            executedResults.add(executionResults[i] != null ? executionResults[i] :
+                    createExecutionResult(Statement.EXECUTE_FAILED, null));
+        }
+        return executedResults;
+    }
+
+    private static PreparedStatement prepareStatement(SQLDatasource sqlDatasource, Connection connection,
+                                                      String sqlQuery, boolean returnGeneratedKeys)
+            throws SQLException {
+        if (returnGeneratedKeys) {
+            return sqlDatasource.getStatementCache().prepareStatement(connection, sqlQuery,
+                    Statement.RETURN_GENERATED_KEYS);
+        }
+        return sqlDatasource.getStatementCache().prepareStatement(connection, sqlQuery);
+    }
+
+    /**
+     * Accumulates the update counts of the executed batches of a summary only batch execution.
+     */
+    private static class BatchSummary {
+        private long affectedRowCount = 0;
+        private long executedQueryCount = 0;
+        private long batchCount = 0;
+        private final List<Integer> failedQueryIndices = new ArrayList<>();
+
+        private void addCounts(BatchGroup batchGroup, int[] counts) {
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] == Statement.EXECUTE_FAILED) {
+                    failedQueryIndices.add(batchGroup.positions.get(i));
+                } else if (counts[i] > 0) {
+                    affectedRowCount += counts[i];
+                }
+            }
+            // A driver which stops at the first failure of the batch reports the counts of the statements before
+            // the failed one.
+            if (counts.length < batchGroup.positions.size() && (counts.length == 0 ||
+                    counts[counts.length - 1] != Statement.EXECUTE_FAILED)) {
+                failedQueryIndices.add(batchGroup.positions.get(counts.length));
+            }
+            executedQueryCount += counts.length;
+            batchCount++;
+        }
+
+        private BMap<BString, Object> toRecord() {
+            long[] failedIndices = new long[failedQueryIndices.size()];
+            for (int i = 0; i < failedIndices.length; i++) {
+                failedIndices[i] = failedQueryIndices.get(i);
+            }
+            Arrays.sort(failedIndices);
+            Map<String, Object> summaryFields = new HashMap<>();
+            summaryFields.put(Constants.BatchExecuteSummaryFields.AFFECTED_ROW_COUNT, affectedRowCount);
+            summaryFields.put(Constants.BatchExecuteSummaryFields.EXECUTED_QUERY_COUNT, executedQueryCount);
+            summaryFields.put(Constants.BatchExecuteSummaryFields.CHUNK_COUNT, batchCount);
+            summaryFields.put(Constants.BatchExecuteSummaryFields.FAILED_QUERY_INDICES,
+                    ValueCreator.createArrayValue(failedIndices));
+            return ValueCreator.createRecordValue(ModuleUtils.getModule(), Constants.BATCH_EXECUTE_SUMMARY_RECORD,
+                    summaryFields);
+        }
+    }
+
+    /**
+     * A contiguous range of the statements of a batch, which is executed on a single connection.
+     */
+    private static class BatchSlice {
+        private final int from;
+        private final int to;
+        private String sqlQuery;
+        private Exception failure;
+
+        private BatchSlice(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        private void execute(TransactionResourceManager trxResourceManager, BObject client,
+                             SQLDatasource sqlDatasource, BArray paramSQLStrings,
+                             DefaultStatementParameterProcessor statementParameterProcessor,
+                             BMap<BString, Object>[] executionResults) {
+            Connection connection = null;
+            PreparedStatement statement = null;
+            ResultSet resultSet = null;
+            BatchGroup batchGroup = null;
+            List<BatchGroup> batchGroups = null;
+            QueryTimer queryTimer = null;
+            try {
+                batchGroups = groupBySqlQuery(client, paramSQLStrings, from, to);
+                queryTimer = QueryTimer.start();
+                connection = SQLDatasource.getConnection(trxResourceManager, client, sqlDatasource);
+                queryTimer.mark(QueryMetricsRegistry.Phase.ACQUIRE);
+                for (int i = 0; i < batchGroups.size(); i++) {
+                    batchGroup = batchGroups.get(i);
+                    sqlQuery = batchGroup.compiledQuery.getSqlQuery();
+                    boolean returnGeneratedKeys = SqlStatementClassifier.classify(sqlQuery).returnsGeneratedKeys();
+                    MultiRowInsert multiRowInsert = getMultiRowInsert(client, statementParameterProcessor, batchGroup);
+                    if (multiRowInsert != null) {
+                        Object[] lastInsertedIds = new Object[batchGroup.parameters.size()];
+                        int[] counts = executeMultiRowInsert(sqlDatasource, connection, statementParameterProcessor,
+                                batchGroup, multiRowInsert, getBatchInsertRowCount(client),
+                                returnGeneratedKeys ? lastInsertedIds : null);
+                        for (int j = 0; j < counts.length; j++) {
+                            executionResults[batchGroup.positions.get(j)] = createExecutionResult(counts[j],
+                                    lastInsertedIds[j]);
+                        }
+                        queryTimer.mark(QueryMetricsRegistry.Phase.EXECUTE);
+                        continue;
+                    }
+                    statement = prepareStatement(sqlDatasource, connection, sqlQuery, returnGeneratedKeys);
+                    for (BObject param : batchGroup.parameters) {
+                        statementParameterProcessor.setParams(connection, statement, param);
+                        statement.addBatch();
+                    }
+                    queryTimer.mark(QueryMetricsRegistry.Phase.PREPARE);
+                    int[] counts = statement.executeBatch();
+
+                    if (returnGeneratedKeys) {
+                        resultSet = statement.getGeneratedKeys();
+                    }
+                    for (int j = 0; j < counts.length; j++) {
+                        Object lastInsertedId = null;
+                        if (resultSet != null && resultSet.next()) {
+                            lastInsertedId = getGeneratedKeys(resultSet);
+                        }
+                        executionResults[batchGroup.positions.get(j)] = createExecutionResult(counts[j],
+                                lastInsertedId);
+                    }
+                    queryTimer.mark(QueryMetricsRegistry.Phase.EXECUTE);
+                    if (i < batchGroups.size() - 1) {
+                        closeResources(null, resultSet, statement, null);
+                        resultSet = null;
+                        statement = null;
+                    }
+                }
+                queryTimer.record(QueryMetricsRegistry.Operation.BATCH_EXECUTE, getBatchSqlQuery(batchGroups),
+                        false);
+            } catch (BatchUpdateException e) {
+                StatementCache.checkException(statement, e);
+                int[] updateCounts = e.getUpdateCounts();
+                for (int j = 0; j < updateCounts.length; j++) {
+                    executionResults[batchGroup.positions.get(j)] = createExecutionResult(updateCounts[j], null);
+                }
+                failure = e;
+            } catch (SQLException e) {
+                StatementCache.checkException(statement, e);
+                failure = e;
+            } catch (ApplicationError | IOException e) {
+                failure = e;
+            } finally {
+                closeResources(trxResourceManager, resultSet, statement, connection);
+                invalidateQueryResultCache(trxResourceManager, client, batchGroups);
+                recordFailure(queryTimer, QueryMetricsRegistry.Operation.BATCH_EXECUTE,
+                        getBatchSqlQuery(batchGroups));
+            }
+        }
+
+        private BError getError(BMap<BString, Object>[] executionResults) {
+            if (failure instanceof BatchUpdateException) {
+                return ErrorGenerator.getSQLBatchExecuteError((SQLException) failure,
+                        getExecutedResults(executionResults),
+                        "Error while executing batch command starting with: '" + sqlQuery + "'.");
+            } else if (failure instanceof SQLException) {
+                return ErrorGenerator.getSQLDatabaseError((SQLException) failure, "Error while executing SQL batch " +
+                        "command starting with : " + sqlQuery + ". ");
+            }
+            return ErrorGenerator.getSQLApplicationError("Error while executing SQL query: "
+                    + failure.getMessage());
+        }
+    }
+
+    private static class BatchGroup {
+        private final SqlQueryCache.CompiledQuery compiledQuery;
+        private final List<Integer> positions = new ArrayList<>();
+        private final List<BObject> parameters = new ArrayList<>();
+
+        private BatchGroup(SqlQueryCache.CompiledQuery compiledQuery) {
+            this.compiledQuery = compiledQuery;
+        }
+
+        private void add(int position, BObject parameterizedQuery) {
+            positions.add(position);
+            parameters.add(parameterizedQuery);
+        }
     }
 }
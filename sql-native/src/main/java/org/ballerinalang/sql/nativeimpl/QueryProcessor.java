@@ -19,6 +19,7 @@
 package org.ballerinalang.sql.nativeimpl;
 
 
+import io.ballerina.runtime.api.Environment;
 import io.ballerina.runtime.api.creators.TypeCreator;
 import io.ballerina.runtime.api.creators.ValueCreator;
 import io.ballerina.runtime.api.types.StructureType;
@@ -30,12 +31,18 @@ import io.ballerina.runtime.api.values.BTypedesc;
 import io.ballerina.runtime.transactions.TransactionResourceManager;
 import org.ballerinalang.sql.Constants;
 import org.ballerinalang.sql.datasource.SQLDatasource;
+import org.ballerinalang.sql.datasource.StatementCache;
 import org.ballerinalang.sql.exception.ApplicationError;
 import org.ballerinalang.sql.parameterprocessor.DefaultResultParameterProcessor;
 import org.ballerinalang.sql.parameterprocessor.DefaultStatementParameterProcessor;
 import org.ballerinalang.sql.utils.ColumnDefinition;
 import org.ballerinalang.sql.utils.ErrorGenerator;
 import org.ballerinalang.sql.utils.ModuleUtils;
+import org.ballerinalang.sql.utils.QueryMetricsRegistry;
+import org.ballerinalang.sql.utils.QueryOptions;
+import org.ballerinalang.sql.utils.QueryResultCache;
+import org.ballerinalang.sql.utils.QueryTimer;
+import org.ballerinalang.sql.utils.SQLWorkerThreadPool;
 import org.ballerinalang.sql.utils.Utils;
 
 import java.sql.Connection;
@@ -68,49 +75,144 @@ public class QueryProcessor {
             Object recordType,
             DefaultStatementParameterProcessor statementParameterProcessor,
             DefaultResultParameterProcessor resultParameterProcessor) {
+        return nativeQuery(client, paramSQLString, recordType, null, statementParameterProcessor,
+                resultParameterProcessor);
+    }
+
+    /**
+     * Query the database with the given query options and return results.
+     * @param client client object
+     * @param paramSQLString SQL string of the query
+     * @param recordType type description of the result record
+     * @param queryOptions `sql:QueryOptions` record of the query, or null to use the driver defaults
+     * @param statementParameterProcessor pre-processor of the statement
+     * @param resultParameterProcessor post-processor of the result
+     * @return result stream or error
+     */
+    public static BStream nativeQuery(
+            BObject client, Object paramSQLString,
+            Object recordType, Object queryOptions,
+            DefaultStatementParameterProcessor statementParameterProcessor,
+            DefaultResultParameterProcessor resultParameterProcessor) {
+        return query(TransactionResourceManager.getInstance(), client, paramSQLString, recordType, queryOptions,
+                statementParameterProcessor, resultParameterProcessor);
+    }
+
+    /**
+     * Query the database on the SQL worker thread pool, without blocking the calling strand. The records of the
+     * returned stream are read on the strand which iterates the stream.
+     * @param env environment of the calling strand
+     * @param client client object
+     * @param paramSQLString SQL string of the query
+     * @param recordType type description of the result record
+     * @param queryOptions `sql:QueryOptions` record of the query, or null to use the driver defaults
+     * @param statementParameterProcessor pre-processor of the statement
+     * @param resultParameterProcessor post-processor of the result
+     * @return result stream, or null if the query is executed asynchronously
+     */
+    public static Object nativeQuery(
+            Environment env, BObject client, Object paramSQLString,
+            Object recordType, Object queryOptions,
+            DefaultStatementParameterProcessor statementParameterProcessor,
+            DefaultResultParameterProcessor resultParameterProcessor) {
+        return SQLWorkerThreadPool.execute(env, trxResourceManager -> query(trxResourceManager, client,
+                paramSQLString, recordType, queryOptions, statementParameterProcessor, resultParameterProcessor));
+    }
+
+    private static BStream query(
+            TransactionResourceManager trxResourceManager, BObject client, Object paramSQLString,
+            Object recordType, Object queryOptions,
+            DefaultStatementParameterProcessor statementParameterProcessor,
+            DefaultResultParameterProcessor resultParameterProcessor) {
         Object dbClient = client.getNativeData(Constants.DATABASE_CLIENT);
-        TransactionResourceManager trxResourceManager = TransactionResourceManager.getInstance();
         if (dbClient != null) {
             SQLDatasource sqlDatasource = (SQLDatasource) dbClient;
             Connection connection = null;
             PreparedStatement statement = null;
             ResultSet resultSet = null;
             String sqlQuery = null;
+            QueryTimer queryTimer = null;
             try {
                 if (paramSQLString instanceof BString) {
                     sqlQuery = ((BString) paramSQLString).getValue();
                 } else {
                     sqlQuery = Utils.getSqlQuery((BObject) paramSQLString);
                 }
+                QueryOptions options = QueryOptions.fromRecord(queryOptions);
+                QueryResultCache resultCache = QueryResultCache.getCache(client);
+                QueryResultCache.Key cacheKey = null;
+                // The results are not cached within a transaction block, as they may not be committed yet.
+                if (resultCache != null && (trxResourceManager == null ||
+                        !Utils.isWithinTrxBlock(trxResourceManager))) {
+                    cacheKey = resultCache.createKey(sqlQuery, paramSQLString, recordType,
+                            options == null ? 0 : options.getMaxRows());
+                    QueryResultCache.CachedResult cachedResult = cacheKey == null ? null : resultCache.get(cacheKey);
+                    if (cachedResult != null) {
+                        BObject recordIterator = resultParameterProcessor.createRecordIterator(null, null, null,
+                                cachedResult.getColumnDefinitions(), cachedResult.getStreamConstraint());
+                        recordIterator.addNativeData(Constants.QUERY_RESULT_READER_DATA_FIELD,
+                                cachedResult.createReader());
+                        return ValueCreator.createStreamValue(
+                                TypeCreator.createStreamType(cachedResult.getStreamConstraint()), recordIterator);
+                    }
+                }
+                queryTimer = QueryTimer.start();
                 connection = SQLDatasource.getConnection(trxResourceManager, client, sqlDatasource);
-                statement = connection.prepareStatement(sqlQuery);
+                queryTimer.mark(QueryMetricsRegistry.Phase.ACQUIRE);
+                if (options == null) {
+                    statement = sqlDatasource.getStatementCache().prepareStatement(connection, sqlQuery);
+                } else {
+                    statement = options.prepareStatement(sqlDatasource.getStatementCache(), connection, sqlQuery);
+                }
                 if (paramSQLString instanceof BObject) {
                     statementParameterProcessor.setParams(connection, statement, (BObject) paramSQLString);
                 }
+                queryTimer.mark(QueryMetricsRegistry.Phase.PREPARE);
                 resultSet = statement.executeQuery();
                 List<ColumnDefinition> columnDefinitions;
                 StructureType streamConstraint;
                 if (recordType == null) {
-                    columnDefinitions = Utils.getColumnDefinitions(resultSet, null);
+                    columnDefinitions = Utils.getColumnDefinitions(sqlQuery, resultSet, null);
                     streamConstraint = Utils.getDefaultRecordType(columnDefinitions);
                 } else {
                     streamConstraint = (StructureType) ((BTypedesc) recordType).getDescribingType();
-                    columnDefinitions = Utils.getColumnDefinitions(resultSet, streamConstraint);
+                    columnDefinitions = Utils.getColumnDefinitions(sqlQuery, resultSet, streamConstraint);
+                }
+                queryTimer.mark(QueryMetricsRegistry.Phase.EXECUTE);
+                BObject recordIterator = resultParameterProcessor.createRecordIterator(resultSet, statement,
+                        connection, columnDefinitions, streamConstraint);
+                queryTimer.record(QueryMetricsRegistry.Operation.QUERY, sqlQuery, false);
+                if (queryTimer.isEnabled()) {
+                    recordIterator.addNativeData(Constants.QUERY_TIMER_DATA_FIELD, queryTimer);
+                }
+                if (cacheKey != null) {
+                    recordIterator.addNativeData(Constants.QUERY_RESULT_WRITER_DATA_FIELD,
+                            resultCache.createWriter(cacheKey, columnDefinitions, streamConstraint));
                 }
-                return ValueCreator.createStreamValue(TypeCreator.createStreamType(streamConstraint),
-                        resultParameterProcessor.createRecordIterator(resultSet, statement, connection,
-                                columnDefinitions, streamConstraint));
+                if (options != null) {
+                    options.attachAdaptiveFetchSize(recordIterator, resultSet);
+                    // The rows are not prefetched within a transaction block, as the connection is shared with the
+                    // other statements of the transaction.
+                    if (trxResourceManager == null || !Utils.isWithinTrxBlock(trxResourceManager)) {
+                        options.attachPrefetchSize(recordIterator);
+                    }
+                }
+                return ValueCreator.createStreamValue(TypeCreator.createStreamType(streamConstraint), recordIterator);
             } catch (SQLException e) {
+                recordFailure(queryTimer, sqlQuery);
+                StatementCache.checkException(statement, e);
                 Utils.closeResources(trxResourceManager, resultSet, statement, connection);
                 BError errorValue = ErrorGenerator.getSQLDatabaseError(e,
                         "Error while executing SQL query: " + sqlQuery + ". ");
                 return ValueCreator.createStreamValue(TypeCreator.createStreamType(Utils.getDefaultStreamConstraint()),
                         createRecordIterator(errorValue));
             } catch (ApplicationError applicationError) {
+                recordFailure(queryTimer, sqlQuery);
                 Utils.closeResources(trxResourceManager, resultSet, statement, connection);
                 BError errorValue = ErrorGenerator.getSQLApplicationError(applicationError.getMessage());
                 return getErrorStream(recordType, errorValue);
             } catch (Throwable e) {
+                recordFailure(queryTimer, sqlQuery);
                 Utils.closeResources(trxResourceManager, resultSet, statement, connection);
                 String message = e.getMessage();
                 if (message == null) {
@@ -126,6 +228,12 @@ public class QueryProcessor {
         }
     }
 
+    private static void recordFailure(QueryTimer queryTimer, String sqlQuery) {
+        if (queryTimer != null) {
+            queryTimer.record(QueryMetricsRegistry.Operation.QUERY, sqlQuery, true);
+        }
+    }
+
     private static BStream getErrorStream(Object recordType, BError errorValue) {
         if (recordType == null) {
             return ValueCreator.createStreamValue(
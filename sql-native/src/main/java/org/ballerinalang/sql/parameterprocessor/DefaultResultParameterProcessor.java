@@ -397,7 +397,7 @@ public class DefaultResultParameterProcessor extends AbstractResultParameterProc
     public Object convertBlob(Blob value, int sqlType, Type type) throws ApplicationError, SQLException {
         Utils.validatedInvalidFieldAssignment(sqlType, type, "SQL Blob");
         if (value != null) {
-            return ValueCreator.createArrayValue(value.getBytes(1L, (int) value.length()));
+            return ValueCreator.createArrayValue(Utils.getBytes(value));
         } else {
             return null;
         }
@@ -348,10 +348,26 @@ public class DefaultStatementParameterProcessor extends AbstractStatementParamet
 
     public void setParams(Connection connection, PreparedStatement preparedStatement, BObject paramString)
             throws SQLException, ApplicationError, IOException {
+        setParams(connection, preparedStatement, paramString, 0);
+    }
+
+    /**
+     * Sets the insertions of the parameterized query as the parameters of the statement which follow the given
+     * number of parameters, such as the parameters of a row of a multi row insert. A processor which overrides
+     * {@link #setParams(Connection, PreparedStatement, BObject)} without overriding this method has its batches of
+     * single row inserts executed as JDBC batches instead of multi row inserts.
+     *
+     * @param connection connection of the statement
+     * @param preparedStatement statement
+     * @param paramString parameterized query
+     * @param offset number of parameters of the statement before the insertions
+     */
+    public void setParams(Connection connection, PreparedStatement preparedStatement, BObject paramString,
+                          int offset) throws SQLException, ApplicationError, IOException {
         BArray arrayValue = paramString.getArrayValue(Constants.ParameterizedQueryFields.INSERTIONS);
         for (int i = 0; i < arrayValue.size(); i++) {
             Object object = arrayValue.get(i);
-            int index = i + 1;
+            int index = offset + i + 1;
             setSQLValueParam(connection, preparedStatement, index, object, false);
         }
     }
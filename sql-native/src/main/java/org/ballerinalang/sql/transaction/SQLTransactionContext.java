@@ -20,9 +20,12 @@ package org.ballerinalang.sql.transaction;
 import io.ballerina.runtime.api.creators.ErrorCreator;
 import io.ballerina.runtime.api.utils.StringUtils;
 import io.ballerina.runtime.transactions.BallerinaTransactionContext;
+import org.ballerinalang.sql.datasource.XAConnectionPool;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 
 import javax.transaction.xa.XAResource;
 
@@ -34,37 +37,91 @@ import javax.transaction.xa.XAResource;
 public class SQLTransactionContext implements BallerinaTransactionContext {
     private Connection conn;
     private XAResource xaResource;
+    private XAConnectionPool.PooledXAConnection pooledXAConnection;
+    private boolean rollbackIfNotCompleted;
+    private volatile boolean completed;
+    private final List<Runnable> completionTasks = new ArrayList<>();
 
     public SQLTransactionContext(Connection conn, XAResource resource) {
         this.conn = conn;
         this.xaResource = resource;
     }
 
+    public SQLTransactionContext(Connection conn, XAResource resource,
+                                 XAConnectionPool.PooledXAConnection pooledXAConnection) {
+        this.conn = conn;
+        this.xaResource = resource;
+        this.pooledXAConnection = pooledXAConnection;
+    }
+
     public SQLTransactionContext(Connection conn) {
         this.conn = conn;
     }
 
+    /**
+     * Creates the context of a local transaction.
+     *
+     * @param conn connection of the transaction
+     * @param rollbackIfNotCompleted whether the transaction is rolled back when the context is closed before the
+     *                               transaction is committed or rolled back, since the pool does not roll back the
+     *                               connections of which the auto commit mode is changed on the physical connection
+     */
+    public SQLTransactionContext(Connection conn, boolean rollbackIfNotCompleted) {
+        this.conn = conn;
+        this.rollbackIfNotCompleted = rollbackIfNotCompleted;
+    }
+
     public Connection getConnection() {
         return this.conn;
     }
 
+    /**
+     * Adds a task which is run once the transaction is committed or rolled back, such as invalidating the cached
+     * query results of the tables changed within the transaction.
+     *
+     * @param task task to run, which handles its own failures
+     */
+    public synchronized void addCompletionTask(Runnable task) {
+        completionTasks.add(task);
+    }
+
+    private void runCompletionTasks() {
+        List<Runnable> tasks;
+        synchronized (this) {
+            if (completionTasks.isEmpty()) {
+                return;
+            }
+            tasks = new ArrayList<>(completionTasks);
+            completionTasks.clear();
+        }
+        for (Runnable task : tasks) {
+            task.run();
+        }
+    }
+
     @Override
     public void commit() {
         try {
+            completed = true;
             conn.commit();
         } catch (SQLException e) {
             throw ErrorCreator.createError(StringUtils.fromString("transaction commit failed:" + e.getMessage()));
+        } finally {
+            runCompletionTasks();
         }
     }
 
     @Override
     public void rollback() {
         try {
+            completed = true;
             if (!conn.isClosed()) {
                 conn.rollback();
             }
         } catch (SQLException e) {
             throw ErrorCreator.createError(StringUtils.fromString("transaction rollback failed:" + e.getMessage()));
+        } finally {
+            runCompletionTasks();
         }
     }
 
@@ -72,10 +129,22 @@ public class SQLTransactionContext implements BallerinaTransactionContext {
     public void close() {
         try {
             if (!conn.isClosed()) {
-                conn.close();
+                try {
+                    if (rollbackIfNotCompleted && !completed) {
+                        conn.rollback();
+                    }
+                } finally {
+                    conn.close();
+                }
             }
         } catch (SQLException e) {
             throw ErrorCreator.createError(StringUtils.fromString("connection close failed:" + e.getMessage()));
+        } finally {
+            // The XA transactions are completed through the XA resource, hence their tasks are run once closed.
+            runCompletionTasks();
+            if (pooledXAConnection != null) {
+                pooledXAConnection.release();
+            }
         }
     }
 
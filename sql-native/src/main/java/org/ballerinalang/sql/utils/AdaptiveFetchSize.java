@@ -0,0 +1,83 @@
+/*
+ *  Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.ballerinalang.sql.utils;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class grows the fetch size of a result set while the rows are consumed. When a whole fetch window is
+ * consumed quickly, the fetch size is doubled so that fewer round trips are made to the database. The fetch size
+ * is bounded by the configured maximum and by the estimated row width, so that a fetch window of wide rows does
+ * not exceed the memory budget.
+ *
+ * @since 0.6.0
+ */
+class AdaptiveFetchSize {
+    private static final long FETCH_MEMORY_BUDGET = 4 * 1024 * 1024;
+    private static final int MAX_COLUMN_WIDTH = 4096;
+    private static final int DEFAULT_COLUMN_WIDTH = 16;
+    private static final long FAST_WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final int maxFetchSize;
+    private int fetchSize;
+    private int rowsInWindow = 0;
+    private long windowStartTime;
+
+    AdaptiveFetchSize(ResultSet resultSet, int initialFetchSize, int maxFetchSize) throws SQLException {
+        long rowWidth = estimateRowWidth(resultSet.getMetaData());
+        int memoryBoundFetchSize = (int) Math.max(1, FETCH_MEMORY_BUDGET / rowWidth);
+        this.fetchSize = initialFetchSize;
+        this.maxFetchSize = Math.max(initialFetchSize, Math.min(maxFetchSize, memoryBoundFetchSize));
+        this.windowStartTime = System.nanoTime();
+    }
+
+    /**
+     * Records that a row is read from the result set, and grows the fetch size once a fetch window is consumed
+     * within the time limit.
+     *
+     * @param resultSet result set of the query
+     */
+    void rowRead(ResultSet resultSet) throws SQLException {
+        if (++rowsInWindow < fetchSize) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (fetchSize < maxFetchSize && now - windowStartTime < FAST_WINDOW_NANOS) {
+            fetchSize = (int) Math.min((long) fetchSize * 2, maxFetchSize);
+            resultSet.setFetchSize(fetchSize);
+        }
+        rowsInWindow = 0;
+        windowStartTime = now;
+    }
+
+    private static long estimateRowWidth(ResultSetMetaData metaData) throws SQLException {
+        long rowWidth = 0;
+        for (int i = 1; i <= metaData.getColumnCount(); i++) {
+            int columnWidth = metaData.getColumnDisplaySize(i);
+            if (columnWidth <= 0) {
+                columnWidth = DEFAULT_COLUMN_WIDTH;
+            }
+            rowWidth += Math.min(columnWidth, MAX_COLUMN_WIDTH);
+        }
+        return Math.max(rowWidth, 1);
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ *  Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.ballerinalang.sql.utils;
+
+import io.ballerina.runtime.transactions.TransactionResourceManager;
+import org.ballerinalang.sql.datasource.SQLDatasource;
+import org.ballerinalang.sql.transaction.SQLTransactionContext;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+
+/**
+ * This class holds the connection and the statement of a streaming batch execution, which are kept open while
+ * the chunks of the parameterized queries are executed.
+ *
+ * @since 0.6.0
+ */
+class BatchExecuteSession {
+    final TransactionResourceManager trxResourceManager;
+    final SQLDatasource sqlDatasource;
+    final Connection connection;
+    final boolean commitPerChunk;
+    final QueryResultCache resultCache;
+    final SQLTransactionContext transactionContext;
+    PreparedStatement statement;
+    SqlQueryCache.CompiledQuery compiledQuery;
+
+    BatchExecuteSession(TransactionResourceManager trxResourceManager, SQLDatasource sqlDatasource,
+                        Connection connection, boolean commitPerChunk,
+                        QueryResultCache resultCache, SQLTransactionContext transactionContext) {
+        this.trxResourceManager = trxResourceManager;
+        this.sqlDatasource = sqlDatasource;
+        this.connection = connection;
+        this.commitPerChunk = commitPerChunk;
+        this.resultCache = resultCache;
+        this.transactionContext = transactionContext;
+    }
+}
@@ -0,0 +1,209 @@
+/*
+ *  Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.ballerinalang.sql.utils;
+
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BObject;
+import io.ballerina.runtime.transactions.TransactionResourceManager;
+import org.ballerinalang.sql.Constants;
+import org.ballerinalang.sql.datasource.SQLDatasource;
+import org.ballerinalang.sql.datasource.StatementCache;
+import org.ballerinalang.sql.exception.ApplicationError;
+import org.ballerinalang.sql.parameterprocessor.DefaultStatementParameterProcessor;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * This class provides the functionality of the `BatchExecuteSession`, which executes a stream of parameterized
+ * queries in chunks on a single connection.
+ *
+ * @since 0.6.0
+ */
+public class BatchExecuteSessionUtils {
+
+    private BatchExecuteSessionUtils() {
+    }
+
+    /**
+     * Starts the session by acquiring the connection used to execute the chunks. When the chunks are committed
+     * separately, the auto commit mode of the connection is disabled until the session is ended. If the session
+     * cannot be started, the connection is released and the session is left ended.
+     *
+     * @param session batch execute session object
+     * @param client client object
+     * @param commitPerChunk whether each chunk is committed after it is executed
+     * @return error if the session cannot be started
+     */
+    public static Object startBatchSession(BObject session, BObject client, boolean commitPerChunk) {
+        Object dbClient = client.getNativeData(Constants.DATABASE_CLIENT);
+        if (dbClient == null) {
+            return ErrorGenerator.getSQLApplicationError("Client is not properly initialized!");
+        }
+        TransactionResourceManager trxResourceManager = TransactionResourceManager.getInstance();
+        boolean inTransaction = trxResourceManager.isInTransaction() &&
+                trxResourceManager.getCurrentTransactionContext().hasTransactionBlock();
+        if (commitPerChunk && inTransaction) {
+            return ErrorGenerator.getSQLApplicationError("The chunks of a batch execution cannot be committed " +
+                    "separately within a transaction.");
+        }
+        SQLDatasource sqlDatasource = (SQLDatasource) dbClient;
+        Connection connection = null;
+        boolean started = false;
+        try {
+            connection = SQLDatasource.getConnection(trxResourceManager, client, sqlDatasource);
+            if (commitPerChunk) {
+                // The connection is left in the manual commit mode, until it is used outside of a transaction.
+                sqlDatasource.getSessionStateTracker().track(connection).setAutoCommit(false);
+            }
+            session.addNativeData(Constants.BATCH_EXECUTE_SESSION_DATA_FIELD,
+                    new BatchExecuteSession(trxResourceManager, sqlDatasource, connection, commitPerChunk,
+                            QueryResultCache.getCache(client),
+                            SQLDatasource.getTransactionContext(trxResourceManager, client)));
+            started = true;
+            return null;
+        } catch (SQLException e) {
+            return ErrorGenerator.getSQLDatabaseError(e, "Error while starting the batch execution. ");
+        } finally {
+            if (!started) {
+                // The session is left ended, so that its chunks are rejected and ending it is a no-op.
+                session.addNativeData(Constants.BATCH_EXECUTE_SESSION_DATA_FIELD, null);
+                Utils.closeResources(trxResourceManager, null, null, connection);
+            }
+        }
+    }
+
+    public static Object executeBatchChunk(BObject session, BArray paramSQLStrings) {
+        DefaultStatementParameterProcessor statementParameterProcessor = DefaultStatementParameterProcessor
+                .getInstance();
+        return executeBatchChunk(session, paramSQLStrings, statementParameterProcessor);
+    }
+
+    /**
+     * Executes a chunk of the parameterized queries as a single JDBC batch and commits it, if the chunks are
+     * committed separately.
+     *
+     * @param session batch execute session object
+     * @param paramSQLStrings parameterized queries of the chunk
+     * @param statementParameterProcessor pre-processor of the statement
+     * @return total number of rows affected by the chunk or error
+     */
+    public static Object executeBatchChunk(BObject session, BArray paramSQLStrings,
+                                           DefaultStatementParameterProcessor statementParameterProcessor) {
+        BatchExecuteSession batchSession = (BatchExecuteSession) session
+                .getNativeData(Constants.BATCH_EXECUTE_SESSION_DATA_FIELD);
+        if (batchSession == null) {
+            return ErrorGenerator.getSQLApplicationError("Batch execution is already ended.");
+        }
+        if (paramSQLStrings.size() == 0) {
+            return 0L;
+        }
+        try {
+            Object[] paramSQLObjects = paramSQLStrings.getValues();
+            for (int i = 0; i < paramSQLStrings.size(); i++) {
+                BObject parameterizedQuery = (BObject) paramSQLObjects[i];
+                SqlQueryCache.CompiledQuery compiledQuery = Utils.getCompiledQuery(parameterizedQuery);
+                if (batchSession.statement == null) {
+                    batchSession.compiledQuery = compiledQuery;
+                    batchSession.statement = batchSession.sqlDatasource.getStatementCache()
+                            .prepareStatement(batchSession.connection, compiledQuery.getSqlQuery());
+                } else if (batchSession.compiledQuery != compiledQuery &&
+                        !batchSession.compiledQuery.getSqlQuery().equals(compiledQuery.getSqlQuery())) {
+                    return ErrorGenerator.getSQLApplicationError("Batch Execute cannot contain different SQL " +
+                            "commands. These has to be executed in different function calls");
+                }
+                statementParameterProcessor.setParams(batchSession.connection, batchSession.statement,
+                        parameterizedQuery);
+                batchSession.statement.addBatch();
+            }
+            long affectedRowCount = 0;
+            for (int count : batchSession.statement.executeBatch()) {
+                if (count > 0) {
+                    affectedRowCount += count;
+                }
+            }
+            if (batchSession.commitPerChunk) {
+                batchSession.connection.commit();
+            }
+            return affectedRowCount;
+        } catch (SQLException e) {
+            StatementCache.checkException(batchSession.statement, e);
+            rollbackChunk(batchSession);
+            return ErrorGenerator.getSQLDatabaseError(e, "Error while executing the batch chunk starting with: "
+                    + batchSession.compiledQuery.getSqlQuery() + ". ");
+        } catch (ApplicationError | IOException e) {
+            rollbackChunk(batchSession);
+            return ErrorGenerator.getSQLApplicationError("Error while executing the batch chunk: "
+                    + e.getMessage());
+        }
+    }
+
+    /**
+     * Ends the session and releases the connection. When the chunks are committed separately, the last chunk is
+     * committed or rolled back and the auto commit mode of the connection is restored.
+     *
+     * @param session batch execute session object
+     * @param commit whether the uncommitted chunk is committed
+     * @return error if the session cannot be ended cleanly
+     */
+    public static Object endBatchSession(BObject session, boolean commit) {
+        BatchExecuteSession batchSession = (BatchExecuteSession) session
+                .getNativeData(Constants.BATCH_EXECUTE_SESSION_DATA_FIELD);
+        if (batchSession == null) {
+            return null;
+        }
+        session.addNativeData(Constants.BATCH_EXECUTE_SESSION_DATA_FIELD, null);
+        Statement statement = batchSession.statement;
+        try {
+            if (batchSession.commitPerChunk) {
+                if (commit) {
+                    batchSession.connection.commit();
+                } else {
+                    batchSession.connection.rollback();
+                }
+            }
+            return null;
+        } catch (SQLException e) {
+            return ErrorGenerator.getSQLDatabaseError(e, "Error while ending the batch execution. ");
+        } finally {
+            Utils.closeResources(batchSession.trxResourceManager, null, statement, batchSession.connection);
+            if (batchSession.resultCache != null && batchSession.compiledQuery != null) {
+                batchSession.resultCache.invalidate(batchSession.transactionContext,
+                        batchSession.compiledQuery.getSqlQuery());
+            }
+        }
+    }
+
+    private static void rollbackChunk(BatchExecuteSession batchSession) {
+        if (batchSession.statement != null) {
+            try {
+                batchSession.statement.clearBatch();
+            } catch (SQLException ignored) {
+            }
+        }
+        if (batchSession.commitPerChunk) {
+            try {
+                batchSession.connection.rollback();
+            } catch (SQLException ignored) {
+            }
+        }
+    }
+}
@@ -0,0 +1,204 @@
+/*
+ *  Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.ballerinalang.sql.utils;
+
+import io.ballerina.runtime.api.types.Field;
+import io.ballerina.runtime.api.types.StructureType;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * This class caches the resolved column definitions of the query results, keyed by the SQL query and the
+ * record type, together with a case insensitive field index of the record types and the default record types
+ * generated for the untyped queries.
+ *
+ * @since 0.6.0
+ */
+public class ColumnDefinitionCache {
+
+    static final int MAX_CACHE_SIZE = 512;
+
+    private static final Object UNTYPED_RESULT = new Object();
+    private static final Map<CacheKey, CacheEntry> columnDefinitions = new ConcurrentHashMap<>();
+    private static final Map<StructureType, Map<String, Field>> fieldIndexes = new ConcurrentHashMap<>();
+    private static final Map<List<ColumnMetadata>, StructureType> defaultRecordTypes = new ConcurrentHashMap<>();
+    private static final AtomicLong hitCount = new AtomicLong(0);
+    private static final AtomicLong missCount = new AtomicLong(0);
+
+    private ColumnDefinitionCache() {
+    }
+
+    /**
+     * Returns the cached column definitions for the given query and record type, if the result set columns
+     * are the same as the columns which were used to resolve the cached definitions.
+     *
+     * @param sqlQuery SQL query which produced the result set
+     * @param streamConstraint record type of the result, or null for untyped queries
+     * @param columns column metadata of the current result set
+     * @return the cached column definitions or null if there is no valid entry
+     */
+    static List<ColumnDefinition> get(String sqlQuery, StructureType streamConstraint, List<ColumnMetadata> columns) {
+        CacheEntry entry = columnDefinitions.get(new CacheKey(sqlQuery, streamConstraint));
+        if (entry != null && entry.columns.equals(columns)) {
+            hitCount.incrementAndGet();
+            return entry.columnDefinitions;
+        }
+        missCount.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * Caches the resolved column definitions. An existing entry of the same query and record type is replaced,
+     * so that the entries resolved for a previous result shape are invalidated.
+     *
+     * @param sqlQuery SQL query which produced the result set
+     * @param streamConstraint record type of the result, or null for untyped queries
+     * @param columns column metadata of the result set
+     * @param definitions column definitions resolved for the columns
+     * @return the unmodifiable view of the cached column definitions
+     */
+    static List<ColumnDefinition> put(String sqlQuery, StructureType streamConstraint, List<ColumnMetadata> columns,
+                                      List<ColumnDefinition> definitions) {
+        List<ColumnDefinition> cachedDefinitions = Collections.unmodifiableList(definitions);
+        evictIfFull(columnDefinitions);
+        columnDefinitions.put(new CacheKey(sqlQuery, streamConstraint), new CacheEntry(columns, cachedDefinitions));
+        return cachedDefinitions;
+    }
+
+    /**
+     * Returns the case insensitive index of the fields of the record type. When multiple fields match the same
+     * name ignoring the case, the first field in the declaration order is indexed.
+     *
+     * @param streamConstraint record type
+     * @return map of the record fields, which uses case insensitive key comparison
+     */
+    static Map<String, Field> getFieldIndex(StructureType streamConstraint) {
+        Map<String, Field> fieldIndex = fieldIndexes.get(streamConstraint);
+        if (fieldIndex == null) {
+            Map<String, Field> newFieldIndex = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            for (Map.Entry<String, Field> field : streamConstraint.getFields().entrySet()) {
+                newFieldIndex.putIfAbsent(field.getKey(), field.getValue());
+            }
+            fieldIndex = Collections.unmodifiableMap(newFieldIndex);
+            evictIfFull(fieldIndexes);
+            fieldIndexes.put(streamConstraint, fieldIndex);
+        }
+        return fieldIndex;
+    }
+
+    /**
+     * Returns the default record type of the given columns, creating it if it is not cached. The record types are
+     * keyed by the column signature, so that the untyped queries with the same columns share the record type.
+     *
+     * @param columnDefinitions column definitions of the result
+     * @param recordTypeCreator creates the record type if it is not cached
+     * @return the default record type
+     */
+    static StructureType getDefaultRecordType(List<ColumnDefinition> columnDefinitions,
+                                              Function<List<ColumnDefinition>, StructureType> recordTypeCreator) {
+        List<ColumnMetadata> columns = new ArrayList<>(columnDefinitions.size());
+        for (ColumnDefinition column : columnDefinitions) {
+            columns.add(new ColumnMetadata(column.getColumnName(), column.getSqlType(), column.getSqlName(),
+                    column.isNullable()));
+        }
+        StructureType recordType = defaultRecordTypes.get(columns);
+        if (recordType == null) {
+            recordType = recordTypeCreator.apply(columnDefinitions);
+            evictIfFull(defaultRecordTypes);
+            StructureType existingRecordType = defaultRecordTypes.putIfAbsent(columns, recordType);
+            if (existingRecordType != null) {
+                recordType = existingRecordType;
+            }
+        }
+        return recordType;
+    }
+
+    public static long getHitCount() {
+        return hitCount.get();
+    }
+
+    public static long getMissCount() {
+        return missCount.get();
+    }
+
+    public static int size() {
+        return columnDefinitions.size();
+    }
+
+    public static void clear() {
+        columnDefinitions.clear();
+        fieldIndexes.clear();
+        defaultRecordTypes.clear();
+    }
+
+    private static void evictIfFull(Map<?, ?> cache) {
+        if (cache.size() >= MAX_CACHE_SIZE) {
+            Iterator<?> iterator = cache.keySet().iterator();
+            if (iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        }
+    }
+
+    private static class CacheKey {
+        private final String sqlQuery;
+        private final Object recordType;
+
+        CacheKey(String sqlQuery, StructureType streamConstraint) {
+            this.sqlQuery = sqlQuery;
+            this.recordType = streamConstraint != null ? streamConstraint : UNTYPED_RESULT;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == this) {
+                return true;
+            }
+            if (!(obj instanceof CacheKey)) {
+                return false;
+            }
+            CacheKey other = (CacheKey) obj;
+            return recordType == other.recordType && sqlQuery.equals(other.sqlQuery);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * sqlQuery.hashCode() + System.identityHashCode(recordType);
+        }
+    }
+
+    private static class CacheEntry {
+        private final List<ColumnMetadata> columns;
+        private final List<ColumnDefinition> columnDefinitions;
+
+        CacheEntry(List<ColumnMetadata> columns, List<ColumnDefinition> columnDefinitions) {
+            this.columns = columns;
+            this.columnDefinitions = columnDefinitions;
+        }
+    }
+}
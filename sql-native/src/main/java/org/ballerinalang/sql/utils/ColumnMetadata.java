@@ -0,0 +1,75 @@
+/*
+ *  Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.ballerinalang.sql.utils;
+
+import java.util.Objects;
+
+/**
+ * This class holds the metadata of a single column of the result set, which is used to resolve the
+ * column definition.
+ *
+ * @since 0.6.0
+ */
+class ColumnMetadata {
+    private final String columnName;
+    private final int sqlType;
+    private final String sqlTypeName;
+    private final boolean isNullable;
+
+    ColumnMetadata(String columnName, int sqlType, String sqlTypeName, boolean isNullable) {
+        this.columnName = columnName;
+        this.sqlType = sqlType;
+        this.sqlTypeName = sqlTypeName;
+        this.isNullable = isNullable;
+    }
+
+    String getColumnName() {
+        return columnName;
+    }
+
+    int getSqlType() {
+        return sqlType;
+    }
+
+    String getSqlTypeName() {
+        return sqlTypeName;
+    }
+
+    boolean isNullable() {
+        return isNullable;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof ColumnMetadata)) {
+            return false;
+        }
+        ColumnMetadata other = (ColumnMetadata) obj;
+        return sqlType == other.sqlType && isNullable == other.isNullable &&
+                Objects.equals(columnName, other.columnName) && Objects.equals(sqlTypeName, other.sqlTypeName);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(columnName, sqlType, sqlTypeName, isNullable);
+    }
+}
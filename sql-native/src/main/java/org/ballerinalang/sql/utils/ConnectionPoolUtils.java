@@ -19,6 +19,7 @@ package org.ballerinalang.sql.utils;
 
 import io.ballerina.runtime.api.values.BMap;
 import io.ballerina.runtime.api.values.BString;
+import org.ballerinalang.sql.datasource.PoolRegistryMetrics;
 import org.ballerinalang.sql.datasource.SQLDatasource;
 
 import java.util.concurrent.ConcurrentHashMap;
@@ -33,4 +34,8 @@ public class ConnectionPoolUtils {
     public static void initGlobalPoolContainer(BMap<BString, Object> poolConfig) {
         SQLDatasource.putDatasourceContainer(poolConfig, new ConcurrentHashMap<>());
     }
+
+    public static BMap<BString, Object> getPoolRegistryMetrics() {
+        return PoolRegistryMetrics.getPoolRegistryMetrics();
+    }
 }
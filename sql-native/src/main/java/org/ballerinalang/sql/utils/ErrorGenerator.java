@@ -51,6 +51,20 @@ public class ErrorGenerator {
         return getSQLBatchExecuteError(errorMessage, vendorCode, sqlState, executionResults);
     }
 
+    public static BError getSQLBatchExecuteSummaryError(SQLException exception, BMap<BString, Object> summary,
+                                                        String messagePrefix) {
+        String sqlErrorMessage =
+                exception.getMessage() != null ? exception.getMessage() : Constants.BATCH_EXECUTE_ERROR_MESSAGE;
+        Map<String, Object> valueMap = new HashMap<>();
+        valueMap.put(Constants.ErrorRecordFields.ERROR_CODE, exception.getErrorCode());
+        valueMap.put(Constants.ErrorRecordFields.SQL_STATE, exception.getSQLState());
+        valueMap.put(Constants.ErrorRecordFields.SUMMARY, summary);
+        BMap<BString, Object> sqlClientErrorDetailRecord = ValueCreator.createRecordValue(ModuleUtils.getModule(),
+                Constants.BATCH_EXECUTE_SUMMARY_ERROR_DETAIL, valueMap);
+        return ErrorCreator.createError(ModuleUtils.getModule(), Constants.BATCH_EXECUTE_SUMMARY_ERROR,
+                StringUtils.fromString(messagePrefix + sqlErrorMessage + "."), null, sqlClientErrorDetailRecord);
+    }
+
     public static BError getSQLDatabaseError(SQLException exception, String messagePrefix) {
         String sqlErrorMessage =
                 exception.getMessage() != null ? exception.getMessage() : Constants.DATABASE_ERROR_MESSAGE;
@@ -0,0 +1,138 @@
+/*
+ *  Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.ballerinalang.sql.utils;
+
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BDecimal;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import org.ballerinalang.sql.Constants;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class holds a histogram of latencies with fixed bucket bounds. The latencies are recorded without locking,
+ * and a snapshot of the histogram may not include the latencies recorded while it is taken.
+ *
+ * @since 0.6.0
+ */
+public class LatencyHistogram {
+
+    private final long[] boundsMicros;
+    private final AtomicLongArray bucketCounts;
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sumNanos = new LongAdder();
+
+    /**
+     * Creates a histogram with the given bucket bounds. The latencies larger than the last bound are only counted
+     * in the total count.
+     *
+     * @param boundsMicros upper bounds of the buckets in microseconds, in the ascending order
+     */
+    public LatencyHistogram(long[] boundsMicros) {
+        this.boundsMicros = boundsMicros;
+        this.bucketCounts = new AtomicLongArray(boundsMicros.length);
+    }
+
+    public void record(long nanos) {
+        count.increment();
+        sumNanos.add(nanos);
+        long micros = TimeUnit.NANOSECONDS.toMicros(nanos);
+        for (int i = 0; i < boundsMicros.length; i++) {
+            if (micros <= boundsMicros[i]) {
+                bucketCounts.incrementAndGet(i);
+                break;
+            }
+        }
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getSumNanos() {
+        return sumNanos.sum();
+    }
+
+    long[] getBoundsMicros() {
+        return boundsMicros;
+    }
+
+    /**
+     * Returns the number of latencies which are less than or equal to each bucket bound.
+     *
+     * @return the cumulative counts of the buckets
+     */
+    long[] getCumulativeCounts() {
+        long[] cumulativeCounts = new long[boundsMicros.length];
+        long cumulativeCount = 0;
+        for (int i = 0; i < cumulativeCounts.length; i++) {
+            cumulativeCount += bucketCounts.get(i);
+            cumulativeCounts[i] = cumulativeCount;
+        }
+        return cumulativeCounts;
+    }
+
+    /**
+     * Creates the `sql:LatencyBucket` records of the cumulative counts of the buckets.
+     *
+     * @return array of latency bucket records
+     */
+    public BArray createBuckets() {
+        long[] cumulativeCounts = getCumulativeCounts();
+        BMap<BString, Object>[] buckets = new BMap[boundsMicros.length];
+        for (int i = 0; i < buckets.length; i++) {
+            Map<String, Object> bucket = new HashMap<>();
+            bucket.put(Constants.LatencyHistogramFields.UPPER_BOUND, toSeconds(boundsMicros[i], TimeUnit.MICROSECONDS));
+            bucket.put(Constants.LatencyHistogramFields.COUNT, cumulativeCounts[i]);
+            buckets[i] = ValueCreator.createRecordValue(ModuleUtils.getModule(), Constants.LATENCY_BUCKET_RECORD,
+                    bucket);
+        }
+        return ValueCreator.createArrayValue(buckets, TypeCreator.createArrayType(buckets[0].getType()));
+    }
+
+    /**
+     * Creates the `sql:LatencyHistogram` record of the histogram.
+     *
+     * @return latency histogram record
+     */
+    public BMap<BString, Object> toRecord() {
+        Map<String, Object> histogram = new HashMap<>();
+        histogram.put(Constants.LatencyHistogramFields.COUNT, getCount());
+        histogram.put(Constants.LatencyHistogramFields.SUM, toSeconds(getSumNanos(), TimeUnit.NANOSECONDS));
+        histogram.put(Constants.LatencyHistogramFields.BUCKETS, createBuckets());
+        return ValueCreator.createRecordValue(ModuleUtils.getModule(), Constants.LATENCY_HISTOGRAM_RECORD,
+                histogram);
+    }
+
+    public static BDecimal toSeconds(long duration, TimeUnit timeUnit) {
+        return ValueCreator.createDecimalValue(getSeconds(duration, timeUnit));
+    }
+
+    static BigDecimal getSeconds(long duration, TimeUnit timeUnit) {
+        return BigDecimal.valueOf(duration).divide(BigDecimal.valueOf(timeUnit.convert(1, TimeUnit.SECONDS)));
+    }
+}
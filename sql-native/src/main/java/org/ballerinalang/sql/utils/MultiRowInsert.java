@@ -0,0 +1,170 @@
+/*
+ *  Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.ballerinalang.sql.utils;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This class rewrites a single row `INSERT ... VALUES (?, ...)` statement into a statement which inserts multiple
+ * rows with a single `VALUES (?, ...), (?, ...)` clause, so that a batch of inserts is sent in fewer round trips on
+ * the drivers which do not rewrite the batches themselves. The statements which cannot be rewritten, such as the
+ * ones with clauses after the values or parameters outside the values, are left as they are.
+ *
+ * @since 0.6.0
+ */
+public class MultiRowInsert {
+
+    static final int MAX_CACHE_SIZE = 1024;
+    // Stays below the parameter limits of the common drivers, such as the 2100 parameters of SQL Server.
+    static final int MAX_PARAMETER_COUNT = 2000;
+
+    private static final MultiRowInsert NOT_REWRITABLE = new MultiRowInsert(null, null, 0);
+    private static final Map<String, MultiRowInsert> multiRowInserts = new ConcurrentHashMap<>();
+
+    private final String insertPrefix;
+    private final String valuesRow;
+    private final int placeholderCount;
+
+    private MultiRowInsert(String insertPrefix, String valuesRow, int placeholderCount) {
+        this.insertPrefix = insertPrefix;
+        this.valuesRow = valuesRow;
+        this.placeholderCount = placeholderCount;
+    }
+
+    /**
+     * Returns the multi row rewrite of a single row insert statement.
+     *
+     * @param sqlQuery SQL query of the insert statement
+     * @param placeholderCount number of parameter placeholders of the statement
+     * @return the multi row rewrite, or null if the statement cannot be rewritten
+     */
+    public static MultiRowInsert getMultiRowInsert(String sqlQuery, int placeholderCount) {
+        MultiRowInsert multiRowInsert = multiRowInserts.get(sqlQuery);
+        if (multiRowInsert == null) {
+            multiRowInsert = parse(sqlQuery, placeholderCount);
+            if (multiRowInserts.size() >= MAX_CACHE_SIZE) {
+                Iterator<String> iterator = multiRowInserts.keySet().iterator();
+                if (iterator.hasNext()) {
+                    iterator.next();
+                    iterator.remove();
+                }
+            }
+            multiRowInserts.put(sqlQuery, multiRowInsert);
+        }
+        return multiRowInsert == NOT_REWRITABLE ? null : multiRowInsert;
+    }
+
+    public int getPlaceholderCount() {
+        return placeholderCount;
+    }
+
+    /**
+     * Returns the number of rows inserted by a single statement, bounded by the requested rows and the maximum
+     * parameter count of a statement.
+     *
+     * @param maxRowCount requested number of rows per statement
+     * @return number of rows per statement
+     */
+    public int getRowsPerStatement(int maxRowCount) {
+        if (placeholderCount == 0) {
+            return maxRowCount;
+        }
+        return Math.max(1, Math.min(maxRowCount, MAX_PARAMETER_COUNT / placeholderCount));
+    }
+
+    /**
+     * Returns the SQL query which inserts the given number of rows.
+     *
+     * @param rowCount number of rows
+     * @return SQL query
+     */
+    public String getSqlQuery(int rowCount) {
+        StringBuilder sqlQuery = new StringBuilder(insertPrefix.length() + rowCount * (valuesRow.length() + 2));
+        sqlQuery.append(insertPrefix);
+        for (int i = 0; i < rowCount; i++) {
+            if (i > 0) {
+                sqlQuery.append(", ");
+            }
+            sqlQuery.append(valuesRow);
+        }
+        return sqlQuery.toString();
+    }
+
+    private static MultiRowInsert parse(String sqlQuery, int placeholderCount) {
+        int length = sqlQuery.length();
+        int depth = 0;
+        int valuesEnd = -1;
+        int rowStart = -1;
+        int rowEnd = -1;
+        int rowPlaceholders = 0;
+        int position = 0;
+        while (position < length) {
+            char c = sqlQuery.charAt(position);
+            if (rowEnd >= 0 && !Character.isWhitespace(c) && c != ';') {
+                // A clause after the values, such as `ON DUPLICATE KEY UPDATE` or `RETURNING`.
+                return NOT_REWRITABLE;
+            }
+            if (c == '-' && position + 1 < length && sqlQuery.charAt(position + 1) == '-' ||
+                    c == '/' && position + 1 < length && sqlQuery.charAt(position + 1) == '*') {
+                return NOT_REWRITABLE;
+            } else if (c == '\'' || c == '"' || c == '`') {
+                int end = sqlQuery.indexOf(c, position + 1);
+                if (end < 0) {
+                    return NOT_REWRITABLE;
+                }
+                position = end + 1;
+                continue;
+            } else if (c == '?') {
+                if (rowStart < 0) {
+                    return NOT_REWRITABLE;
+                }
+                rowPlaceholders++;
+            } else if (c == '(') {
+                if (depth == 0 && valuesEnd >= 0 && rowStart < 0) {
+                    rowStart = position;
+                }
+                depth++;
+            } else if (c == ')') {
+                depth--;
+                if (depth == 0 && rowStart >= 0) {
+                    rowEnd = position + 1;
+                }
+            } else if (depth == 0 && valuesEnd < 0 && Character.isLetter(c)) {
+                int start = position;
+                while (position < length && Character.isLetterOrDigit(sqlQuery.charAt(position))) {
+                    position++;
+                }
+                if (sqlQuery.regionMatches(true, start, "VALUES", 0, position - start) && position - start == 6) {
+                    valuesEnd = position;
+                }
+                continue;
+            } else if (depth == 0 && valuesEnd >= 0 && rowStart < 0 && !Character.isWhitespace(c)) {
+                return NOT_REWRITABLE;
+            }
+            position++;
+        }
+        if (rowEnd < 0 || rowPlaceholders != placeholderCount) {
+            return NOT_REWRITABLE;
+        }
+        return new MultiRowInsert(sqlQuery.substring(0, rowStart), sqlQuery.substring(rowStart, rowEnd),
+                placeholderCount);
+    }
+}
@@ -25,6 +25,7 @@ import io.ballerina.runtime.api.values.BObject;
 import io.ballerina.runtime.api.values.BStream;
 import io.ballerina.runtime.api.values.BTypedesc;
 import org.ballerinalang.sql.Constants;
+import org.ballerinalang.sql.datasource.StatementCache;
 import org.ballerinalang.sql.exception.ApplicationError;
 import org.ballerinalang.sql.parameterprocessor.DefaultResultParameterProcessor;
 
@@ -97,6 +98,7 @@ public class ProcedureCallResultUtils {
             }
             return moreResults;
         } catch (SQLException e) {
+            StatementCache.checkException(statement, e);
             return ErrorGenerator.getSQLDatabaseError(e, "Error when accessing the next query result.");
         } catch (ApplicationError e) {
             return ErrorGenerator.getSQLApplicationError("Error when accessing the next query result. "
@@ -0,0 +1,261 @@
+/*
+ *  Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.ballerinalang.sql.utils;
+
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import org.ballerinalang.sql.Constants;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class holds the latency metrics of the SQL queries executed through the clients. The metrics are kept per
+ * client operation and SQL query compiled from the parameterized query, so that the executions of a query with
+ * different parameter values are recorded together. The latencies of each phase of the execution are recorded in
+ * histograms without locking. The metrics are recorded only when they are enabled through the
+ * `queryMetricsEnabled` configurable of the module.
+ *
+ * @since 0.6.0
+ */
+public class QueryMetricsRegistry {
+
+    // The number of distinct queries recorded separately. The queries executed after the limit is reached are
+    // recorded together, so that the queries built by concatenating the values do not grow the registry unbounded.
+    static final int MAX_QUERY_COUNT = 1024;
+    static final String OTHER_QUERIES = "<other>";
+    // The upper bounds in microseconds of the buckets of the latency histograms.
+    static final long[] LATENCY_BUCKET_BOUNDS = {
+            100, 500, 1000, 5000, 10000, 50000, 100000, 500000, 1000000, 5000000, 10000000};
+
+    static final String DURATION_METRIC = "ballerina_sql_query_duration_seconds";
+    static final String ERRORS_METRIC = "ballerina_sql_query_errors_total";
+
+    /**
+     * The client operations of which the queries are recorded.
+     */
+    public static final class Operation {
+        public static final String QUERY = "query";
+        public static final String EXECUTE = "execute";
+        public static final String BATCH_EXECUTE = "batchExecute";
+        public static final String CALL = "call";
+
+        private Operation() {
+        }
+    }
+
+    /**
+     * The phases of the execution of a query, in the order they are executed.
+     */
+    public enum Phase {
+        ACQUIRE("acquire", Constants.QueryMetricsFields.ACQUIRE_TIME),
+        PREPARE("prepare", Constants.QueryMetricsFields.PREPARE_TIME),
+        EXECUTE("execute", Constants.QueryMetricsFields.EXECUTE_TIME),
+        CONSUME("consume", Constants.QueryMetricsFields.CONSUME_TIME);
+
+        private final String label;
+        private final String field;
+
+        Phase(String label, String field) {
+            this.label = label;
+            this.field = field;
+        }
+    }
+
+    private static volatile boolean enabled = false;
+    private static final Map<Key, QueryMetrics> METRICS = new ConcurrentHashMap<>();
+
+    private QueryMetricsRegistry() {
+    }
+
+    public static void initQueryMetrics(boolean queryMetricsEnabled) {
+        enabled = queryMetricsEnabled;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    static QueryMetrics getQueryMetrics(String operation, String sqlQuery) {
+        Key key = new Key(operation, sqlQuery == null ? OTHER_QUERIES : sqlQuery);
+        QueryMetrics queryMetrics = METRICS.get(key);
+        if (queryMetrics != null) {
+            return queryMetrics;
+        }
+        if (METRICS.size() >= MAX_QUERY_COUNT) {
+            key = new Key(operation, OTHER_QUERIES);
+        }
+        return METRICS.computeIfAbsent(key, QueryMetrics::new);
+    }
+
+    /**
+     * Returns the `sql:QueryMetrics` records of the recorded queries.
+     *
+     * @return array of query metrics records
+     */
+    public static BArray getQueryMetrics() {
+        List<QueryMetrics> snapshot = new ArrayList<>(METRICS.values());
+        BMap<BString, Object>[] records = new BMap[snapshot.size()];
+        for (int i = 0; i < records.length; i++) {
+            records[i] = snapshot.get(i).toRecord();
+        }
+        return ValueCreator.createArrayValue(records, TypeCreator.createArrayType(
+                ValueCreator.createRecordValue(ModuleUtils.getModule(), Constants.QUERY_METRICS_RECORD).getType()));
+    }
+
+    /**
+     * Returns the recorded metrics in the Prometheus text exposition format. The latencies of the phases are
+     * rendered as a histogram labelled with the operation, the query and the phase.
+     *
+     * @return the metrics in the Prometheus text format
+     */
+    public static BString getQueryMetricsText() {
+        StringBuilder text = new StringBuilder();
+        text.append("# HELP ").append(DURATION_METRIC)
+                .append(" The time taken by each phase of the executions of the SQL queries.\n");
+        text.append("# TYPE ").append(DURATION_METRIC).append(" histogram\n");
+        List<QueryMetrics> snapshot = new ArrayList<>(METRICS.values());
+        for (QueryMetrics queryMetrics : snapshot) {
+            for (Phase phase : Phase.values()) {
+                String labels = "operation=\"" + escapeLabelValue(queryMetrics.key.operation) + "\",query=\"" +
+                        escapeLabelValue(queryMetrics.key.sqlQuery) + "\",phase=\"" + phase.label + "\"";
+                LatencyHistogram histogram = queryMetrics.phaseTimes[phase.ordinal()];
+                long[] bounds = histogram.getBoundsMicros();
+                long[] cumulativeCounts = histogram.getCumulativeCounts();
+                long count = histogram.getCount();
+                for (int i = 0; i < bounds.length; i++) {
+                    text.append(DURATION_METRIC).append("_bucket{").append(labels).append(",le=\"")
+                            .append(LatencyHistogram.getSeconds(bounds[i], TimeUnit.MICROSECONDS).toPlainString())
+                            .append("\"} ").append(cumulativeCounts[i]).append('\n');
+                }
+                text.append(DURATION_METRIC).append("_bucket{").append(labels).append(",le=\"+Inf\"} ")
+                        .append(count).append('\n');
+                text.append(DURATION_METRIC).append("_sum{").append(labels).append("} ")
+                        .append(LatencyHistogram.getSeconds(histogram.getSumNanos(), TimeUnit.NANOSECONDS)
+                                .toPlainString()).append('\n');
+                text.append(DURATION_METRIC).append("_count{").append(labels).append("} ").append(count)
+                        .append('\n');
+            }
+        }
+        text.append("# HELP ").append(ERRORS_METRIC).append(" The number of executions of the SQL queries which " +
+                "returned an error.\n");
+        text.append("# TYPE ").append(ERRORS_METRIC).append(" counter\n");
+        for (QueryMetrics queryMetrics : snapshot) {
+            text.append(ERRORS_METRIC).append("{operation=\"").append(escapeLabelValue(queryMetrics.key.operation))
+                    .append("\",query=\"").append(escapeLabelValue(queryMetrics.key.sqlQuery)).append("\"} ")
+                    .append(queryMetrics.errorCount.sum()).append('\n');
+        }
+        return StringUtils.fromString(text.toString());
+    }
+
+    static String escapeLabelValue(String value) {
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\') {
+                escaped.append("\\\\");
+            } else if (c == '"') {
+                escaped.append("\\\"");
+            } else if (c == '\n') {
+                escaped.append("\\n");
+            } else {
+                escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    private static class Key {
+        private final String operation;
+        private final String sqlQuery;
+
+        Key(String operation, String sqlQuery) {
+            this.operation = operation;
+            this.sqlQuery = sqlQuery;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return operation.equals(key.operation) && sqlQuery.equals(key.sqlQuery);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(operation, sqlQuery);
+        }
+    }
+
+    /**
+     * This class holds the metrics of the executions of a query through a client operation.
+     */
+    static class QueryMetrics {
+        private final Key key;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder errorCount = new LongAdder();
+        private final LatencyHistogram[] phaseTimes = new LatencyHistogram[Phase.values().length];
+
+        QueryMetrics(Key key) {
+            this.key = key;
+            for (int i = 0; i < phaseTimes.length; i++) {
+                phaseTimes[i] = new LatencyHistogram(LATENCY_BUCKET_BOUNDS);
+            }
+        }
+
+        void recordExecution(boolean failed) {
+            count.increment();
+            if (failed) {
+                errorCount.increment();
+            }
+        }
+
+        void recordPhase(Phase phase, long nanos) {
+            phaseTimes[phase.ordinal()].record(nanos);
+        }
+
+        BMap<BString, Object> toRecord() {
+            Map<String, Object> metrics = new HashMap<>();
+            metrics.put(Constants.QueryMetricsFields.OPERATION, StringUtils.fromString(key.operation));
+            metrics.put(Constants.QueryMetricsFields.SQL_QUERY, StringUtils.fromString(key.sqlQuery));
+            metrics.put(Constants.QueryMetricsFields.COUNT, count.sum());
+            metrics.put(Constants.QueryMetricsFields.ERROR_COUNT, errorCount.sum());
+            for (Phase phase : Phase.values()) {
+                metrics.put(phase.field, phaseTimes[phase.ordinal()].toRecord());
+            }
+            return ValueCreator.createRecordValue(ModuleUtils.getModule(), Constants.QUERY_METRICS_RECORD,
+                    metrics);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ *  Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.ballerinalang.sql.utils;
+
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BObject;
+import io.ballerina.runtime.api.values.BString;
+import org.ballerinalang.sql.Constants;
+import org.ballerinalang.sql.datasource.StatementCache;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * This class represents the options of the `sql:QueryOptions` record, which are applied when the statement of a
+ * query is created. The statements are created as forward only and read only cursors, so that the drivers which
+ * support cursor based fetching can stream the result instead of buffering all the rows in memory.
+ *
+ * @since 0.6.0
+ */
+public class QueryOptions {
+    static final int DEFAULT_ADAPTIVE_FETCH_SIZE = 100;
+
+    private final int fetchSize;
+    private final int maxRows;
+    private final boolean adaptiveFetchSize;
+    private final int maxFetchSize;
+    private final int prefetchSize;
+
+    private QueryOptions(int fetchSize, int maxRows, boolean adaptiveFetchSize, int maxFetchSize, int prefetchSize) {
+        this.fetchSize = fetchSize;
+        this.maxRows = maxRows;
+        this.adaptiveFetchSize = adaptiveFetchSize;
+        this.maxFetchSize = maxFetchSize;
+        this.prefetchSize = prefetchSize;
+    }
+
+    /**
+     * Creates the query options from the `sql:QueryOptions` record.
+     *
+     * @param queryOptions query options record, or null if the options are not provided
+     * @return query options or null if the options are not provided
+     */
+    public static QueryOptions fromRecord(Object queryOptions) {
+        if (queryOptions == null) {
+            return null;
+        }
+        BMap<BString, Object> options = (BMap<BString, Object>) queryOptions;
+        return new QueryOptions(
+                Math.toIntExact(options.getIntValue(Constants.QueryOptionsFields.FETCH_SIZE)),
+                Math.toIntExact(options.getIntValue(Constants.QueryOptionsFields.MAX_ROWS)),
+                options.getBooleanValue(Constants.QueryOptionsFields.ADAPTIVE_FETCH_SIZE),
+                Math.toIntExact(options.getIntValue(Constants.QueryOptionsFields.MAX_FETCH_SIZE)),
+                Math.toIntExact(options.getIntValue(Constants.QueryOptionsFields.PREFETCH_SIZE)));
+    }
+
+    /**
+     * Creates the statement of the query with the cursor hints, fetch size and max rows of the options.
+     *
+     * @param statementCache statement cache of the datasource
+     * @param connection connection used to execute the query
+     * @param sqlQuery SQL query
+     * @return the prepared statement
+     */
+    public PreparedStatement prepareStatement(StatementCache statementCache, Connection connection,
+                                              String sqlQuery) throws SQLException {
+        PreparedStatement statement = statementCache.prepareReadOnlyStatement(connection, sqlQuery);
+        // The options are always set, as the statement may be reused from the statement cache.
+        statement.setFetchDirection(ResultSet.FETCH_FORWARD);
+        statement.setMaxRows(Math.max(maxRows, 0));
+        if (fetchSize > 0) {
+            statement.setFetchSize(fetchSize);
+        } else if (adaptiveFetchSize) {
+            statement.setFetchSize(DEFAULT_ADAPTIVE_FETCH_SIZE);
+        } else {
+            statement.setFetchSize(0);
+        }
+        return statement;
+    }
+
+    /**
+     * Attaches the adaptive fetch size to the record iterator of the result, if it is enabled in the options.
+     *
+     * @param recordIterator record iterator of the result
+     * @param resultSet result set of the query
+     */
+    public void attachAdaptiveFetchSize(BObject recordIterator, ResultSet resultSet) throws SQLException {
+        if (adaptiveFetchSize) {
+            int initialFetchSize = fetchSize > 0 ? fetchSize : DEFAULT_ADAPTIVE_FETCH_SIZE;
+            recordIterator.addNativeData(Constants.ADAPTIVE_FETCH_SIZE_DATA_FIELD,
+                    new AdaptiveFetchSize(resultSet, initialFetchSize, maxFetchSize));
+        }
+    }
+
+    public int getMaxRows() {
+        return maxRows;
+    }
+
+    /**
+     * Enables reading the records of the result ahead of the consumer on a background thread, if a prefetch size is
+     * set in the options.
+     *
+     * @param recordIterator record iterator of the result
+     */
+    public void attachPrefetchSize(BObject recordIterator) {
+        if (prefetchSize > 0) {
+            recordIterator.addNativeData(Constants.PREFETCH_SIZE_DATA_FIELD, prefetchSize);
+        }
+    }
+}
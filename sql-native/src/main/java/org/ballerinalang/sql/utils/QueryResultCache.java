@@ -0,0 +1,640 @@
+/*
+ *  Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.ballerinalang.sql.utils;
+
+import io.ballerina.runtime.api.Module;
+import io.ballerina.runtime.api.TypeTags;
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.ArrayType;
+import io.ballerina.runtime.api.types.StructureType;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BDecimal;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BObject;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.api.values.BTypedesc;
+import io.ballerina.runtime.transactions.TransactionResourceManager;
+import org.ballerinalang.sql.Constants;
+import org.ballerinalang.sql.datasource.SQLDatasource;
+import org.ballerinalang.sql.transaction.SQLTransactionContext;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class caches the records of the query results of a client, keyed by the SQL query, the values of its
+ * parameters, the record type and the maximum rows. The results are cached once they are read to the end, and are
+ * served until their time to live elapses. The least recently used results are evicted once the approximate size of
+ * the cached records exceeds the maximum size. A cached result is invalidated when a statement executed by the same
+ * client refers to one of the tables of its query, and again once the transaction of the statement ends. The results
+ * of the tables changed by an uncommitted transaction of the client are not cached. The changes done by the other
+ * clients are only reflected once the cached results expire.
+ *
+ * @since 0.6.0
+ */
+public class QueryResultCache {
+
+    // The approximate sizes in bytes used to bound the memory held by the cached records.
+    static final int RECORD_OVERHEAD = 64;
+    static final int FIELD_OVERHEAD = 32;
+    static final int VALUE_SIZE = 16;
+
+    private static final Set<String> TABLE_KEYWORDS = new HashSet<>(Arrays.asList(
+            "FROM", "JOIN", "INTO", "UPDATE", "TABLE", "USING"));
+    private static final Set<String> CLAUSE_KEYWORDS = new HashSet<>(Arrays.asList(
+            "WHERE", "JOIN", "INNER", "LEFT", "RIGHT", "FULL", "CROSS", "NATURAL", "ON", "GROUP", "ORDER", "HAVING",
+            "LIMIT", "OFFSET", "FETCH", "UNION", "INTERSECT", "EXCEPT", "MINUS", "WINDOW", "FOR", "SET", "VALUES",
+            "SELECT", "WHEN", "RETURNING", "LATERAL"));
+    // The `sql:TypedValue` types which hold a basic value, such as `sql:VarcharValue`.
+    private static final Set<String> BASIC_TYPED_VALUES = new HashSet<>(Arrays.asList(
+            Constants.SqlTypes.VARCHAR, Constants.SqlTypes.CHAR, Constants.SqlTypes.TEXT, Constants.SqlTypes.CLOB,
+            Constants.SqlTypes.NCHAR, Constants.SqlTypes.NVARCHAR, Constants.SqlTypes.NCLOB,
+            Constants.SqlTypes.SMALLINT, Constants.SqlTypes.INTEGER, Constants.SqlTypes.BIGINT,
+            Constants.SqlTypes.NUMERIC, Constants.SqlTypes.DECIMAL, Constants.SqlTypes.REAL, Constants.SqlTypes.FLOAT,
+            Constants.SqlTypes.DOUBLE, Constants.SqlTypes.BIT, Constants.SqlTypes.BOOLEAN, Constants.SqlTypes.DATE,
+            Constants.SqlTypes.TIME, Constants.SqlTypes.DATETIME, Constants.SqlTypes.TIMESTAMP));
+    private static final Set<String> TABLE_MODIFIERS = new HashSet<>(Arrays.asList("IF", "NOT", "EXISTS", "ONLY"));
+
+    private final long maxSize;
+    private final long timeToLiveNanos;
+    private final LinkedHashMap<Key, CachedResult> cachedResults = new LinkedHashMap<>(16, 0.75f, true);
+    private long size = 0;
+    private long hitCount = 0;
+    private long missCount = 0;
+    private long evictionCount = 0;
+    private long expirationCount = 0;
+    private long invalidationCount = 0;
+    // Incremented on each invalidation, so that a result read while a statement is executed is not cached.
+    private long generation = 0;
+    // The tables changed by the uncommitted transactions of the client, with the number of their statements.
+    private final Map<String, Integer> pendingTableCounts = new HashMap<>();
+    private int pendingAllTablesCount = 0;
+
+    QueryResultCache(long maxSize, long timeToLiveNanos) {
+        this.maxSize = maxSize;
+        this.timeToLiveNanos = timeToLiveNanos;
+    }
+
+    /**
+     * Creates the query result cache from the `sql:QueryResultCacheOptions` record.
+     *
+     * @param options query result cache options record
+     * @return the query result cache, or null if the cache is disabled by the options
+     */
+    public static QueryResultCache fromRecord(BMap<BString, Object> options) {
+        long maxSize = options.getIntValue(Constants.QueryResultCacheFields.MAX_SIZE);
+        BigDecimal timeToLive = ((BDecimal) options.get(Constants.QueryResultCacheFields.TIME_TO_LIVE))
+                .decimalValue();
+        if (maxSize <= 0 || timeToLive.signum() <= 0) {
+            return null;
+        }
+        long timeToLiveNanos = timeToLive.multiply(BigDecimal.valueOf(TimeUnit.SECONDS.toNanos(1)))
+                .min(BigDecimal.valueOf(Long.MAX_VALUE)).longValue();
+        return new QueryResultCache(maxSize, timeToLiveNanos);
+    }
+
+    /**
+     * Returns the query result cache of the client.
+     *
+     * @param client client object
+     * @return the query result cache, or null if the cache is not enabled for the client
+     */
+    public static QueryResultCache getCache(BObject client) {
+        return (QueryResultCache) client.getNativeData(Constants.QUERY_RESULT_CACHE_DATA_FIELD);
+    }
+
+    /**
+     * Invalidates the cached results of the client which refer to the tables of an executed statement.
+     *
+     * @param trxResourceManager transaction resource manager, or null if the statement is not part of a transaction
+     * @param client client object
+     * @param sqlQuery executed SQL statement, or null to invalidate all the cached results
+     */
+    public static void invalidate(TransactionResourceManager trxResourceManager, BObject client, String sqlQuery) {
+        QueryResultCache resultCache = getCache(client);
+        if (resultCache != null) {
+            resultCache.invalidate(SQLDatasource.getTransactionContext(trxResourceManager, client), sqlQuery);
+        }
+    }
+
+    /**
+     * Invalidates the cached results which refer to the tables of a statement executed within a transaction. The
+     * statement is not committed yet, hence the results of its tables read by the other strands are not cached
+     * until the transaction ends, and the cached results are invalidated again once it ends.
+     *
+     * @param transactionContext transaction context of the statement, or null if it is not part of a transaction
+     * @param sqlQuery executed SQL statement, or null to invalidate all the cached results
+     */
+    public void invalidate(SQLTransactionContext transactionContext, String sqlQuery) {
+        if (transactionContext == null) {
+            invalidate(sqlQuery);
+            return;
+        }
+        Set<String> tableNames = sqlQuery == null ? Collections.emptySet() : getTableNames(sqlQuery);
+        synchronized (this) {
+            if (tableNames.isEmpty()) {
+                pendingAllTablesCount++;
+            } else {
+                for (String tableName : tableNames) {
+                    pendingTableCounts.merge(tableName, 1, Integer::sum);
+                }
+            }
+            invalidateTables(tableNames);
+        }
+        transactionContext.addCompletionTask(() -> endPendingInvalidation(tableNames));
+    }
+
+    private synchronized void endPendingInvalidation(Set<String> tableNames) {
+        if (tableNames.isEmpty()) {
+            pendingAllTablesCount--;
+        } else {
+            for (String tableName : tableNames) {
+                pendingTableCounts.computeIfPresent(tableName, (key, count) -> count > 1 ? count - 1 : null);
+            }
+        }
+        invalidateTables(tableNames);
+    }
+
+    private boolean isPending(Set<String> tableNames) {
+        if (pendingAllTablesCount > 0) {
+            return true;
+        }
+        for (String tableName : tableNames) {
+            if (pendingTableCounts.containsKey(tableName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Invalidates the cached results which refer to the tables of an executed statement.
+     *
+     * @param sqlQuery executed SQL statement, or null to invalidate all the cached results
+     */
+    public void invalidate(String sqlQuery) {
+        invalidateTables(sqlQuery == null ? Collections.emptySet() : getTableNames(sqlQuery));
+    }
+
+    /**
+     * Returns the metrics of the query result cache of the client.
+     *
+     * @param client client object
+     * @return `sql:QueryResultCacheMetrics` record, or error if the cache is not enabled for the client
+     */
+    public static Object getQueryResultCacheMetrics(BObject client) {
+        QueryResultCache resultCache = getCache(client);
+        if (resultCache == null) {
+            return ErrorGenerator.getSQLApplicationError("Query result cache is not enabled for the client.");
+        }
+        return resultCache.getMetrics();
+    }
+
+    /**
+     * Creates the key of a query result. The results of the queries which are not `SELECT` statements, do not
+     * refer to a table, or have parameters other than the basic and the typed values are not cached.
+     *
+     * @param sqlQuery SQL query
+     * @param paramSQLString query string or the parameterized query
+     * @param recordType type description of the result record, or null
+     * @param maxRows maximum number of rows of the result
+     * @return the key of the result, or null if the result should not be cached
+     */
+    public Key createKey(String sqlQuery, Object paramSQLString, Object recordType, int maxRows) {
+        if (SqlStatementClassifier.classify(sqlQuery) != SqlStatementClassifier.StatementKind.SELECT) {
+            return null;
+        }
+        Set<String> tableNames = getTableNames(sqlQuery);
+        if (tableNames.isEmpty()) {
+            return null;
+        }
+        Object[] values = new Object[0];
+        if (paramSQLString instanceof BObject) {
+            BArray insertions = ((BObject) paramSQLString).getArrayValue(
+                    Constants.ParameterizedQueryFields.INSERTIONS);
+            values = new Object[insertions.size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = getKeyValue(insertions.get(i));
+                if (values[i] == null) {
+                    return null;
+                }
+            }
+        }
+        Type type = recordType == null ? null : ((BTypedesc) recordType).getDescribingType();
+        return new Key(sqlQuery, values, type, maxRows, tableNames, getGeneration());
+    }
+
+    private synchronized long getGeneration() {
+        return generation;
+    }
+
+    private static Object getKeyValue(Object value) {
+        if (value == null) {
+            return Key.NIL;
+        } else if (value instanceof Long || value instanceof Double || value instanceof Boolean) {
+            return value;
+        } else if (value instanceof BString) {
+            return ((BString) value).getValue();
+        } else if (value instanceof BDecimal) {
+            return ((BDecimal) value).decimalValue();
+        } else if (value instanceof BObject) {
+            // Only the typed values of this module which hold a basic value are cached, since the parameters of the
+            // other objects, such as the typed values of the connectors, may be bound differently.
+            BObject typedValue = (BObject) value;
+            String typeName = typedValue.getType().getName();
+            if (!isSqlModuleType(typedValue.getType()) || !BASIC_TYPED_VALUES.contains(typeName)) {
+                return null;
+            }
+            Object keyValue = getKeyValue(typedValue.get(Constants.TypedValueFields.VALUE));
+            return keyValue == null ? null : Arrays.asList(typeName, keyValue);
+        }
+        return null;
+    }
+
+    private static boolean isSqlModuleType(Type type) {
+        Module sqlModule = ModuleUtils.getModule();
+        return sqlModule != null && type.getPackage() != null &&
+                type.getPackage().toString().equals(sqlModule.toString());
+    }
+
+    /**
+     * Returns the cached result of a query, if it is not expired.
+     *
+     * @param key key of the query result
+     * @return the cached result, or null if the result is not cached
+     */
+    public synchronized CachedResult get(Key key) {
+        CachedResult cachedResult = cachedResults.get(key);
+        if (cachedResult != null && System.nanoTime() - cachedResult.createdTime >= timeToLiveNanos) {
+            remove(key);
+            expirationCount++;
+            cachedResult = null;
+        }
+        if (cachedResult == null) {
+            missCount++;
+        } else {
+            hitCount++;
+        }
+        return cachedResult;
+    }
+
+    /**
+     * Creates a writer which caches the records of a query result as they are read.
+     *
+     * @param key key of the query result
+     * @param columnDefinitions column definitions of the result
+     * @param streamConstraint record type of the result
+     * @return the result writer
+     */
+    public ResultWriter createWriter(Key key, List<ColumnDefinition> columnDefinitions,
+                                     StructureType streamConstraint) {
+        return new ResultWriter(this, key, columnDefinitions, streamConstraint);
+    }
+
+    private synchronized void put(Key key, CachedResult cachedResult, long writerGeneration) {
+        if (writerGeneration != generation || isPending(key.tableNames)) {
+            return;
+        }
+        CachedResult previousResult = cachedResults.put(key, cachedResult);
+        if (previousResult != null) {
+            size -= previousResult.size;
+        }
+        size += cachedResult.size;
+        Iterator<Map.Entry<Key, CachedResult>> iterator = cachedResults.entrySet().iterator();
+        while (size > maxSize && iterator.hasNext()) {
+            size -= iterator.next().getValue().size;
+            iterator.remove();
+            evictionCount++;
+        }
+    }
+
+    private synchronized void invalidateTables(Set<String> tableNames) {
+        generation++;
+        Iterator<Map.Entry<Key, CachedResult>> iterator = cachedResults.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Key, CachedResult> entry = iterator.next();
+            // The statements whose tables are not resolved invalidate all the cached results.
+            if (tableNames.isEmpty() || !Collections.disjoint(tableNames, entry.getKey().tableNames)) {
+                size -= entry.getValue().size;
+                iterator.remove();
+                invalidationCount++;
+            }
+        }
+    }
+
+    private void remove(Key key) {
+        CachedResult cachedResult = cachedResults.remove(key);
+        if (cachedResult != null) {
+            size -= cachedResult.size;
+        }
+    }
+
+    private synchronized BMap<BString, Object> getMetrics() {
+        Map<String, Object> metrics = new HashMap<>();
+        metrics.put(Constants.QueryResultCacheMetricsFields.HIT_COUNT, hitCount);
+        metrics.put(Constants.QueryResultCacheMetricsFields.MISS_COUNT, missCount);
+        metrics.put(Constants.QueryResultCacheMetricsFields.EVICTION_COUNT, evictionCount);
+        metrics.put(Constants.QueryResultCacheMetricsFields.EXPIRATION_COUNT, expirationCount);
+        metrics.put(Constants.QueryResultCacheMetricsFields.INVALIDATION_COUNT, invalidationCount);
+        metrics.put(Constants.QueryResultCacheMetricsFields.ENTRY_COUNT, (long) cachedResults.size());
+        metrics.put(Constants.QueryResultCacheMetricsFields.SIZE, size);
+        return ValueCreator.createRecordValue(ModuleUtils.getModule(), Constants.QUERY_RESULT_CACHE_METRICS_RECORD,
+                metrics);
+    }
+
+    /**
+     * Returns the names of the tables referred by a SQL statement in upper case, without their schema. The names
+     * which follow the `FROM`, `JOIN`, `INTO`, `UPDATE`, `TABLE` and `USING` keywords, and the comma separated names
+     * of a `FROM` clause are considered as table names.
+     *
+     * @param sqlQuery SQL statement
+     * @return the table names, or an empty set if no table is found
+     */
+    static Set<String> getTableNames(String sqlQuery) {
+        Set<String> tableNames = new HashSet<>();
+        List<String> tokens = tokenize(sqlQuery);
+        boolean expectTable = false;
+        boolean inFromList = false;
+        for (String token : tokens) {
+            if (token.equals(",")) {
+                expectTable = inFromList;
+            } else if (token.equals("(")) {
+                expectTable = false;
+                inFromList = false;
+            } else if (TABLE_KEYWORDS.contains(token)) {
+                expectTable = true;
+                inFromList = token.equals("FROM");
+            } else if (expectTable && TABLE_MODIFIERS.contains(token)) {
+                continue;
+            } else if (CLAUSE_KEYWORDS.contains(token)) {
+                expectTable = false;
+                inFromList = false;
+            } else if (expectTable && !token.equals(")")) {
+                int schemaEnd = token.lastIndexOf('.');
+                tableNames.add(schemaEnd < 0 ? token : token.substring(schemaEnd + 1));
+                expectTable = false;
+            }
+        }
+        tableNames.remove("");
+        return tableNames;
+    }
+
+    /**
+     * Splits a SQL statement into the upper case names, the commas and the parentheses, skipping the comments and
+     * the string literals. The quoted identifiers are returned without the quotes.
+     */
+    private static List<String> tokenize(String sqlQuery) {
+        List<String> tokens = new ArrayList<>();
+        int length = sqlQuery.length();
+        int position = 0;
+        StringBuilder name = new StringBuilder();
+        while (position < length) {
+            char c = sqlQuery.charAt(position);
+            if (c == '-' && position + 1 < length && sqlQuery.charAt(position + 1) == '-') {
+                int end = sqlQuery.indexOf('\n', position);
+                position = end < 0 ? length : end + 1;
+            } else if (c == '/' && position + 1 < length && sqlQuery.charAt(position + 1) == '*') {
+                int end = sqlQuery.indexOf("*/", position + 2);
+                position = end < 0 ? length : end + 2;
+            } else if (c == '\'') {
+                int end = sqlQuery.indexOf('\'', position + 1);
+                position = end < 0 ? length : end + 1;
+            } else if (c == '"' || c == '`' || c == '[' || Character.isLetterOrDigit(c) || c == '_' || c == '$') {
+                // A name, which may be qualified with a schema and have quoted parts.
+                name.setLength(0);
+                while (position < length) {
+                    c = sqlQuery.charAt(position);
+                    if (c == '"' || c == '`' || c == '[') {
+                        int end = sqlQuery.indexOf(c == '[' ? ']' : c, position + 1);
+                        end = end < 0 ? length : end;
+                        name.append(sqlQuery, position + 1, end);
+                        position = Math.min(end + 1, length);
+                    } else if (Character.isLetterOrDigit(c) || c == '_' || c == '$' || c == '.') {
+                        name.append(c);
+                        position++;
+                    } else {
+                        break;
+                    }
+                }
+                tokens.add(name.toString().toUpperCase(Locale.ENGLISH));
+            } else if (c == ',' || c == '(' || c == ')') {
+                tokens.add(String.valueOf(c));
+                position++;
+            } else {
+                position++;
+            }
+        }
+        return tokens;
+    }
+
+    static long getSize(Object value) {
+        if (value instanceof BString) {
+            return VALUE_SIZE + 2L * ((BString) value).length();
+        } else if (value instanceof BArray) {
+            BArray array = (BArray) value;
+            if (array.getElementType().getTag() == TypeTags.BYTE_TAG) {
+                return VALUE_SIZE + array.size();
+            }
+            long arraySize = VALUE_SIZE;
+            for (int i = 0; i < array.size(); i++) {
+                arraySize += getSize(array.get(i));
+            }
+            return arraySize;
+        } else if (value instanceof BMap) {
+            long mapSize = RECORD_OVERHEAD;
+            for (Object fieldValue : ((BMap<?, ?>) value).values()) {
+                mapSize += FIELD_OVERHEAD + getSize(fieldValue);
+            }
+            return mapSize;
+        }
+        return VALUE_SIZE;
+    }
+
+    private static BMap<BString, Object> copy(BMap<BString, Object> record) {
+        return (BMap<BString, Object>) record.copy(new HashMap<>());
+    }
+
+    /**
+     * Key of a cached query result.
+     */
+    public static class Key {
+        private static final Object NIL = new Object();
+
+        private final String sqlQuery;
+        private final Object[] values;
+        private final Type recordType;
+        private final int maxRows;
+        private final Set<String> tableNames;
+        // The generation of the cache when the query is executed, which is not a part of the identity of the key.
+        private final long generation;
+        private final int hashCode;
+
+        private Key(String sqlQuery, Object[] values, Type recordType, int maxRows, Set<String> tableNames,
+                    long generation) {
+            this.sqlQuery = sqlQuery;
+            this.values = values;
+            this.recordType = recordType;
+            this.maxRows = maxRows;
+            this.tableNames = tableNames;
+            this.generation = generation;
+            this.hashCode = Objects.hash(sqlQuery, Arrays.hashCode(values), System.identityHashCode(recordType),
+                    maxRows);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return hashCode == key.hashCode && maxRows == key.maxRows && recordType == key.recordType &&
+                    sqlQuery.equals(key.sqlQuery) && Arrays.equals(values, key.values);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    /**
+     * Records of a cached query result.
+     */
+    public static class CachedResult {
+        private final List<BMap<BString, Object>> records;
+        private final List<ColumnDefinition> columnDefinitions;
+        private final StructureType streamConstraint;
+        private final long size;
+        private final long createdTime = System.nanoTime();
+
+        private CachedResult(List<BMap<BString, Object>> records, List<ColumnDefinition> columnDefinitions,
+                             StructureType streamConstraint, long size) {
+            this.records = records;
+            this.columnDefinitions = columnDefinitions;
+            this.streamConstraint = streamConstraint;
+            this.size = size;
+        }
+
+        public List<ColumnDefinition> getColumnDefinitions() {
+            return columnDefinitions;
+        }
+
+        public StructureType getStreamConstraint() {
+            return streamConstraint;
+        }
+
+        public ResultReader createReader() {
+            return new ResultReader(this);
+        }
+    }
+
+    /**
+     * Reads the records of a cached query result. Each record is returned as a copy, so that the cached records
+     * are not changed by the consumers.
+     */
+    public static class ResultReader {
+        private final CachedResult cachedResult;
+        private int index = 0;
+        private ArrayType batchType;
+
+        private ResultReader(CachedResult cachedResult) {
+            this.cachedResult = cachedResult;
+        }
+
+        BMap<BString, Object> next() {
+            if (index >= cachedResult.records.size()) {
+                return null;
+            }
+            return copy(cachedResult.records.get(index++));
+        }
+
+        BArray nextBatch(long batchSize) {
+            if (batchType == null) {
+                batchType = TypeCreator.createArrayType(cachedResult.streamConstraint);
+            }
+            BArray batch = ValueCreator.createArrayValue(batchType);
+            BMap<BString, Object> record;
+            while (batch.size() < batchSize && (record = next()) != null) {
+                batch.append(record);
+            }
+            return batch;
+        }
+    }
+
+    /**
+     * Collects the records of a query result as they are read, and caches them once the result is read to the end.
+     * The result is not cached if it is larger than the maximum size of the cache, or if a statement is executed
+     * by the client while the result is read.
+     */
+    public static class ResultWriter {
+        private final QueryResultCache resultCache;
+        private final Key key;
+        private final List<ColumnDefinition> columnDefinitions;
+        private final StructureType streamConstraint;
+        private final long generation;
+        private List<BMap<BString, Object>> records = new ArrayList<>();
+        private long size = 0;
+
+        private ResultWriter(QueryResultCache resultCache, Key key, List<ColumnDefinition> columnDefinitions,
+                             StructureType streamConstraint) {
+            this.resultCache = resultCache;
+            this.key = key;
+            this.columnDefinitions = columnDefinitions;
+            this.streamConstraint = streamConstraint;
+            this.generation = key.generation;
+        }
+
+        void add(BMap<BString, Object> record) {
+            if (records == null) {
+                return;
+            }
+            size += getSize(record);
+            if (size > resultCache.maxSize) {
+                records = null;
+                return;
+            }
+            records.add(copy(record));
+        }
+
+        void complete() {
+            if (records != null) {
+                resultCache.put(key, new CachedResult(records, columnDefinitions, streamConstraint, size),
+                        generation);
+                records = null;
+            }
+        }
+    }
+}
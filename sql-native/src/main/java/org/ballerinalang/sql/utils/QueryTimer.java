@@ -0,0 +1,126 @@
+/*
+ *  Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.ballerinalang.sql.utils;
+
+import org.ballerinalang.sql.utils.QueryMetricsRegistry.Phase;
+
+/**
+ * This class measures the phases of an execution of a query and records them in the {@link QueryMetricsRegistry}.
+ * Each call to {@link #mark(Phase)} adds the time since the previous mark to the given phase, so that the phases
+ * which are repeated, such as those of the groups of a batch, are added up. A timer which does nothing is returned
+ * when the query metrics are not enabled, so that the executions are not timed.
+ *
+ * @since 0.6.0
+ */
+public class QueryTimer {
+
+    private static final QueryTimer DISABLED = new QueryTimer(false);
+    private static final Phase[] PHASES = Phase.values();
+
+    private final boolean enabled;
+    private final long[] phaseNanos = new long[PHASES.length];
+    private final boolean[] timedPhases = new boolean[PHASES.length];
+    private Phase lastPhase;
+    private long markTime;
+    private long consumeNanos;
+    private boolean consumed;
+    private QueryMetricsRegistry.QueryMetrics queryMetrics;
+
+    private QueryTimer(boolean enabled) {
+        this.enabled = enabled;
+        if (enabled) {
+            this.markTime = System.nanoTime();
+        }
+    }
+
+    /**
+     * Starts timing an execution. The time until the first mark is usually the connection acquisition.
+     *
+     * @return the timer of the execution
+     */
+    public static QueryTimer start() {
+        return QueryMetricsRegistry.isEnabled() ? new QueryTimer(true) : DISABLED;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Adds the time since the previous mark to the given phase.
+     *
+     * @param phase phase which ended
+     */
+    public void mark(Phase phase) {
+        if (!enabled) {
+            return;
+        }
+        long now = System.nanoTime();
+        phaseNanos[phase.ordinal()] += now - markTime;
+        timedPhases[phase.ordinal()] = true;
+        lastPhase = phase;
+        markTime = now;
+    }
+
+    /**
+     * Records the execution with the phases before the consumption of the results. When the execution failed, the
+     * time since the previous mark is added to the phase after it, which is the phase that failed.
+     *
+     * @param operation client operation of the execution
+     * @param sqlQuery SQL query compiled from the parameterized query, or null if it is not compiled
+     * @param failed whether the execution failed
+     */
+    public void record(String operation, String sqlQuery, boolean failed) {
+        if (!enabled || queryMetrics != null) {
+            return;
+        }
+        if (failed) {
+            mark(lastPhase == null ? Phase.ACQUIRE : PHASES[Math.min(lastPhase.ordinal() + 1,
+                    Phase.EXECUTE.ordinal())]);
+        }
+        queryMetrics = QueryMetricsRegistry.getQueryMetrics(operation, sqlQuery);
+        queryMetrics.recordExecution(failed);
+        for (int i = 0; i < Phase.CONSUME.ordinal(); i++) {
+            if (timedPhases[i]) {
+                queryMetrics.recordPhase(PHASES[i], phaseNanos[i]);
+            }
+        }
+    }
+
+    /**
+     * Adds the time taken to read a part of the results of the execution.
+     *
+     * @param nanos time taken to read the records in nanoseconds
+     */
+    void addConsumeTime(long nanos) {
+        consumeNanos += nanos;
+    }
+
+    /**
+     * Records the total time taken to read the results of the execution. This is recorded only once, when the
+     * results are closed.
+     */
+    void recordConsumption() {
+        if (!enabled || consumed || queryMetrics == null) {
+            return;
+        }
+        consumed = true;
+        queryMetrics.recordPhase(Phase.CONSUME, consumeNanos);
+    }
+}
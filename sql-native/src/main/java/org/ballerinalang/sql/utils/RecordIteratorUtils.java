@@ -23,11 +23,13 @@ import io.ballerina.runtime.api.types.ArrayType;
 import io.ballerina.runtime.api.types.StructureType;
 import io.ballerina.runtime.api.types.Type;
 import io.ballerina.runtime.api.utils.JsonUtils;
+import io.ballerina.runtime.api.values.BArray;
 import io.ballerina.runtime.api.values.BError;
 import io.ballerina.runtime.api.values.BMap;
 import io.ballerina.runtime.api.values.BObject;
 import io.ballerina.runtime.api.values.BString;
 import org.ballerinalang.sql.Constants;
+import org.ballerinalang.sql.datasource.StatementCache;
 import org.ballerinalang.sql.exception.ApplicationError;
 import org.ballerinalang.sql.parameterprocessor.DefaultResultParameterProcessor;
 
@@ -48,6 +50,8 @@ import java.sql.Types;
 import java.time.OffsetDateTime;
 import java.time.OffsetTime;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static io.ballerina.runtime.api.utils.StringUtils.fromString;
 import static org.ballerinalang.sql.utils.Utils.cleanUpConnection;
@@ -60,40 +64,335 @@ import static org.ballerinalang.sql.utils.Utils.getString;
  */
 public class RecordIteratorUtils {
 
+    static final long LOB_BATCH_SIZE_LIMIT = 8 * 1024 * 1024;
+    private static final Map<Class<?>, Boolean> PRIMITIVE_CONVERTER_OVERRIDES = new ConcurrentHashMap<>();
+
     public static Object nextResult(BObject recordIterator) {
         DefaultResultParameterProcessor resultParameterProcessor = DefaultResultParameterProcessor.getInstance();
         return nextResult(recordIterator, resultParameterProcessor);
     }
 
     public static Object nextResult(BObject recordIterator, DefaultResultParameterProcessor resultParameterProcessor) {
-        ResultSet resultSet = (ResultSet) recordIterator.getNativeData(Constants.RESULT_SET_NATIVE_DATA_FIELD);
+        QueryTimer queryTimer = getQueryTimer(recordIterator);
+        long startTime = queryTimer == null ? 0 : System.nanoTime();
         try {
-            if (resultSet.next()) {
-                StructureType streamConstraint = (StructureType) recordIterator.
-                        getNativeData(Constants.RECORD_TYPE_DATA_FIELD);
-                BMap<BString, Object> bStruct = ValueCreator.createMapValue(streamConstraint);
-                List<ColumnDefinition> columnDefinitions = (List<ColumnDefinition>) recordIterator
-                        .getNativeData(Constants.COLUMN_DEFINITIONS_DATA_FIELD);
-                for (int i = 0; i < columnDefinitions.size(); i++) {
-                    ColumnDefinition columnDefinition = columnDefinitions.get(i);
-                    bStruct.put(fromString(columnDefinition.getBallerinaFieldName()),
-                            getResult(resultSet, i + 1, columnDefinition, resultParameterProcessor));
-                }
-                return bStruct;
+            QueryResultCache.ResultReader resultReader = getResultReader(recordIterator);
+            if (resultReader != null) {
+                return resultReader.next();
+            }
+            ResultCursor resultCursor = getResultCursor(recordIterator, resultParameterProcessor);
+            BError pendingError = resultCursor.takePendingError();
+            if (pendingError != null) {
+                return pendingError;
+            }
+            ResultPrefetcher prefetcher = resultCursor.getPrefetcher();
+            if (prefetcher != null) {
+                return prefetcher.nextRecord(true);
+            }
+            if (resultCursor.next()) {
+                return resultCursor.readRecord();
             } else {
                 return null;
             }
-        } catch (SQLException e) {
-            return ErrorGenerator.getSQLDatabaseError(e, "Error when iterating the SQL result");
-        } catch (IOException | ApplicationError e) {
-            return ErrorGenerator.getSQLApplicationError("Error when iterating the SQL result. "
-                    + e.getMessage());
         } catch (Throwable throwable) {
+            return getIterationError(recordIterator, throwable);
+        } finally {
+            if (queryTimer != null) {
+                queryTimer.addConsumeTime(System.nanoTime() - startTime);
+            }
+        }
+    }
+
+    public static Object nextBatch(BObject recordIterator, long batchSize) {
+        DefaultResultParameterProcessor resultParameterProcessor = DefaultResultParameterProcessor.getInstance();
+        return nextBatch(recordIterator, batchSize, resultParameterProcessor);
+    }
+
+    /**
+     * Reads the next batch of records from the result set, so that a single call iterates through multiple rows.
+     * An empty array is returned once the end of the result set is reached. If an error occurs after some of the
+     * records of the batch are read, those records are returned and the error is returned by the next call.
+     * When the result has LOB columns, the batch is cut once the LOB values read exceed
+     * {@link #LOB_BATCH_SIZE_LIMIT}, so that batching does not hold many large values in memory at once.
+     * When the records are read ahead by a prefetcher, only the records which are already read are returned
+     * after the first record.
+     *
+     * @param recordIterator record iterator of the result set
+     * @param batchSize maximum number of records to be read
+     * @param resultParameterProcessor processor used to convert the column values
+     * @return array of records or error
+     */
+    public static Object nextBatch(BObject recordIterator, long batchSize,
+                                   DefaultResultParameterProcessor resultParameterProcessor) {
+        ResultCursor resultCursor = null;
+        BArray batch = null;
+        QueryTimer queryTimer = getQueryTimer(recordIterator);
+        long startTime = queryTimer == null ? 0 : System.nanoTime();
+        try {
+            QueryResultCache.ResultReader resultReader = getResultReader(recordIterator);
+            if (resultReader != null) {
+                return resultReader.nextBatch(batchSize);
+            }
+            resultCursor = getResultCursor(recordIterator, resultParameterProcessor);
+            BError pendingError = resultCursor.takePendingError();
+            if (pendingError != null) {
+                return pendingError;
+            }
+            batch = resultCursor.createBatch();
+            long lobSize = 0;
+            ResultPrefetcher prefetcher = resultCursor.getPrefetcher();
+            if (prefetcher != null) {
+                // Waits only for the first record, and returns the records which are already read ahead.
+                BMap<BString, Object> record = prefetcher.nextRecord(true);
+                while (record != null) {
+                    batch.append(record);
+                    if (resultCursor.hasLobColumns()) {
+                        lobSize += resultCursor.getLobSize(record);
+                    }
+                    if (batch.size() >= batchSize || lobSize >= LOB_BATCH_SIZE_LIMIT) {
+                        break;
+                    }
+                    record = prefetcher.nextRecord(false);
+                }
+                return batch;
+            }
+            while (batch.size() < batchSize && lobSize < LOB_BATCH_SIZE_LIMIT && resultCursor.next()) {
+                BMap<BString, Object> record = resultCursor.readRecord();
+                batch.append(record);
+                if (resultCursor.hasLobColumns()) {
+                    lobSize += resultCursor.getLobSize(record);
+                }
+            }
+            return batch;
+        } catch (Throwable throwable) {
+            BError error = getIterationError(recordIterator, throwable);
+            if (batch == null || batch.size() == 0) {
+                return error;
+            }
+            resultCursor.setPendingError(error);
+            return batch;
+        } finally {
+            if (queryTimer != null) {
+                queryTimer.addConsumeTime(System.nanoTime() - startTime);
+            }
+        }
+    }
+
+    private static BError getIterationError(BObject recordIterator, Throwable throwable) {
+        if (throwable instanceof SQLException) {
+            StatementCache.checkException(
+                    (Statement) recordIterator.getNativeData(Constants.STATEMENT_NATIVE_DATA_FIELD),
+                    (SQLException) throwable);
+            return ErrorGenerator.getSQLDatabaseError((SQLException) throwable, "Error when iterating the SQL result");
+        } else if (throwable instanceof IOException || throwable instanceof ApplicationError) {
+            return ErrorGenerator.getSQLApplicationError("Error when iterating the SQL result. "
+                    + throwable.getMessage());
+        } else {
             return ErrorGenerator.getSQLApplicationError("Error when iterating through the " +
                     "SQL result. " + throwable.getMessage());
         }
     }
 
+    private static QueryTimer getQueryTimer(BObject recordIterator) {
+        return (QueryTimer) recordIterator.getNativeData(Constants.QUERY_TIMER_DATA_FIELD);
+    }
+
+    private static QueryResultCache.ResultReader getResultReader(BObject recordIterator) {
+        return (QueryResultCache.ResultReader) recordIterator.getNativeData(Constants.QUERY_RESULT_READER_DATA_FIELD);
+    }
+
+    private static ResultCursor getResultCursor(BObject recordIterator,
+                                                DefaultResultParameterProcessor resultParameterProcessor) {
+        ResultCursor resultCursor = (ResultCursor) recordIterator.getNativeData(Constants.RESULT_CURSOR_DATA_FIELD);
+        if (resultCursor == null) {
+            ResultSet resultSet = (ResultSet) recordIterator.getNativeData(Constants.RESULT_SET_NATIVE_DATA_FIELD);
+            StructureType streamConstraint = (StructureType) recordIterator.
+                    getNativeData(Constants.RECORD_TYPE_DATA_FIELD);
+            List<ColumnDefinition> columnDefinitions = (List<ColumnDefinition>) recordIterator
+                    .getNativeData(Constants.COLUMN_DEFINITIONS_DATA_FIELD);
+            AdaptiveFetchSize adaptiveFetchSize = (AdaptiveFetchSize) recordIterator
+                    .getNativeData(Constants.ADAPTIVE_FETCH_SIZE_DATA_FIELD);
+            resultCursor = new ResultCursor(resultSet, streamConstraint, columnDefinitions, resultParameterProcessor,
+                    adaptiveFetchSize);
+            recordIterator.addNativeData(Constants.RESULT_CURSOR_DATA_FIELD, resultCursor);
+            resultCursor.setResultWriter((QueryResultCache.ResultWriter) recordIterator
+                    .getNativeData(Constants.QUERY_RESULT_WRITER_DATA_FIELD));
+            Object prefetchSize = recordIterator.getNativeData(Constants.PREFETCH_SIZE_DATA_FIELD);
+            if (prefetchSize != null) {
+                resultCursor.startPrefetch((Statement) recordIterator.getNativeData(
+                        Constants.STATEMENT_NATIVE_DATA_FIELD), (int) prefetchSize);
+            }
+        }
+        return resultCursor;
+    }
+
+    /**
+     * Resolves the readers of the result set columns. The column definitions are already validated against the
+     * ballerina types when they are generated, therefore the readers of the primitive columns skip the per value
+     * validation done by the converters, and read and convert the value directly. This is done only when
+     * the result parameter processor does not override those converters.
+     *
+     * @param columnDefinitions column definitions of the result set
+     * @param resultParameterProcessor post-processor of the result
+     * @return the column readers in the column order
+     */
+    public static ColumnReader[] createColumnReaders(List<ColumnDefinition> columnDefinitions,
+                                                     DefaultResultParameterProcessor resultParameterProcessor) {
+        boolean useDirectReaders = !overridesPrimitiveConverters(resultParameterProcessor.getClass());
+        ColumnReader[] columnReaders = new ColumnReader[columnDefinitions.size()];
+        for (int i = 0; i < columnReaders.length; i++) {
+            ColumnDefinition columnDefinition = columnDefinitions.get(i);
+            int columnIndex = i + 1;
+            ColumnReader columnReader = null;
+            if (useDirectReaders) {
+                columnReader = getDirectReader(columnIndex, columnDefinition.getSqlType(),
+                        columnDefinition.getBallerinaType().getTag());
+            }
+            if (columnReader == null) {
+                columnReader = getConverterReader(columnIndex, columnDefinition, resultParameterProcessor);
+            }
+            columnReaders[i] = columnReader;
+        }
+        return columnReaders;
+    }
+
+    private static ColumnReader getDirectReader(int columnIndex, int sqlType, int typeTag) {
+        switch (sqlType) {
+            case Types.CHAR:
+            case Types.VARCHAR:
+            case Types.LONGVARCHAR:
+            case Types.NCHAR:
+            case Types.NVARCHAR:
+            case Types.LONGNVARCHAR:
+                if (typeTag == TypeTags.STRING_TAG) {
+                    return resultSet -> fromString(resultSet.getString(columnIndex));
+                }
+                return null;
+            case Types.TINYINT:
+            case Types.SMALLINT:
+                if (typeTag == TypeTags.INT_TAG) {
+                    return resultSet -> {
+                        long value = resultSet.getInt(columnIndex);
+                        return resultSet.wasNull() ? null : value;
+                    };
+                }
+                return null;
+            case Types.INTEGER:
+            case Types.BIGINT:
+                if (typeTag == TypeTags.INT_TAG) {
+                    return resultSet -> {
+                        long value = resultSet.getLong(columnIndex);
+                        return resultSet.wasNull() ? null : value;
+                    };
+                }
+                return null;
+            case Types.REAL:
+            case Types.FLOAT:
+                if (typeTag == TypeTags.FLOAT_TAG) {
+                    return resultSet -> {
+                        double value = resultSet.getFloat(columnIndex);
+                        return resultSet.wasNull() ? null : value;
+                    };
+                }
+                return null;
+            case Types.DOUBLE:
+                if (typeTag == TypeTags.FLOAT_TAG) {
+                    return resultSet -> {
+                        double value = resultSet.getDouble(columnIndex);
+                        return resultSet.wasNull() ? null : value;
+                    };
+                }
+                return null;
+            case Types.NUMERIC:
+            case Types.DECIMAL:
+                if (typeTag == TypeTags.DECIMAL_TAG) {
+                    return resultSet -> {
+                        BigDecimal value = resultSet.getBigDecimal(columnIndex);
+                        return resultSet.wasNull() ? null : ValueCreator.createDecimalValue(value);
+                    };
+                }
+                return null;
+            case Types.BIT:
+            case Types.BOOLEAN:
+                if (typeTag == TypeTags.BOOLEAN_TAG) {
+                    return resultSet -> {
+                        boolean value = resultSet.getBoolean(columnIndex);
+                        return resultSet.wasNull() ? null : value;
+                    };
+                }
+                return null;
+            default:
+                return null;
+        }
+    }
+
+    private static ColumnReader getConverterReader(int columnIndex, ColumnDefinition columnDefinition,
+                                                   DefaultResultParameterProcessor resultParameterProcessor) {
+        int sqlType = columnDefinition.getSqlType();
+        Type ballerinaType = columnDefinition.getBallerinaType();
+        switch (sqlType) {
+            case Types.CHAR:
+            case Types.VARCHAR:
+            case Types.LONGVARCHAR:
+            case Types.NCHAR:
+            case Types.NVARCHAR:
+            case Types.LONGNVARCHAR:
+                if (ballerinaType.getTag() == TypeTags.JSON_TAG) {
+                    return resultSet -> getJson(resultSet, columnIndex, sqlType, ballerinaType,
+                            resultParameterProcessor);
+                }
+                return resultSet -> resultParameterProcessor.convertChar(resultSet.getString(columnIndex),
+                        sqlType, ballerinaType);
+            case Types.TINYINT:
+            case Types.SMALLINT:
+                return resultSet -> resultParameterProcessor.convertInteger(resultSet.getInt(columnIndex),
+                        sqlType, ballerinaType, resultSet.wasNull());
+            case Types.INTEGER:
+            case Types.BIGINT:
+                return resultSet -> resultParameterProcessor.convertInteger(resultSet.getLong(columnIndex),
+                        sqlType, ballerinaType, resultSet.wasNull());
+            case Types.REAL:
+            case Types.FLOAT:
+                return resultSet -> resultParameterProcessor.convertDouble(resultSet.getFloat(columnIndex),
+                        sqlType, ballerinaType, resultSet.wasNull());
+            case Types.DOUBLE:
+                return resultSet -> resultParameterProcessor.convertDouble(resultSet.getDouble(columnIndex),
+                        sqlType, ballerinaType, resultSet.wasNull());
+            case Types.NUMERIC:
+            case Types.DECIMAL:
+                return resultSet -> resultParameterProcessor.convertDecimal(resultSet.getBigDecimal(columnIndex),
+                        sqlType, ballerinaType, resultSet.wasNull());
+            case Types.BIT:
+            case Types.BOOLEAN:
+                return resultSet -> resultParameterProcessor.convertBoolean(resultSet.getBoolean(columnIndex),
+                        sqlType, ballerinaType, resultSet.wasNull());
+            default:
+                return resultSet -> getResult(resultSet, columnIndex, columnDefinition, resultParameterProcessor);
+        }
+    }
+
+    private static boolean overridesPrimitiveConverters(Class<?> processorClass) {
+        if (processorClass == DefaultResultParameterProcessor.class) {
+            return false;
+        }
+        return PRIMITIVE_CONVERTER_OVERRIDES.computeIfAbsent(processorClass, key -> {
+            try {
+                return key.getMethod("convertChar", String.class, int.class, Type.class)
+                        .getDeclaringClass() != DefaultResultParameterProcessor.class ||
+                        key.getMethod("convertInteger", long.class, int.class, Type.class, boolean.class)
+                                .getDeclaringClass() != DefaultResultParameterProcessor.class ||
+                        key.getMethod("convertDouble", double.class, int.class, Type.class, boolean.class)
+                                .getDeclaringClass() != DefaultResultParameterProcessor.class ||
+                        key.getMethod("convertDecimal", BigDecimal.class, int.class, Type.class, boolean.class)
+                                .getDeclaringClass() != DefaultResultParameterProcessor.class ||
+                        key.getMethod("convertBoolean", boolean.class, int.class, Type.class, boolean.class)
+                                .getDeclaringClass() != DefaultResultParameterProcessor.class;
+            } catch (NoSuchMethodException e) {
+                return true;
+            }
+        });
+    }
+
     private static Object getResult(ResultSet resultSet, int columnIndex, ColumnDefinition columnDefinition,
                     DefaultResultParameterProcessor resultParameterProcessor)
             throws SQLException, ApplicationError, IOException {
@@ -227,9 +526,21 @@ public class RecordIteratorUtils {
     }
 
     public static Object closeResult(BObject recordIterator) {
+        ResultCursor resultCursor = (ResultCursor) recordIterator.getNativeData(Constants.RESULT_CURSOR_DATA_FIELD);
+        if (resultCursor != null) {
+            resultCursor.stopPrefetch();
+        }
+        QueryTimer queryTimer = getQueryTimer(recordIterator);
+        if (queryTimer != null) {
+            queryTimer.recordConsumption();
+        }
         ResultSet resultSet = (ResultSet) recordIterator.getNativeData(Constants.RESULT_SET_NATIVE_DATA_FIELD);
         Statement statement = (Statement) recordIterator.getNativeData(Constants.STATEMENT_NATIVE_DATA_FIELD);
         Connection connection = (Connection) recordIterator.getNativeData(Constants.CONNECTION_NATIVE_DATA_FIELD);
-        return cleanUpConnection(recordIterator, resultSet, statement, connection);
+        Object closeError = cleanUpConnection(recordIterator, resultSet, statement, connection);
+        if (closeError == null) {
+            recordIterator.addNativeData(Constants.RESULT_CURSOR_DATA_FIELD, null);
+        }
+        return closeError;
     }
 }
@@ -0,0 +1,196 @@
+/*
+ *  Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.ballerinalang.sql.utils;
+
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.ArrayType;
+import io.ballerina.runtime.api.types.StructureType;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import org.ballerinalang.sql.exception.ApplicationError;
+import org.ballerinalang.sql.parameterprocessor.DefaultResultParameterProcessor;
+
+import java.io.IOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.List;
+
+import static io.ballerina.runtime.api.utils.StringUtils.fromString;
+
+/**
+ * This class holds the state of the record iterator which is resolved once per result set, such as the
+ * record type, the record field keys and the column readers.
+ *
+ * @since 0.6.0
+ */
+class ResultCursor {
+    private final ResultSet resultSet;
+    private final StructureType streamConstraint;
+    private final BString[] fieldKeys;
+    private final ColumnReader[] columnReaders;
+    private final AdaptiveFetchSize adaptiveFetchSize;
+    private final boolean[] lobColumns;
+    private final boolean hasLobColumns;
+    private ArrayType batchType;
+    private boolean exhausted = false;
+    private BError pendingError;
+    private ResultPrefetcher prefetcher;
+    private QueryResultCache.ResultWriter resultWriter;
+
+    ResultCursor(ResultSet resultSet, StructureType streamConstraint, List<ColumnDefinition> columnDefinitions,
+                 DefaultResultParameterProcessor resultParameterProcessor, AdaptiveFetchSize adaptiveFetchSize) {
+        this.resultSet = resultSet;
+        this.adaptiveFetchSize = adaptiveFetchSize;
+        this.streamConstraint = streamConstraint;
+        this.fieldKeys = new BString[columnDefinitions.size()];
+        this.lobColumns = new boolean[columnDefinitions.size()];
+        boolean lobColumnFound = false;
+        for (int i = 0; i < fieldKeys.length; i++) {
+            fieldKeys[i] = fromString(columnDefinitions.get(i).getBallerinaFieldName());
+            int sqlType = columnDefinitions.get(i).getSqlType();
+            lobColumns[i] = sqlType == Types.BLOB || sqlType == Types.CLOB || sqlType == Types.NCLOB;
+            lobColumnFound |= lobColumns[i];
+        }
+        this.hasLobColumns = lobColumnFound;
+        this.columnReaders = RecordIteratorUtils.createColumnReaders(columnDefinitions, resultParameterProcessor);
+    }
+
+    /**
+     * Moves the result set to the next row. Once the end of the result set is reached, the result set is not
+     * advanced any further.
+     *
+     * @return true if the result set is positioned at a new row
+     */
+    boolean next() throws SQLException {
+        if (exhausted) {
+            return false;
+        }
+        exhausted = !resultSet.next();
+        if (!exhausted && adaptiveFetchSize != null) {
+            adaptiveFetchSize.rowRead(resultSet);
+        }
+        if (exhausted && resultWriter != null) {
+            resultWriter.complete();
+        }
+        return !exhausted;
+    }
+
+    boolean hasLobColumns() {
+        return hasLobColumns;
+    }
+
+    /**
+     * Returns the approximate size in bytes of the LOB values of a record read from the result set.
+     *
+     * @param record record read from the result set
+     * @return size of the LOB values
+     */
+    long getLobSize(BMap<BString, Object> record) {
+        long lobSize = 0;
+        for (int i = 0; i < lobColumns.length; i++) {
+            if (lobColumns[i]) {
+                Object value = record.get(fieldKeys[i]);
+                if (value instanceof BArray) {
+                    lobSize += ((BArray) value).size();
+                } else if (value instanceof BString) {
+                    lobSize += 2L * ((BString) value).length();
+                }
+            }
+        }
+        return lobSize;
+    }
+
+    BArray createBatch() {
+        if (batchType == null) {
+            batchType = TypeCreator.createArrayType(streamConstraint);
+        }
+        return ValueCreator.createArrayValue(batchType);
+    }
+
+    /**
+     * Holds the error occurred while reading a batch, which is returned after the records read before the
+     * error are consumed.
+     *
+     * @param error error occurred while reading the batch
+     */
+    void setPendingError(BError error) {
+        this.pendingError = error;
+    }
+
+    BError takePendingError() {
+        BError error = pendingError;
+        pendingError = null;
+        return error;
+    }
+
+    /**
+     * Reads the current row of the result set into a new record.
+     *
+     * @return record of the current row
+     */
+    BMap<BString, Object> readRecord() throws SQLException, ApplicationError, IOException {
+        BMap<BString, Object> record = ValueCreator.createMapValue(streamConstraint);
+        for (int i = 0; i < columnReaders.length; i++) {
+            record.put(fieldKeys[i], columnReaders[i].read(resultSet));
+        }
+        if (resultWriter != null) {
+            resultWriter.add(record);
+        }
+        return record;
+    }
+
+    /**
+     * Sets the writer which caches the records of the result, once the result is read to the end.
+     *
+     * @param resultWriter writer of the query result cache
+     */
+    void setResultWriter(QueryResultCache.ResultWriter resultWriter) {
+        this.resultWriter = resultWriter;
+    }
+
+    /**
+     * Starts reading the records ahead of the consumer on a background thread. Once started, the records should be
+     * read only through the prefetcher.
+     *
+     * @param statement statement of the result set, which is cancelled if the records are no longer read
+     * @param prefetchSize maximum number of records read ahead
+     */
+    void startPrefetch(Statement statement, int prefetchSize) {
+        prefetcher = new ResultPrefetcher(this, statement, prefetchSize);
+        prefetcher.start();
+    }
+
+    ResultPrefetcher getPrefetcher() {
+        return prefetcher;
+    }
+
+    /**
+     * Stops reading the records ahead, so that the result set is no longer used by the background thread.
+     */
+    void stopPrefetch() {
+        if (prefetcher != null) {
+            prefetcher.cancel();
+        }
+    }
+}
@@ -0,0 +1,229 @@
+/*
+ *  Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.ballerinalang.sql.utils;
+
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import org.ballerinalang.sql.exception.ApplicationError;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class reads the rows of a result set ahead of the consumer on a background thread, and holds the converted
+ * records in a bounded buffer. The background task waits while the buffer is full, so that at most the buffer size
+ * of records is held in memory. An error of the background task is returned to the consumer after the records read
+ * before the error. The background task is stopped when the consumer does not take a record for
+ * {@link #IDLE_CONSUMER_TIMEOUT_NANOS}, so that an abandoned result does not hold a thread, and it is started again
+ * when the consumer reads the next record.
+ *
+ * @since 0.6.0
+ */
+class ResultPrefetcher implements Runnable {
+    private static final Object END_OF_RESULT = new Object();
+    private static final long OFFER_TIMEOUT_MILLIS = 100;
+    private static final long POLL_TIMEOUT_MILLIS = 100;
+    private static final long CANCEL_TIMEOUT_MILLIS = 5000;
+    private static final long IDLE_CONSUMER_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    private final ResultCursor resultCursor;
+    private final Statement statement;
+    private final BlockingQueue<Object> buffer;
+    private volatile CountDownLatch completed;
+    private volatile boolean running = false;
+    private volatile boolean reading = false;
+    private volatile boolean cancelled = false;
+    private volatile long lastTakeTime;
+    // The item which could not be added to the buffer when the task is stopped for an idle consumer. It is only
+    // accessed by the task, and by the consumer once the task is stopped.
+    private Object pendingItem;
+    private boolean finished = false;
+
+    ResultPrefetcher(ResultCursor resultCursor, Statement statement, int prefetchSize) {
+        this.resultCursor = resultCursor;
+        this.statement = statement;
+        this.buffer = new ArrayBlockingQueue<>(prefetchSize);
+    }
+
+    void start() {
+        lastTakeTime = System.nanoTime();
+        completed = new CountDownLatch(1);
+        running = true;
+        SQLWorkerThreadPool.executeInBackground(this);
+    }
+
+    @Override
+    public void run() {
+        // The latch is of this run, as the consumer starts a new run once this run is stopped.
+        CountDownLatch runCompleted = completed;
+        try {
+            if (pendingItem != null) {
+                Object item = pendingItem;
+                pendingItem = null;
+                if (!put(item) || item == END_OF_RESULT || item instanceof Throwable) {
+                    return;
+                }
+            }
+            while (true) {
+                reading = true;
+                if (cancelled || !resultCursor.next()) {
+                    break;
+                }
+                BMap<BString, Object> record = resultCursor.readRecord();
+                reading = false;
+                if (!put(record)) {
+                    return;
+                }
+            }
+            reading = false;
+            if (!cancelled) {
+                put(END_OF_RESULT);
+            }
+        } catch (Throwable e) {
+            reading = false;
+            put(e);
+        } finally {
+            reading = false;
+            running = false;
+            runCompleted.countDown();
+        }
+    }
+
+    /**
+     * Adds an item to the buffer, waiting while the buffer is full.
+     *
+     * @return true if the item is added, or false if the task is cancelled or the consumer is idle, in which case
+     * the item is kept to be added when the task is started again
+     */
+    private boolean put(Object item) {
+        try {
+            while (!cancelled) {
+                if (buffer.offer(item, OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                    return true;
+                }
+                if (System.nanoTime() - lastTakeTime > IDLE_CONSUMER_TIMEOUT_NANOS) {
+                    pendingItem = item;
+                    return false;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            pendingItem = item;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the next record read by the background task. The background task is started again if it was
+     * stopped for an idle consumer.
+     *
+     * @param wait whether to wait until the next record is read, if it is not read yet
+     * @return the next record, or null if the end of the result is reached or the record is not read yet when not
+     * waiting
+     */
+    BMap<BString, Object> nextRecord(boolean wait) throws SQLException, ApplicationError, IOException {
+        if (finished) {
+            return null;
+        }
+        lastTakeTime = System.nanoTime();
+        Object item = buffer.poll();
+        while (item == null) {
+            if (!running) {
+                // The task may have added the last items just before it stopped.
+                item = buffer.poll();
+                if (item != null) {
+                    break;
+                }
+                start();
+            }
+            if (!wait) {
+                return null;
+            }
+            try {
+                item = buffer.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ApplicationError("Interrupted while waiting for the prefetched records.");
+            }
+            lastTakeTime = System.nanoTime();
+        }
+        if (item == END_OF_RESULT) {
+            finished = true;
+            return null;
+        } else if (item instanceof Throwable) {
+            finished = true;
+            throw getFailure((Throwable) item);
+        }
+        return (BMap<BString, Object>) item;
+    }
+
+    private static ApplicationError getFailure(Throwable failure) throws SQLException, IOException {
+        if (failure instanceof SQLException) {
+            throw (SQLException) failure;
+        } else if (failure instanceof IOException) {
+            throw (IOException) failure;
+        } else if (failure instanceof ApplicationError) {
+            return (ApplicationError) failure;
+        } else if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        } else if (failure instanceof Error) {
+            throw (Error) failure;
+        }
+        return new ApplicationError(failure.getMessage());
+    }
+
+    /**
+     * Stops the background task and waits until it completes, so that the result set can be closed. A statement
+     * which is being read by the task is cancelled, so that the task does not wait for the driver to read the rows
+     * of a slow query. The task is waited for at most {@link #CANCEL_TIMEOUT_MILLIS}, after which the result set is
+     * closed regardless, and the read of the task fails. The buffered records are discarded.
+     */
+    void cancel() {
+        cancelled = true;
+        finished = true;
+        buffer.clear();
+        if (reading && statement != null) {
+            try {
+                statement.cancel();
+            } catch (SQLException ignored) {
+                // The driver does not support cancelling, hence the current read is waited for.
+            }
+        }
+        boolean interrupted = false;
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(CANCEL_TIMEOUT_MILLIS);
+        while (true) {
+            try {
+                completed.await(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        buffer.clear();
+        pendingItem = null;
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ *  Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.ballerinalang.sql.utils;
+
+import io.ballerina.runtime.api.Environment;
+import io.ballerina.runtime.api.Future;
+import io.ballerina.runtime.transactions.TransactionResourceManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * This class holds the bounded pool of worker threads which execute the blocking JDBC calls off the Ballerina
+ * strands, so that a slow query does not hold a scheduler thread. The calling strand is suspended until the call
+ * completes. The calls within a transaction block are executed on the calling strand, since the transaction
+ * context and the transactional connection are bound to the strand.
+ *
+ * @since 0.6.0
+ */
+public class SQLWorkerThreadPool {
+
+    static final int QUEUED_CALLS_PER_THREAD = 64;
+    private static final String THREAD_NAME_PREFIX = "bal-sql-worker-";
+    private static final String BACKGROUND_THREAD_NAME_PREFIX = "bal-sql-background-";
+    private static final String SCHEDULER_THREAD_NAME = "bal-sql-scheduler-";
+
+    private static volatile ThreadPoolExecutor executor;
+    private static volatile ExecutorService backgroundExecutor;
+    private static volatile ScheduledExecutorService scheduler;
+
+    private SQLWorkerThreadPool() {
+    }
+
+    /**
+     * Creates the worker thread pool. The calls are executed on the calling strands when the pool size is not
+     * positive.
+     *
+     * @param poolSize number of worker threads
+     */
+    public static synchronized void initWorkerThreadPool(long poolSize) {
+        if (executor != null || poolSize <= 0) {
+            return;
+        }
+        int threadCount = Math.toIntExact(poolSize);
+        ThreadFactory threadFactory = createThreadFactory(THREAD_NAME_PREFIX);
+        // When the queue is full the call is rejected, since running it on the calling thread would block the
+        // strand which was already marked as async.
+        ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(threadCount, threadCount, 60L,
+                TimeUnit.SECONDS, new ArrayBlockingQueue<>(threadCount * QUEUED_CALLS_PER_THREAD), threadFactory,
+                new ThreadPoolExecutor.AbortPolicy());
+        threadPoolExecutor.allowCoreThreadTimeOut(true);
+        executor = threadPoolExecutor;
+    }
+
+    /**
+     * Shuts down the worker thread pool once the queued calls complete, after which the calls are executed on the
+     * calling strands until the pool is created again.
+     */
+    public static synchronized void shutdownWorkerThreadPool() {
+        if (executor != null) {
+            executor.shutdown();
+            executor = null;
+        }
+    }
+
+    /**
+     * Executes a JDBC call on the worker thread pool and completes the call of the strand with its result. The
+     * call is given the transaction resource manager when it is executed on the calling strand, and null when it
+     * is executed on a worker thread, which is not part of a transaction. The call fails with an error when the
+     * queue of the worker thread pool is full.
+     *
+     * @param env environment of the calling strand
+     * @param call JDBC call which returns the result of the Ballerina function
+     * @return the result of the call if it was executed on the calling strand, otherwise null
+     */
+    public static Object execute(Environment env, Function<TransactionResourceManager, Object> call) {
+        TransactionResourceManager trxResourceManager = TransactionResourceManager.getInstance();
+        ThreadPoolExecutor threadPoolExecutor = executor;
+        if (threadPoolExecutor == null || Utils.isWithinTrxBlock(trxResourceManager)) {
+            return call.apply(trxResourceManager);
+        }
+        Future balFuture = env.markAsync();
+        try {
+            threadPoolExecutor.execute(() -> {
+                Object result;
+                try {
+                    result = call.apply(null);
+                } catch (Throwable e) {
+                    String message = e.getMessage() != null ? e.getMessage() : e.getClass().getName();
+                    result = ErrorGenerator.getSQLApplicationError("Error while executing the SQL call. " + message);
+                }
+                balFuture.complete(result);
+            });
+        } catch (RejectedExecutionException e) {
+            balFuture.complete(ErrorGenerator.getSQLApplicationError("Error while executing the SQL call. All the " +
+                    threadPoolExecutor.getMaximumPoolSize() + " worker threads are busy and " +
+                    threadPoolExecutor.getQueue().size() + " calls are waiting for them."));
+        }
+        return null;
+    }
+
+    /**
+     * Runs the tasks concurrently and waits until all of them complete. The first task is run on the calling thread
+     * and the rest on the background threads, which are separate from the worker threads so that a worker thread
+     * never waits for a task queued behind it on its own pool.
+     *
+     * @param tasks tasks to run, which handle their own failures
+     */
+    public static void invokeAll(List<Runnable> tasks) {
+        List<java.util.concurrent.Future<?>> futures = new ArrayList<>(tasks.size() - 1);
+        for (int i = 1; i < tasks.size(); i++) {
+            futures.add(getBackgroundExecutor().submit(tasks.get(i)));
+        }
+        tasks.get(0).run();
+        for (java.util.concurrent.Future<?> future : futures) {
+            boolean interrupted = false;
+            while (true) {
+                try {
+                    future.get();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    break;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Runs a long running task, such as reading a result ahead of its consumer, on a background thread.
+     *
+     * @param task task to run, which handles its own failures
+     */
+    public static void executeInBackground(Runnable task) {
+        getBackgroundExecutor().execute(task);
+    }
+
+    private static ExecutorService getBackgroundExecutor() {
+        ExecutorService executorService = backgroundExecutor;
+        if (executorService == null) {
+            synchronized (SQLWorkerThreadPool.class) {
+                if (backgroundExecutor == null) {
+                    backgroundExecutor = Executors.newCachedThreadPool(
+                            createThreadFactory(BACKGROUND_THREAD_NAME_PREFIX));
+                }
+                executorService = backgroundExecutor;
+            }
+        }
+        return executorService;
+    }
+
+    /**
+     * Runs a task after the given delay on the single scheduler thread. The task should be short, as the tasks
+     * scheduled by all the clients are run by the same thread.
+     *
+     * @param task task to run, which handles its own failures
+     * @param delayNanos delay in nanoseconds
+     */
+    public static void schedule(Runnable task, long delayNanos) {
+        ScheduledExecutorService scheduledExecutorService = scheduler;
+        if (scheduledExecutorService == null) {
+            synchronized (SQLWorkerThreadPool.class) {
+                if (scheduler == null) {
+                    ScheduledThreadPoolExecutor scheduledThreadPoolExecutor = new ScheduledThreadPoolExecutor(1,
+                            createThreadFactory(SCHEDULER_THREAD_NAME));
+                    scheduledThreadPoolExecutor.setRemoveOnCancelPolicy(true);
+                    scheduler = scheduledThreadPoolExecutor;
+                }
+                scheduledExecutorService = scheduler;
+            }
+        }
+        scheduledExecutorService.schedule(task, delayNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static ThreadFactory createThreadFactory(String threadNamePrefix) {
+        AtomicInteger threadIndex = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, threadNamePrefix + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ *  Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.ballerinalang.sql.utils;
+
+import io.ballerina.runtime.api.values.BArray;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This class caches the SQL queries compiled from the `strings` array of the parameterized queries. The `strings`
+ * array of a raw template is the same instance for a given call site, hence the cache is keyed by the identity of
+ * the array and the SQL query does not have to be built again for each execution.
+ *
+ * @since 0.6.0
+ */
+public class SqlQueryCache {
+
+    static final int MAX_CACHE_SIZE = 1024;
+
+    private static final Map<StringsKey, CompiledQuery> compiledQueries = new ConcurrentHashMap<>();
+
+    private SqlQueryCache() {
+    }
+
+    /**
+     * Returns the compiled SQL query of the `strings` array of a parameterized query.
+     *
+     * @param stringsArray `strings` array of the parameterized query
+     * @return compiled SQL query
+     */
+    public static CompiledQuery getCompiledQuery(BArray stringsArray) {
+        StringsKey key = new StringsKey(stringsArray);
+        CompiledQuery compiledQuery = compiledQueries.get(key);
+        if (compiledQuery == null) {
+            compiledQuery = compile(stringsArray);
+            if (compiledQueries.size() >= MAX_CACHE_SIZE) {
+                Iterator<StringsKey> iterator = compiledQueries.keySet().iterator();
+                if (iterator.hasNext()) {
+                    iterator.next();
+                    iterator.remove();
+                }
+            }
+            compiledQueries.put(key, compiledQuery);
+        }
+        return compiledQuery;
+    }
+
+    public static int size() {
+        return compiledQueries.size();
+    }
+
+    public static void clear() {
+        compiledQueries.clear();
+    }
+
+    private static CompiledQuery compile(BArray stringsArray) {
+        StringBuilder sqlQuery = new StringBuilder();
+        for (int i = 0; i < stringsArray.size(); i++) {
+            if (i > 0) {
+                sqlQuery.append(" ? ");
+            }
+            sqlQuery.append(stringsArray.get(i).toString());
+        }
+        return new CompiledQuery(sqlQuery.toString(), Math.max(stringsArray.size() - 1, 0));
+    }
+
+    /**
+     * The SQL query compiled from the `strings` array of a parameterized query, together with the number of
+     * parameter placeholders of the query.
+     */
+    public static class CompiledQuery {
+        private final String sqlQuery;
+        private final int placeholderCount;
+
+        CompiledQuery(String sqlQuery, int placeholderCount) {
+            this.sqlQuery = sqlQuery;
+            this.placeholderCount = placeholderCount;
+        }
+
+        public String getSqlQuery() {
+            return sqlQuery;
+        }
+
+        public int getPlaceholderCount() {
+            return placeholderCount;
+        }
+    }
+
+    private static class StringsKey {
+        private final BArray stringsArray;
+
+        StringsKey(BArray stringsArray) {
+            this.stringsArray = stringsArray;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof StringsKey && ((StringsKey) obj).stringsArray == stringsArray;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(stringsArray);
+        }
+    }
+}
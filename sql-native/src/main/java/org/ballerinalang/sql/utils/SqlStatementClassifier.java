@@ -0,0 +1,193 @@
+/*
+ *  Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.ballerinalang.sql.utils;
+
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This class classifies the SQL statements by their leading keyword, skipping the leading white spaces, comments
+ * and parentheses. The kind of a statement is resolved once per distinct SQL text and cached.
+ *
+ * @since 0.6.0
+ */
+public class SqlStatementClassifier {
+
+    static final int MAX_CACHE_SIZE = 1024;
+
+    private static final Map<String, StatementKind> statementKinds = new ConcurrentHashMap<>();
+
+    private SqlStatementClassifier() {
+    }
+
+    /**
+     * Kinds of the SQL statements.
+     */
+    public enum StatementKind {
+        DDL, INSERT, UPDATE_DELETE, SELECT, CALL, OTHER;
+
+        /**
+         * Returns whether the generated keys should be requested when the statement is executed. The keys are
+         * requested for the inserts, and for the statements which cannot be classified so that they are not lost.
+         *
+         * @return true if the generated keys should be requested
+         */
+        public boolean returnsGeneratedKeys() {
+            return this == INSERT || this == OTHER;
+        }
+    }
+
+    /**
+     * Returns the kind of the SQL statement.
+     *
+     * @param sqlQuery SQL statement
+     * @return kind of the statement
+     */
+    public static StatementKind classify(String sqlQuery) {
+        StatementKind statementKind = statementKinds.get(sqlQuery);
+        if (statementKind == null) {
+            statementKind = new Lexer(sqlQuery).classify();
+            if (statementKinds.size() >= MAX_CACHE_SIZE) {
+                Iterator<String> iterator = statementKinds.keySet().iterator();
+                if (iterator.hasNext()) {
+                    iterator.next();
+                    iterator.remove();
+                }
+            }
+            statementKinds.put(sqlQuery, statementKind);
+        }
+        return statementKind;
+    }
+
+    public static void clear() {
+        statementKinds.clear();
+    }
+
+    private static StatementKind getStatementKind(String keyword) {
+        switch (keyword) {
+            case "CREATE":
+            case "ALTER":
+            case "DROP":
+            case "TRUNCATE":
+            case "COMMENT":
+            case "RENAME":
+                return StatementKind.DDL;
+            case "INSERT":
+            case "REPLACE":
+            case "MERGE":
+            case "UPSERT":
+                return StatementKind.INSERT;
+            case "UPDATE":
+            case "DELETE":
+                return StatementKind.UPDATE_DELETE;
+            case "SELECT":
+            case "VALUES":
+            case "TABLE":
+                return StatementKind.SELECT;
+            case "CALL":
+            case "EXEC":
+            case "EXECUTE":
+                return StatementKind.CALL;
+            default:
+                return StatementKind.OTHER;
+        }
+    }
+
+    /**
+     * Reads the keywords of a SQL statement, skipping the comments, the quoted literals and identifiers, and the
+     * nested parentheses.
+     */
+    private static class Lexer {
+        private final String sqlQuery;
+        private int position = 0;
+        private int depth = 0;
+
+        Lexer(String sqlQuery) {
+            this.sqlQuery = sqlQuery;
+        }
+
+        StatementKind classify() {
+            String keyword = nextKeyword(true);
+            if (keyword == null) {
+                return StatementKind.OTHER;
+            }
+            if (!keyword.equals("WITH")) {
+                return getStatementKind(keyword);
+            }
+            // The kind of a statement with common table expressions is decided by the first keyword after them.
+            while ((keyword = nextKeyword(false)) != null) {
+                StatementKind statementKind = getStatementKind(keyword);
+                if (statementKind != StatementKind.OTHER) {
+                    return statementKind;
+                }
+            }
+            return StatementKind.OTHER;
+        }
+
+        /**
+         * Returns the next keyword in upper case, or null when the end of the statement is reached.
+         *
+         * @param leading whether the keywords in the leading parentheses are returned
+         * @return the next keyword
+         */
+        private String nextKeyword(boolean leading) {
+            int length = sqlQuery.length();
+            while (position < length) {
+                char c = sqlQuery.charAt(position);
+                if (c == '-' && position + 1 < length && sqlQuery.charAt(position + 1) == '-') {
+                    int end = sqlQuery.indexOf('\n', position);
+                    position = end < 0 ? length : end + 1;
+                } else if (c == '/' && position + 1 < length && sqlQuery.charAt(position + 1) == '*') {
+                    int end = sqlQuery.indexOf("*/", position + 2);
+                    position = end < 0 ? length : end + 2;
+                } else if (c == '\'' || c == '"' || c == '`') {
+                    int end = sqlQuery.indexOf(c, position + 1);
+                    position = end < 0 ? length : end + 1;
+                } else if (c == '(') {
+                    depth++;
+                    position++;
+                } else if (c == ')') {
+                    depth--;
+                    position++;
+                } else if (Character.isLetter(c) || c == '_') {
+                    int start = position;
+                    while (position < length && (Character.isLetterOrDigit(sqlQuery.charAt(position)) ||
+                            sqlQuery.charAt(position) == '_')) {
+                        position++;
+                    }
+                    if (leading || depth == 0) {
+                        return sqlQuery.substring(start, position).toUpperCase(Locale.ENGLISH);
+                    }
+                } else if (c == '{' || c == '?' || c == '=') {
+                    // JDBC escape syntax of the procedure calls such as `{? = call proc(?)}`.
+                    position++;
+                } else if (Character.isWhitespace(c) || c == ';') {
+                    position++;
+                } else if (leading) {
+                    return null;
+                } else {
+                    position++;
+                }
+            }
+            return null;
+        }
+    }
+}
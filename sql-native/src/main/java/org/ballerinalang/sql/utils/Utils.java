@@ -38,12 +38,13 @@ import io.ballerina.runtime.api.values.BString;
 import io.ballerina.runtime.api.values.BValue;
 import io.ballerina.runtime.transactions.TransactionResourceManager;
 import org.ballerinalang.sql.Constants;
+import org.ballerinalang.sql.datasource.StatementCache;
 import org.ballerinalang.sql.exception.ApplicationError;
 import org.ballerinalang.stdlib.time.util.TimeValueHandler;
 
-import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.Reader;
+import java.sql.Blob;
 import java.sql.CallableStatement;
 import java.sql.Clob;
 import java.sql.Connection;
@@ -78,6 +79,23 @@ import static org.ballerinalang.sql.Constants.LAST_INSERTED_ID_FIELD;
  */
 public class Utils {
 
+    // The maximum size of the LOB values which can be materialized, which is bounded by the maximum array size
+    // of the JVM.
+    static final long MAX_LOB_SIZE = Integer.MAX_VALUE - 8;
+    static final int LOB_READ_BLOCK_SIZE = 8192;
+    private static final Module BALLERINA_ANNOTATIONS_MODULE = new Module("ballerina", "lang.annotations", "0.0.0");
+
+    /**
+     * Checks whether the current strand executes within a transaction block.
+     *
+     * @param trxResourceManager transaction resource manager of the strand
+     * @return true if the strand is within a transaction block
+     */
+    public static boolean isWithinTrxBlock(TransactionResourceManager trxResourceManager) {
+        return trxResourceManager.isInTransaction() &&
+                trxResourceManager.getCurrentTransactionContext().hasTransactionBlock();
+    }
+
     public static void closeResources(
             TransactionResourceManager trxResourceManager, ResultSet resultSet, Statement statement,
                                Connection connection) {
@@ -89,7 +107,7 @@ public class Utils {
         }
         if (statement != null) {
             try {
-                statement.close();
+                StatementCache.closeStatement(statement);
             } catch (SQLException ignored) {
             }
         }
@@ -97,23 +115,37 @@ public class Utils {
                 !trxResourceManager.getCurrentTransactionContext().hasTransactionBlock()) {
             if (connection != null) {
                 try {
-                    connection.close();
+                    closeConnection(connection);
                 } catch (SQLException ignored) {
                 }
             }
         }
     }
 
-    public static String getSqlQuery(BObject paramString) {
-        BArray stringsArray = paramString.getArrayValue(Constants.ParameterizedQueryFields.STRINGS);
-        StringBuilder sqlQuery = new StringBuilder();
-        for (int i = 0; i < stringsArray.size(); i++) {
-            if (i > 0) {
-                sqlQuery.append(" ? ");
+    /**
+     * Closes a connection used outside of a transaction block. The work of a connection of which the auto commit
+     * mode is disabled is rolled back if it is not committed, since the pool does not track the statements of the
+     * statement cache and would commit it when it restores the auto commit mode.
+     *
+     * @param connection connection to be closed
+     */
+    private static void closeConnection(Connection connection) throws SQLException {
+        try {
+            if (!connection.isClosed() && !connection.getAutoCommit()) {
+                connection.rollback();
             }
-            sqlQuery.append(stringsArray.get(i).toString());
+        } finally {
+            connection.close();
         }
-        return sqlQuery.toString();
+    }
+
+    public static String getSqlQuery(BObject paramString) {
+        return getCompiledQuery(paramString).getSqlQuery();
+    }
+
+    public static SqlQueryCache.CompiledQuery getCompiledQuery(BObject paramString) {
+        BArray stringsArray = paramString.getArrayValue(Constants.ParameterizedQueryFields.STRINGS);
+        return SqlQueryCache.getCompiledQuery(stringsArray);
     }
 
 
@@ -130,17 +162,57 @@ public class Utils {
 
 
 
-    public static String getString(Clob data) throws IOException, SQLException {
+    public static String getString(Clob data) throws IOException, SQLException, ApplicationError {
         if (data == null) {
             return null;
         }
-        try (Reader r = new BufferedReader(data.getCharacterStream())) {
-            StringBuilder sb = new StringBuilder();
-            int pos;
-            while ((pos = r.read()) != -1) {
-                sb.append((char) pos);
+        try {
+            long length = data.length();
+            if (length > MAX_LOB_SIZE) {
+                throw new ApplicationError("SQL Clob value of " + length + " characters exceeds the maximum " +
+                        "supported size of " + MAX_LOB_SIZE + " characters.");
             }
-            return sb.toString();
+            try (Reader reader = data.getCharacterStream()) {
+                StringBuilder sb = new StringBuilder((int) length);
+                char[] buffer = new char[LOB_READ_BLOCK_SIZE];
+                int count;
+                while ((count = reader.read(buffer)) != -1) {
+                    sb.append(buffer, 0, count);
+                }
+                return sb.toString();
+            }
+        } finally {
+            freeQuietly(data);
+        }
+    }
+
+    public static byte[] getBytes(Blob data) throws SQLException, ApplicationError {
+        if (data == null) {
+            return null;
+        }
+        try {
+            long length = data.length();
+            if (length > MAX_LOB_SIZE) {
+                throw new ApplicationError("SQL Blob value of " + length + " bytes exceeds the maximum " +
+                        "supported size of " + MAX_LOB_SIZE + " bytes.");
+            }
+            return data.getBytes(1L, (int) length);
+        } finally {
+            freeQuietly(data);
+        }
+    }
+
+    private static void freeQuietly(Clob data) {
+        try {
+            data.free();
+        } catch (SQLException | UnsupportedOperationException ignored) {
+        }
+    }
+
+    private static void freeQuietly(Blob data) {
+        try {
+            data.free();
+        } catch (SQLException | UnsupportedOperationException ignored) {
         }
     }
 
@@ -271,6 +343,10 @@ public class Utils {
     }
 
     public static StructureType getDefaultRecordType(List<ColumnDefinition> columnDefinitions) {
+        return ColumnDefinitionCache.getDefaultRecordType(columnDefinitions, Utils::createDefaultRecordType);
+    }
+
+    private static StructureType createDefaultRecordType(List<ColumnDefinition> columnDefinitions) {
         RecordType defaultRecord = getDefaultStreamConstraint();
         Map<String, Field> fieldMap = new HashMap<>();
         for (ColumnDefinition column : columnDefinitions) {
@@ -288,9 +364,8 @@ public class Utils {
     }
 
     public static RecordType getDefaultStreamConstraint() {
-        Module ballerinaAnnotation = new Module("ballerina", "lang.annotations", "0.0.0");
         return TypeCreator.createRecordType(
-                "$stream$anon$constraint$", ballerinaAnnotation, 0,
+                "$stream$anon$constraint$", BALLERINA_ANNOTATIONS_MODULE, 0,
                 new HashMap<>(), PredefinedTypes.TYPE_ANYDATA, false,
                 TypeFlags.asMask(TypeFlags.ANYDATA, TypeFlags.PURETYPE));
     }
@@ -307,7 +382,7 @@ public class Utils {
         }
         if (statement != null) {
             try {
-                statement.close();
+                StatementCache.closeStatement(statement);
                 ballerinaObject.addNativeData(Constants.STATEMENT_NATIVE_DATA_FIELD, null);
             } catch (SQLException e) {
                 return ErrorGenerator.getSQLDatabaseError(e, "Error while closing the result set. ");
@@ -318,7 +393,7 @@ public class Utils {
                 !trxResourceManager.getCurrentTransactionContext().hasTransactionBlock()) {
             if (connection != null) {
                 try {
-                    connection.close();
+                    closeConnection(connection);
                     ballerinaObject.addNativeData(Constants.CONNECTION_NATIVE_DATA_FIELD, null);
                 } catch (SQLException e) {
                     return ErrorGenerator.getSQLDatabaseError(e, "Error while closing the connection. ");
@@ -371,10 +446,26 @@ public class Utils {
 
     public static List<ColumnDefinition> getColumnDefinitions(ResultSet resultSet, StructureType streamConstraint)
             throws SQLException, ApplicationError {
-        List<ColumnDefinition> columnDefs = new ArrayList<>();
-        Set<String> columnNames = new HashSet<>();
+        return generateColumnDefinitions(getColumnMetadata(resultSet), streamConstraint);
+    }
+
+    public static List<ColumnDefinition> getColumnDefinitions(String sqlQuery, ResultSet resultSet,
+                                                              StructureType streamConstraint)
+            throws SQLException, ApplicationError {
+        List<ColumnMetadata> columns = getColumnMetadata(resultSet);
+        List<ColumnDefinition> columnDefs = ColumnDefinitionCache.get(sqlQuery, streamConstraint, columns);
+        if (columnDefs == null) {
+            columnDefs = ColumnDefinitionCache.put(sqlQuery, streamConstraint, columns,
+                    generateColumnDefinitions(columns, streamConstraint));
+        }
+        return columnDefs;
+    }
+
+    private static List<ColumnMetadata> getColumnMetadata(ResultSet resultSet) throws SQLException {
         ResultSetMetaData rsMetaData = resultSet.getMetaData();
         int cols = rsMetaData.getColumnCount();
+        List<ColumnMetadata> columns = new ArrayList<>(cols);
+        Set<String> columnNames = new HashSet<>();
         for (int i = 1; i <= cols; i++) {
             String colName = rsMetaData.getColumnLabel(i);
             if (columnNames.contains(colName)) {
@@ -387,34 +478,46 @@ public class Utils {
             if (rsMetaData.isNullable(i) == ResultSetMetaData.columnNoNulls) {
                 isNullable = false;
             }
-            columnDefs.add(generateColumnDefinition(colName, sqlType, sqlTypeName, streamConstraint, isNullable));
+            columns.add(new ColumnMetadata(colName, sqlType, sqlTypeName, isNullable));
             columnNames.add(colName);
         }
+        return columns;
+    }
+
+    private static List<ColumnDefinition> generateColumnDefinitions(List<ColumnMetadata> columns,
+                                                                    StructureType streamConstraint)
+            throws ApplicationError {
+        List<ColumnDefinition> columnDefs = new ArrayList<>(columns.size());
+        Map<String, Field> fieldIndex = null;
+        if (streamConstraint != null) {
+            fieldIndex = ColumnDefinitionCache.getFieldIndex(streamConstraint);
+        }
+        for (ColumnMetadata column : columns) {
+            columnDefs.add(generateColumnDefinition(column.getColumnName(), column.getSqlType(),
+                    column.getSqlTypeName(), streamConstraint, fieldIndex, column.isNullable()));
+        }
         return columnDefs;
     }
 
     private static ColumnDefinition generateColumnDefinition(String columnName, int sqlType, String sqlTypeName,
-                                                             StructureType streamConstraint, boolean isNullable)
+                                                             StructureType streamConstraint,
+                                                             Map<String, Field> fieldIndex, boolean isNullable)
             throws ApplicationError {
-        String ballerinaFieldName = null;
-        Type ballerinaType = null;
+        String ballerinaFieldName;
+        Type ballerinaType;
         if (streamConstraint != null) {
-            for (Map.Entry<String, Field> field : streamConstraint.getFields().entrySet()) {
-                if (field.getKey().equalsIgnoreCase(columnName)) {
-                    ballerinaFieldName = field.getKey();
-                    ballerinaType = validFieldConstraint(sqlType, field.getValue().getFieldType());
-                    if (ballerinaType == null) {
-                        throw new ApplicationError(
-                                field.getValue().getFieldType().getName() + " cannot be mapped to SQL type '"
-                                        + sqlTypeName + "'");
-                    }
-                    break;
-                }
-            }
-            if (ballerinaFieldName == null) {
+            Field field = fieldIndex.get(columnName);
+            if (field == null) {
                 throw new ApplicationError("No mapping field found for SQL table column '" + columnName + "'"
                         + " in the record type '" + streamConstraint.getName() + "'");
             }
+            ballerinaFieldName = field.getFieldName();
+            ballerinaType = validFieldConstraint(sqlType, field.getFieldType());
+            if (ballerinaType == null) {
+                throw new ApplicationError(
+                        field.getFieldType().getName() + " cannot be mapped to SQL type '"
+                                + sqlTypeName + "'");
+            }
         } else {
             ballerinaType = getDefaultBallerinaType(sqlType);
             ballerinaFieldName = columnName;
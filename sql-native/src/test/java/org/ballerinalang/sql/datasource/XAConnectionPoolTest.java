@@ -0,0 +1,315 @@
+/*
+ *  Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.ballerinalang.sql.datasource;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.PrintWriter;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import javax.sql.ConnectionEvent;
+import javax.sql.ConnectionEventListener;
+import javax.sql.StatementEventListener;
+import javax.sql.XAConnection;
+import javax.sql.XADataSource;
+import javax.transaction.xa.XAException;
+import javax.transaction.xa.XAResource;
+
+/**
+ * Tests the pooling of the XA connections by {@link XAConnectionPool}, with a stub XA datasource.
+ *
+ * @since 0.6.0
+ */
+public class XAConnectionPoolTest {
+
+    private static final long CONNECTION_TIMEOUT_MILLIS = 100;
+    private static final long VALIDATION_TIMEOUT_MILLIS = 1000;
+
+    @Test
+    public void testAcquireTimesOutWhenPermitsExhausted() throws SQLException {
+        StubXADataSource xaDataSource = new StubXADataSource();
+        XAConnectionPool pool = new XAConnectionPool(xaDataSource, 2, CONNECTION_TIMEOUT_MILLIS, 0,
+                VALIDATION_TIMEOUT_MILLIS);
+        XAConnectionPool.PooledXAConnection first = pool.acquire();
+        pool.acquire();
+
+        long startTime = System.nanoTime();
+        SQLException error = Assert.expectThrows(SQLException.class, pool::acquire);
+        long waitMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+        Assert.assertEquals(error.getSQLState(), "08001");
+        Assert.assertTrue(waitMillis >= CONNECTION_TIMEOUT_MILLIS, "Waited only " + waitMillis + "ms.");
+
+        first.release();
+        XAConnectionPool.PooledXAConnection reused = pool.acquire();
+        Assert.assertSame(reused.getXAConnection(), first.getXAConnection());
+        Assert.assertEquals(xaDataSource.connections.size(), 2);
+    }
+
+    @Test
+    public void testReleaseTwiceReleasesOnePermit() throws SQLException {
+        StubXADataSource xaDataSource = new StubXADataSource();
+        XAConnectionPool pool = new XAConnectionPool(xaDataSource, 1, CONNECTION_TIMEOUT_MILLIS, 0,
+                VALIDATION_TIMEOUT_MILLIS);
+        XAConnectionPool.PooledXAConnection pooledConnection = pool.acquire();
+        pooledConnection.release();
+        pooledConnection.release();
+
+        XAConnectionPool.PooledXAConnection reused = pool.acquire();
+        Assert.assertSame(reused.getXAConnection(), pooledConnection.getXAConnection());
+        SQLException error = Assert.expectThrows(SQLException.class, pool::acquire);
+        Assert.assertEquals(error.getSQLState(), "08001");
+        Assert.assertFalse(xaDataSource.connections.get(0).closed);
+    }
+
+    @Test
+    public void testLateReleaseDoesNotReturnReacquiredConnection() throws SQLException {
+        StubXADataSource xaDataSource = new StubXADataSource();
+        XAConnectionPool pool = new XAConnectionPool(xaDataSource, 1, CONNECTION_TIMEOUT_MILLIS, 0,
+                VALIDATION_TIMEOUT_MILLIS);
+        XAConnectionPool.PooledXAConnection first = pool.acquire();
+        first.release();
+        XAConnectionPool.PooledXAConnection second = pool.acquire();
+        Assert.assertSame(second.getXAConnection(), first.getXAConnection());
+
+        // The late release of the first acquisition does not return the connection used by the second one.
+        first.release();
+        SQLException error = Assert.expectThrows(SQLException.class, pool::acquire);
+        Assert.assertEquals(error.getSQLState(), "08001");
+        second.release();
+        Assert.assertSame(pool.acquire().getXAConnection(), first.getXAConnection());
+        Assert.assertEquals(xaDataSource.connections.size(), 1);
+    }
+
+    @Test
+    public void testConnectionRetiredAfterMaxLifetime() throws SQLException, InterruptedException {
+        StubXADataSource xaDataSource = new StubXADataSource();
+        XAConnectionPool pool = new XAConnectionPool(xaDataSource, 2, CONNECTION_TIMEOUT_MILLIS, 50,
+                VALIDATION_TIMEOUT_MILLIS);
+        // A connection which outlived the lifetime while in use is closed once released.
+        XAConnectionPool.PooledXAConnection inUse = pool.acquire();
+        Thread.sleep(100);
+        inUse.release();
+        Assert.assertTrue(xaDataSource.connections.get(0).closed);
+
+        // An idle connection which outlived the lifetime is closed instead of being reused.
+        XAConnectionPool.PooledXAConnection idle = pool.acquire();
+        Assert.assertNotSame(idle.getXAConnection(), inUse.getXAConnection());
+        idle.release();
+        Assert.assertFalse(xaDataSource.connections.get(1).closed);
+        Thread.sleep(100);
+        XAConnectionPool.PooledXAConnection renewed = pool.acquire();
+        Assert.assertTrue(xaDataSource.connections.get(1).closed);
+        Assert.assertSame(renewed.getXAConnection(), xaDataSource.connections.get(2));
+    }
+
+    @Test
+    public void testConnectionDiscardedAfterError() throws SQLException {
+        StubXADataSource xaDataSource = new StubXADataSource();
+        XAConnectionPool pool = new XAConnectionPool(xaDataSource, 1, CONNECTION_TIMEOUT_MILLIS, 0,
+                VALIDATION_TIMEOUT_MILLIS);
+        XAConnectionPool.PooledXAConnection pooledConnection = pool.acquire();
+        StubXAConnection xaConnection = xaDataSource.connections.get(0);
+        xaConnection.fireConnectionError();
+        pooledConnection.release();
+
+        Assert.assertTrue(xaConnection.closed);
+        Assert.assertTrue(xaConnection.listeners.isEmpty());
+        XAConnectionPool.PooledXAConnection renewed = pool.acquire();
+        Assert.assertNotSame(renewed.getXAConnection(), xaConnection);
+        Assert.assertEquals(xaDataSource.connections.size(), 2);
+    }
+
+    @Test
+    public void testIdleConnectionRetiredInBackground() throws SQLException, InterruptedException {
+        StubXADataSource xaDataSource = new StubXADataSource();
+        XAConnectionPool pool = new XAConnectionPool(xaDataSource, 1, CONNECTION_TIMEOUT_MILLIS, 50,
+                VALIDATION_TIMEOUT_MILLIS);
+        pool.acquire().release();
+        StubXAConnection xaConnection = xaDataSource.connections.get(0);
+        Assert.assertFalse(xaConnection.closed);
+
+        // The idle connection is closed once it outlives the lifetime, without acquiring a connection.
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!xaConnection.closed && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        Assert.assertTrue(xaConnection.closed);
+        Assert.assertNotSame(pool.acquire().getXAConnection(), xaConnection);
+    }
+
+    @Test
+    public void testConnectionDiscardedAfterTransactionFailure() throws SQLException {
+        StubXADataSource xaDataSource = new StubXADataSource();
+        XAConnectionPool pool = new XAConnectionPool(xaDataSource, 1, CONNECTION_TIMEOUT_MILLIS, 0,
+                VALIDATION_TIMEOUT_MILLIS);
+        XAConnectionPool.PooledXAConnection pooledConnection = pool.acquire();
+        StubXAConnection xaConnection = xaDataSource.connections.get(0);
+        xaConnection.failCommit = true;
+        XAResource xaResource = pooledConnection.getXAResource();
+        Assert.expectThrows(XAException.class, () -> xaResource.commit(null, false));
+        pooledConnection.release();
+
+        Assert.assertTrue(xaConnection.closed);
+        XAConnectionPool.PooledXAConnection renewed = pool.acquire();
+        Assert.assertNotSame(renewed.getXAConnection(), xaConnection);
+        Assert.assertEquals(xaDataSource.connections.size(), 2);
+    }
+
+    @Test
+    public void testInvalidIdleConnectionNotReused() throws SQLException, InterruptedException {
+        StubXADataSource xaDataSource = new StubXADataSource();
+        XAConnectionPool pool = new XAConnectionPool(xaDataSource, 1, CONNECTION_TIMEOUT_MILLIS, 0,
+                VALIDATION_TIMEOUT_MILLIS);
+        pool.acquire().release();
+        StubXAConnection xaConnection = xaDataSource.connections.get(0);
+        xaConnection.valid = false;
+        Thread.sleep(TimeUnit.NANOSECONDS.toMillis(XAConnectionPool.VALIDATION_BYPASS_NANOS) + 100);
+
+        XAConnectionPool.PooledXAConnection renewed = pool.acquire();
+        Assert.assertTrue(xaConnection.closed);
+        Assert.assertNotSame(renewed.getXAConnection(), xaConnection);
+    }
+
+    @Test
+    public void testCloseWhileConnectionsInUse() throws SQLException {
+        StubXADataSource xaDataSource = new StubXADataSource();
+        XAConnectionPool pool = new XAConnectionPool(xaDataSource, 2, CONNECTION_TIMEOUT_MILLIS, 0,
+                VALIDATION_TIMEOUT_MILLIS);
+        XAConnectionPool.PooledXAConnection inUse = pool.acquire();
+        pool.acquire().release();
+        StubXAConnection inUseConnection = xaDataSource.connections.get(0);
+        StubXAConnection idleConnection = xaDataSource.connections.get(1);
+
+        pool.close();
+        Assert.assertTrue(idleConnection.closed);
+        Assert.assertFalse(inUseConnection.closed);
+        SQLException error = Assert.expectThrows(SQLException.class, pool::acquire);
+        Assert.assertEquals(error.getSQLState(), "08003");
+
+        inUse.release();
+        Assert.assertTrue(inUseConnection.closed);
+        Assert.assertEquals(xaDataSource.connections.size(), 2);
+    }
+
+    private static class StubXADataSource implements XADataSource {
+        private final List<StubXAConnection> connections = new ArrayList<>();
+
+        @Override
+        public synchronized XAConnection getXAConnection() {
+            StubXAConnection xaConnection = new StubXAConnection();
+            connections.add(xaConnection);
+            return xaConnection;
+        }
+
+        @Override
+        public XAConnection getXAConnection(String user, String password) {
+            return getXAConnection();
+        }
+
+        @Override
+        public PrintWriter getLogWriter() {
+            return null;
+        }
+
+        @Override
+        public void setLogWriter(PrintWriter out) {
+        }
+
+        @Override
+        public void setLoginTimeout(int seconds) {
+        }
+
+        @Override
+        public int getLoginTimeout() {
+            return 0;
+        }
+
+        @Override
+        public Logger getParentLogger() {
+            return null;
+        }
+    }
+
+    private static class StubXAConnection implements XAConnection {
+        private final List<ConnectionEventListener> listeners = new ArrayList<>();
+        private volatile boolean closed = false;
+        private volatile boolean valid = true;
+        private volatile boolean failCommit = false;
+
+        private void fireConnectionError() {
+            ConnectionEvent event = new ConnectionEvent(this, new SQLException("connection failure", "08006"));
+            for (ConnectionEventListener listener : new ArrayList<>(listeners)) {
+                listener.connectionErrorOccurred(event);
+            }
+        }
+
+        @Override
+        public XAResource getXAResource() {
+            return (XAResource) Proxy.newProxyInstance(XAResource.class.getClassLoader(),
+                    new Class<?>[]{XAResource.class}, (proxy, method, args) -> {
+                        if (method.getName().equals("commit") && failCommit) {
+                            throw new XAException(XAException.XAER_RMFAIL);
+                        }
+                        return null;
+                    });
+        }
+
+        @Override
+        public Connection getConnection() {
+            // Only the validation and the closing of the logical connection are used by the pool.
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                        if (method.getName().equals("isValid")) {
+                            return valid && !closed;
+                        }
+                        return null;
+                    });
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+
+        @Override
+        public synchronized void addConnectionEventListener(ConnectionEventListener listener) {
+            listeners.add(listener);
+        }
+
+        @Override
+        public synchronized void removeConnectionEventListener(ConnectionEventListener listener) {
+            listeners.remove(listener);
+        }
+
+        @Override
+        public void addStatementEventListener(StatementEventListener listener) {
+        }
+
+        @Override
+        public void removeStatementEventListener(StatementEventListener listener) {
+        }
+    }
+}
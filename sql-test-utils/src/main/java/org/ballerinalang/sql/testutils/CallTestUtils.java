@@ -18,6 +18,7 @@
 
 package org.ballerinalang.sql.testutils;
 
+import io.ballerina.runtime.api.Environment;
 import io.ballerina.runtime.api.values.BArray;
 import io.ballerina.runtime.api.values.BObject;
 
@@ -29,8 +30,8 @@ public class CallTestUtils {
     private CallTestUtils(){ 
     }
     
-    public static Object nativeCall(BObject client, Object paramSQLString, BArray recordTypes) {
-        return CallProcessor.nativeCall(client, paramSQLString, recordTypes, DefaultStatementParameterProcessor.getInstance(),
-            DefaultResultParameterProcessor.getInstance());
+    public static Object nativeCall(Environment env, BObject client, Object paramSQLString, BArray recordTypes) {
+        return CallProcessor.nativeCall(env, client, paramSQLString, recordTypes,
+                DefaultStatementParameterProcessor.getInstance(), DefaultResultParameterProcessor.getInstance());
     }
 }
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.sql.testutils;
+
+import io.ballerina.runtime.api.PredefinedTypes;
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+
+import org.ballerinalang.sql.datasource.SQLDatasource;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static io.ballerina.runtime.api.utils.StringUtils.fromString;
+
+public class ConnectionPoolTestUtils {
+
+    private ConnectionPoolTestUtils() {
+    }
+
+    /**
+     * Retrieves the datasource of the given parameters, gets a connection from it and releases it, repeatedly from
+     * many threads at once, as the clients created and closed concurrently do.
+     *
+     * @return the number of retrievals, the number of failed retrievals and the average and the maximum latency of
+     * the retrievals in microseconds
+     */
+    public static BMap<BString, Object> retrieveDatasourcesConcurrently(BMap<BString, Object> sqlDatasourceParams,
+                                                                        BMap<BString, Object> globalConnectionPool,
+                                                                        long threadCount, long iterationCount)
+            throws InterruptedException {
+        SQLDatasource.SQLDatasourceParams datasourceParams = SQLDatasource.createSQLDatasourceParams(
+                sqlDatasourceParams, globalConnectionPool);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool((int) threadCount);
+        List<Future<long[]>> results = new ArrayList<>();
+        for (int i = 0; i < threadCount; i++) {
+            Callable<long[]> task = () -> {
+                // failed retrievals, total latency and maximum latency
+                long[] result = new long[3];
+                startLatch.await();
+                for (int j = 0; j < iterationCount; j++) {
+                    long startTime = System.nanoTime();
+                    SQLDatasource sqlDatasource;
+                    try {
+                        sqlDatasource = SQLDatasource.retrieveDatasource(datasourceParams);
+                    } catch (RuntimeException e) {
+                        result[0]++;
+                        continue;
+                    }
+                    long latency = System.nanoTime() - startTime;
+                    result[1] += latency;
+                    result[2] = Math.max(result[2], latency);
+                    try (Connection ignored = SQLDatasource.getConnection(null, null, sqlDatasource)) {
+                        // The connection is acquired to verify that the retrieved pool is not shut down.
+                    } catch (Exception e) {
+                        result[0]++;
+                    } finally {
+                        sqlDatasource.decrementClientCounterAndAttemptPoolShutdown();
+                    }
+                }
+                return result;
+            };
+            results.add(executor.submit(task));
+        }
+        startLatch.countDown();
+        long failedCount = 0;
+        long totalLatency = 0;
+        long maxLatency = 0;
+        try {
+            for (Future<long[]> future : results) {
+                long[] result = future.get();
+                failedCount += result[0];
+                totalLatency += result[1];
+                maxLatency = Math.max(maxLatency, result[2]);
+            }
+        } catch (Exception e) {
+            failedCount++;
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+        long retrievalCount = threadCount * iterationCount;
+        BMap<BString, Object> stats = ValueCreator.createMapValue(TypeCreator.createMapType(PredefinedTypes.TYPE_INT));
+        stats.put(fromString("retrievalCount"), retrievalCount);
+        stats.put(fromString("failedCount"), failedCount);
+        stats.put(fromString("averageLatency"), TimeUnit.NANOSECONDS.toMicros(totalLatency / retrievalCount));
+        stats.put(fromString("maxLatency"), TimeUnit.NANOSECONDS.toMicros(maxLatency));
+        return stats;
+    }
+}
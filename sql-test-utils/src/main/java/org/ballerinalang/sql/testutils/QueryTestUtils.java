@@ -18,9 +18,9 @@
 
 package org.ballerinalang.sql.testutils;
 
+import io.ballerina.runtime.api.Environment;
 import io.ballerina.runtime.api.values.BArray;
 import io.ballerina.runtime.api.values.BObject;
-import io.ballerina.runtime.api.values.BStream;
 
 import org.ballerinalang.sql.nativeimpl.QueryProcessor;
 import org.ballerinalang.sql.parameterprocessor.DefaultResultParameterProcessor;
@@ -31,12 +31,13 @@ public class QueryTestUtils {
     private QueryTestUtils() {
     }
 
-    public static BStream nativeQuery(BObject client, Object paramSQLString,
-                                      Object recordType) {
+    public static Object nativeQuery(Environment env, BObject client, Object paramSQLString,
+                                     Object recordType, Object queryOptions) {
         DefaultStatementParameterProcessor statementParametersProcessor = DefaultStatementParameterProcessor
                 .getInstance();
         DefaultResultParameterProcessor resultParametersProcessor = DefaultResultParameterProcessor
                 .getInstance();
-        return QueryProcessor.nativeQuery(client, paramSQLString, recordType, statementParametersProcessor, resultParametersProcessor);
+        return QueryProcessor.nativeQuery(env, client, paramSQLString, recordType, queryOptions,
+                statementParametersProcessor, resultParametersProcessor);
     }
 }